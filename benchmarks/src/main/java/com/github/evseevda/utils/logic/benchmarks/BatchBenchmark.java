@@ -0,0 +1,68 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.LogicalExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Column at a time evaluation of {@link LogicalExpression#results(List)} against calling
+ * {@link LogicalExpression#result(Object)} for every context.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rowCount;
+
+    @Param({"0.2", "0.5", "0.8"})
+    private double trueRate;
+
+    private List<boolean[]> rows;
+    private LogicalExpression<boolean[]> expression;
+
+    @Setup
+    public void setUp() {
+        Leaves leaves = new Leaves(42, 16, trueRate, 0);
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(leaves.rows()[i % Leaves.ROWS].clone());
+        }
+        expression = new ExpressionGenerator(7, leaves).contextual(3, 4);
+    }
+
+    @Benchmark
+    public BitSet perRow() {
+        BitSet matches = new BitSet(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (expression.result(rows.get(i))) {
+                matches.set(i);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public BitSet batch() {
+        return expression.results(rows);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.BooleanColumn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combining whole boolean columns: {@code boolean[]} loops against {@link BooleanColumn}
+ * with the scalar and with the SIMD kernel.
+ * <br> Columns of {@code 2^16} values fit into the L2 cache, columns of {@code 2^24} values do not,
+ * for them the throughput should approach the memory bandwidth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BooleanColumnBenchmark {
+
+    private static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    @Param({"65536", "16777216"})
+    private int size;
+
+    private boolean[] a;
+    private boolean[] b;
+    private boolean[] c;
+    private BooleanColumn columnA;
+    private BooleanColumn columnB;
+    private BooleanColumn columnC;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        a = new boolean[size];
+        b = new boolean[size];
+        c = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = random.nextBoolean();
+            b[i] = random.nextBoolean();
+            c[i] = random.nextBoolean();
+        }
+        columnA = BooleanColumn.of(a);
+        columnB = BooleanColumn.of(b);
+        columnC = BooleanColumn.of(c);
+    }
+
+    @Benchmark
+    public long booleanArray() {
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((a[i] && b[i]) ^ !c[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long scalarColumn() {
+        return columnA.and(columnB).xor(columnC.not()).cardinality();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public long vectorColumn() {
+        return columnA.and(columnB).xor(columnC.not()).cardinality();
+    }
+
+    @Benchmark
+    public int scalarFirstSetBit() {
+        return columnA.andNot(columnA).or(columnB.and(columnC)).firstSetBit();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public int vectorFirstSetBit() {
+        return columnA.andNot(columnA).or(columnB.and(columnC)).firstSetBit();
+    }
+
+}
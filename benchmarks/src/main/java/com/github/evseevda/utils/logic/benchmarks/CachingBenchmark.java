@@ -0,0 +1,69 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.NoArgsPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The price of a hit of the caching decorators of {@link NoArgsPredicate} compared with calling
+ * an expensive predicate, read by several threads at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CachingBenchmark {
+
+    private NoArgsPredicate expensive;
+    private NoArgsPredicate memoized;
+    private NoArgsPredicate cached;
+    private NoArgsPredicate refreshAhead;
+
+    @Setup
+    public void setUp() {
+        expensive = () -> {
+            Blackhole.consumeCPU(1_000);
+            return true;
+        };
+        memoized = NoArgsPredicate.memoize(expensive);
+        cached = NoArgsPredicate.cached(expensive, Duration.ofMillis(100));
+        refreshAhead = NoArgsPredicate.refreshAhead(expensive, Duration.ofMillis(100));
+    }
+
+    @Benchmark
+    public boolean uncached() {
+        return expensive.test();
+    }
+
+    @Benchmark
+    public boolean memoized() {
+        return memoized.test();
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return cached.test();
+    }
+
+    @Benchmark
+    public boolean refreshAhead() {
+        return refreshAhead.test();
+    }
+
+}
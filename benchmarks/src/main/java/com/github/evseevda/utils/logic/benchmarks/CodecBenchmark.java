@@ -0,0 +1,92 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.ExpressionCodec;
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import com.github.evseevda.utils.logic.NoArgsPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.expr;
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.not;
+
+/**
+ * Named rules of six predicates out of a registry of a thousand, written to and loaded from
+ * the binary format of {@link ExpressionCodec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    private static final int PREDICATES = 1000;
+
+    @Param({"1000000"})
+    public int rules;
+
+    private ExpressionCodec codec;
+    private LazyLogicalExpression[] expressions;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, NoArgsPredicate> registry = new HashMap<>();
+        NoArgsPredicate[] predicates = new NoArgsPredicate[PREDICATES];
+        for (int i = 0; i < PREDICATES; i++) {
+            int index = i;
+            predicates[i] = () -> index % 2 == 0;
+            registry.put("predicate" + i, predicates[i]);
+        }
+        codec = new ExpressionCodec(registry);
+        SplittableRandom random = new SplittableRandom(25);
+        expressions = new LazyLogicalExpression[rules];
+        for (int i = 0; i < rules; i++) {
+            expressions[i] = expr(predicates[random.nextInt(PREDICATES)])
+                    .and(predicates[random.nextInt(PREDICATES)])
+                    .and(not(expr(predicates[random.nextInt(PREDICATES)]).or(predicates[random.nextInt(PREDICATES)])))
+                    .or(expr(predicates[random.nextInt(PREDICATES)]).xor(predicates[random.nextInt(PREDICATES)]))
+                    .named("rule" + i);
+        }
+        bytes = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExpressionCodec.Encoder encoder = codec.encoder(out)) {
+            for (LazyLogicalExpression expression : expressions) {
+                encoder.write(expression);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        ExpressionCodec.Decoder decoder = codec.decoder(ByteBuffer.wrap(bytes));
+        while (decoder.hasNext()) {
+            blackhole.consume(decoder.next());
+        }
+    }
+
+}
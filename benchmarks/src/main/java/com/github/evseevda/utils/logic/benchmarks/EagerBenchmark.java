@@ -0,0 +1,64 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.EagerLogicalExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.evseevda.utils.logic.EagerLogicalExpression.allOf;
+import static com.github.evseevda.utils.logic.EagerLogicalExpression.anyOf;
+import static com.github.evseevda.utils.logic.EagerLogicalExpression.expr;
+import static com.github.evseevda.utils.logic.EagerLogicalExpression.not;
+
+/**
+ * Typical chains of {@link EagerLogicalExpression}, all of them should report {@code 0 B/op}
+ * in {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EagerBenchmark {
+
+    private Leaves leaves;
+
+    @Setup
+    public void setUp() {
+        leaves = new Leaves(42, 4, 0.5, 0);
+    }
+
+    @Benchmark
+    public boolean nativeOperators() {
+        leaves.next();
+        boolean[] row = leaves.row();
+        return (row[0] && row[1] && row[2]) || !(row[0] || row[3]) ^ row[1];
+    }
+
+    @Benchmark
+    public boolean fixedArity() {
+        leaves.next();
+        boolean[] row = leaves.row();
+        return expr(allOf(row[0], row[1], row[2])).or(not(anyOf(row[0], row[3])).xor(row[1])).result();
+    }
+
+    @Benchmark
+    public boolean varargs() {
+        leaves.next();
+        boolean[] row = leaves.row();
+        return expr(allOf(new boolean[]{row[0], row[1], row[2]}))
+                .or(not(anyOf(new boolean[]{row[0], row[3]})).xor(row[1]))
+                .result();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import com.github.evseevda.utils.logic.LogicalExpression;
+
+import java.util.SplittableRandom;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.expr;
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.not;
+
+/**
+ * Builds random expressions of a given shape over {@link Leaves}.
+ * <br> A generator with the same seed always builds the same expressions, so numbers of different runs
+ * and of different evaluation strategies are comparable.
+ * Inner nodes are AND or OR with equal probability, XOR with probability 1/8,
+ * and are negated with probability 1/8.
+ */
+final class ExpressionGenerator {
+
+    private final SplittableRandom random;
+    private final Leaves leaves;
+
+    ExpressionGenerator(long seed, Leaves leaves) {
+        this.random = new SplittableRandom(seed);
+        this.leaves = leaves;
+    }
+
+    /**
+     * @param depth the number of levels of inner nodes
+     * @param width the number of operands of each inner node
+     * @return an expression with {@code width ^ depth} leaves
+     */
+    LazyLogicalExpression lazy(int depth, int width) {
+        if (depth == 0) {
+            return expr(leaves.predicate(random.nextInt(leaves.count())));
+        }
+        LazyLogicalExpression expression = expr(lazy(depth - 1, width));
+        int operator = operator();
+        for (int i = 1; i < width; i++) {
+            LazyLogicalExpression operand = lazy(depth - 1, width);
+            if (operator == 0) {
+                expression = expression.and(operand);
+            } else if (operator == 1) {
+                expression = expression.or(operand);
+            } else {
+                expression = expression.xor(operand);
+            }
+        }
+        return random.nextInt(8) == 0 ? not(expression) : expression;
+    }
+
+    /**
+     * Same as {@link #lazy(int, int)}, but the leaves are tested against a row of {@link Leaves}
+     * passed as the context.
+     */
+    LogicalExpression<boolean[]> contextual(int depth, int width) {
+        if (depth == 0) {
+            return LogicalExpression.expr(leaves.contextPredicate(random.nextInt(leaves.count())));
+        }
+        LogicalExpression<boolean[]> expression = contextual(depth - 1, width);
+        int operator = operator();
+        for (int i = 1; i < width; i++) {
+            LogicalExpression<boolean[]> operand = contextual(depth - 1, width);
+            if (operator == 0) {
+                expression = expression.and(operand);
+            } else if (operator == 1) {
+                expression = expression.or(operand);
+            } else {
+                expression = expression.xor(operand);
+            }
+        }
+        return random.nextInt(8) == 0 ? LogicalExpression.not(expression) : expression;
+    }
+
+    /**
+     * @return 0 for AND, 1 for OR, 2 for XOR
+     */
+    private int operator() {
+        return random.nextInt(8) == 0 ? 2 : random.nextInt(2);
+    }
+
+}
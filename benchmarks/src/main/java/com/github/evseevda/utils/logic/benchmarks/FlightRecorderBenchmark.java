@@ -0,0 +1,74 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LazyLogicalExpression#result()} without a recording, with a recording in which the events
+ * of the expressions are disabled, and with a recording in which they are enabled without a threshold.
+ * The first two must not differ.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlightRecorderBenchmark {
+
+    private static final String EXPRESSION_EVENT = "com.github.evseevda.utils.logic.ExpressionEvaluation";
+    private static final String LEAF_EVENT = "com.github.evseevda.utils.logic.LeafEvaluation";
+
+    @Param({"none", "disabled", "enabled"})
+    public String events;
+
+    private Leaves leaves;
+    private LazyLogicalExpression expression;
+    private Recording recording;
+
+    @Setup
+    public void setUp() {
+        leaves = new Leaves(42, 16, 0.5, 0);
+        expression = new ExpressionGenerator(7, leaves).lazy(3, 4).named("benchmark");
+        if (!events.equals("none")) {
+            recording = new Recording();
+            if (events.equals("enabled")) {
+                recording.enable(EXPRESSION_EVENT).withThreshold(Duration.ZERO);
+                recording.enable(LEAF_EVENT).withThreshold(Duration.ZERO);
+            } else {
+                recording.disable(EXPRESSION_EVENT);
+                recording.disable(LEAF_EVENT);
+            }
+            recording.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Benchmark
+    public boolean result() {
+        leaves.next();
+        return expression.result();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.NoArgsPredicate;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+/**
+ * Values of the leaves of the benchmarked expressions.
+ * <br> The values are precomputed for {@link #ROWS} rows with a fixed seed, each value is {@code true}
+ * with the given probability. Benchmarks move to the next row before every evaluation, so the branches
+ * of the expression are not perfectly predictable, and each leaf burns {@code cost} JMH CPU tokens
+ * to model predicates of different price.
+ */
+final class Leaves {
+
+    static final int ROWS = 1024;
+
+    private final boolean[][] rows;
+    private final int cost;
+    private int row;
+
+    Leaves(long seed, int count, double trueRate, int cost) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.rows = new boolean[ROWS][count];
+        for (boolean[] values : rows) {
+            for (int leaf = 0; leaf < count; leaf++) {
+                values[leaf] = random.nextDouble() < trueRate;
+            }
+        }
+        this.cost = cost;
+    }
+
+    /**
+     * Moves to the next row. Called by several threads at once it still spreads them over the rows,
+     * which is all the benchmarks need.
+     */
+    void next() {
+        row = (row + 1) & (ROWS - 1);
+    }
+
+    boolean[] row() {
+        return rows[row];
+    }
+
+    boolean[][] rows() {
+        return rows;
+    }
+
+    int count() {
+        return rows[0].length;
+    }
+
+    boolean value(int leaf) {
+        return test(rows[row], leaf);
+    }
+
+    NoArgsPredicate predicate(int leaf) {
+        return () -> value(leaf);
+    }
+
+    Predicate<boolean[]> contextPredicate(int leaf) {
+        return values -> test(values, leaf);
+    }
+
+    private boolean test(boolean[] values, int leaf) {
+        if (cost > 0) {
+            Blackhole.consumeCPU(cost);
+        }
+        return values[leaf];
+    }
+
+}
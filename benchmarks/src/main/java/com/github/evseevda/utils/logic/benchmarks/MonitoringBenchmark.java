@@ -0,0 +1,67 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.EvaluationListener;
+import com.github.evseevda.utils.logic.EvaluationMetrics;
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import com.github.evseevda.utils.logic.MonitoredExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of monitoring an expression shared by several threads. {@code unmonitored} is the expression
+ * without a listener, which must not get slower with monitoring available; {@code noOpListener} is
+ * the cost of the instrumentation itself and {@code metrics} adds the striped counters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MonitoringBenchmark {
+
+    private Leaves leaves;
+    private LazyLogicalExpression unmonitored;
+    private MonitoredExpression noOpListener;
+    private MonitoredExpression metrics;
+
+    @Setup
+    public void setUp() {
+        leaves = new Leaves(42, 16, 0.5, 0);
+        unmonitored = new ExpressionGenerator(7, leaves).lazy(3, 4);
+        noOpListener = unmonitored.monitored(new EvaluationListener() {
+        });
+        metrics = unmonitored.monitored(new EvaluationMetrics());
+    }
+
+    @Benchmark
+    public boolean unmonitored() {
+        leaves.next();
+        return unmonitored.result();
+    }
+
+    @Benchmark
+    public boolean noOpListener() {
+        leaves.next();
+        return noOpListener.result();
+    }
+
+    @Benchmark
+    public boolean metrics() {
+        leaves.next();
+        return metrics.result();
+    }
+
+}
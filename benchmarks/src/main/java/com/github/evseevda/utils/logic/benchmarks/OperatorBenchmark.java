@@ -0,0 +1,115 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.AdaptiveExpression;
+import com.github.evseevda.utils.logic.CompilationStrategy;
+import com.github.evseevda.utils.logic.EagerLogicalExpression;
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import com.github.evseevda.utils.logic.LogicalExpression;
+import com.github.evseevda.utils.logic.NoArgsPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of each way to write {@code (a && b) || ((c && !d) ^ e)}, from native operators
+ * to the interpreted and compiled forms of {@link LazyLogicalExpression}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperatorBenchmark {
+
+    @Param({"0", "20"})
+    private int leafCost;
+
+    @Param({"0.1", "0.5", "0.9"})
+    private double trueRate;
+
+    private Leaves leaves;
+    private LazyLogicalExpression lazy;
+    private LazyLogicalExpression optimized;
+    private NoArgsPredicate hiddenClass;
+    private NoArgsPredicate methodHandle;
+    private AdaptiveExpression adaptive;
+    private LogicalExpression<boolean[]> contextual;
+
+    @Setup
+    public void setUp() {
+        leaves = new Leaves(42, 5, trueRate, leafCost);
+        lazy = LazyLogicalExpression.expr(leaves.predicate(0)).and(leaves.predicate(1))
+                .or(LazyLogicalExpression.expr(leaves.predicate(2)).and(LazyLogicalExpression.not(leaves.predicate(3)))
+                        .xor(leaves.predicate(4)));
+        optimized = lazy.optimize();
+        hiddenClass = lazy.compile(CompilationStrategy.HIDDEN_CLASS);
+        methodHandle = lazy.compile(CompilationStrategy.METHOD_HANDLE);
+        adaptive = lazy.adaptive();
+        contextual = LogicalExpression.expr(leaves.contextPredicate(0)).and(leaves.contextPredicate(1))
+                .or(LogicalExpression.expr(leaves.contextPredicate(2)).and(LogicalExpression.not(leaves.contextPredicate(3)))
+                        .xor(leaves.contextPredicate(4)));
+    }
+
+    @Benchmark
+    public boolean nativeOperators() {
+        leaves.next();
+        return (leaves.value(0) && leaves.value(1)) || ((leaves.value(2) && !leaves.value(3)) ^ leaves.value(4));
+    }
+
+    @Benchmark
+    public boolean eager() {
+        leaves.next();
+        return EagerLogicalExpression.expr(leaves.value(0)).and(leaves.value(1))
+                .or(EagerLogicalExpression.expr(leaves.value(2)).and(EagerLogicalExpression.not(leaves.value(3)))
+                        .xor(leaves.value(4)))
+                .result();
+    }
+
+    @Benchmark
+    public boolean lazy() {
+        leaves.next();
+        return lazy.result();
+    }
+
+    @Benchmark
+    public boolean lazyOptimized() {
+        leaves.next();
+        return optimized.result();
+    }
+
+    @Benchmark
+    public boolean hiddenClass() {
+        leaves.next();
+        return hiddenClass.test();
+    }
+
+    @Benchmark
+    public boolean methodHandle() {
+        leaves.next();
+        return methodHandle.test();
+    }
+
+    @Benchmark
+    public boolean adaptive() {
+        leaves.next();
+        return adaptive.result();
+    }
+
+    @Benchmark
+    public boolean contextual() {
+        leaves.next();
+        return contextual.result(leaves.row());
+    }
+
+}
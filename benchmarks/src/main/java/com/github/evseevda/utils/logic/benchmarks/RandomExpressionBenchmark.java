@@ -0,0 +1,102 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.AdaptiveExpression;
+import com.github.evseevda.utils.logic.CompilationStrategy;
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import com.github.evseevda.utils.logic.LogicalExpression;
+import com.github.evseevda.utils.logic.NoArgsPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation strategies on random expressions of different depth and width, see {@link ExpressionGenerator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomExpressionBenchmark {
+
+    private static final int LEAF_COUNT = 16;
+
+    @Param({"2", "3"})
+    private int depth;
+
+    @Param({"2", "4", "8"})
+    private int width;
+
+    @Param({"0", "20"})
+    private int leafCost;
+
+    @Param({"0.2", "0.5", "0.8"})
+    private double trueRate;
+
+    private Leaves leaves;
+    private LazyLogicalExpression interpreted;
+    private LazyLogicalExpression optimized;
+    private NoArgsPredicate hiddenClass;
+    private NoArgsPredicate methodHandle;
+    private AdaptiveExpression adaptive;
+    private LogicalExpression<boolean[]> contextual;
+
+    @Setup
+    public void setUp() {
+        leaves = new Leaves(42, LEAF_COUNT, trueRate, leafCost);
+        interpreted = new ExpressionGenerator(7, leaves).lazy(depth, width);
+        optimized = interpreted.optimize();
+        hiddenClass = interpreted.compile(CompilationStrategy.HIDDEN_CLASS);
+        methodHandle = interpreted.compile(CompilationStrategy.METHOD_HANDLE);
+        adaptive = interpreted.adaptive();
+        contextual = new ExpressionGenerator(7, leaves).contextual(depth, width);
+    }
+
+    @Benchmark
+    public boolean interpreted() {
+        leaves.next();
+        return interpreted.result();
+    }
+
+    @Benchmark
+    public boolean optimized() {
+        leaves.next();
+        return optimized.result();
+    }
+
+    @Benchmark
+    public boolean hiddenClass() {
+        leaves.next();
+        return hiddenClass.test();
+    }
+
+    @Benchmark
+    public boolean methodHandle() {
+        leaves.next();
+        return methodHandle.test();
+    }
+
+    @Benchmark
+    public boolean adaptive() {
+        leaves.next();
+        return adaptive.result();
+    }
+
+    @Benchmark
+    public boolean contextual() {
+        leaves.next();
+        return contextual.result(leaves.row());
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.BooleanSignal;
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import com.github.evseevda.utils.logic.ReactiveExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.anyOf;
+
+/**
+ * Polling an expression over signals against reading a reactive copy of it, when one poll in
+ * {@code pollsPerChange} follows a change of a random signal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReactiveBenchmark {
+
+    @Param({"1", "100"})
+    public int pollsPerChange;
+
+    private final Random random = new Random(42);
+    private final List<BooleanSignal> signals = new ArrayList<>();
+    private LazyLogicalExpression polled;
+    private ReactiveExpression reactive;
+    private int polls;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<LazyLogicalExpression> groups = new ArrayList<>();
+        for (int group = 0; group < 16; group++) {
+            List<BooleanSignal> members = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                BooleanSignal signal = BooleanSignal.of(random.nextBoolean());
+                members.add(signal);
+                signals.add(signal);
+            }
+            groups.add(anyOf(members.toArray(new BooleanSignal[0])));
+        }
+        polled = groups.get(0);
+        for (int i = 1; i < groups.size(); i++) {
+            polled = polled.and(groups.get(i));
+        }
+        reactive = polled.reactive(Runnable::run);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reactive.close();
+    }
+
+    private void maybeChange() {
+        if (++polls == pollsPerChange) {
+            polls = 0;
+            signals.get(random.nextInt(signals.size())).set(random.nextBoolean());
+        }
+    }
+
+    @Benchmark
+    public boolean polling() {
+        maybeChange();
+        return polled.result();
+    }
+
+    @Benchmark
+    public boolean reactive() {
+        maybeChange();
+        return reactive.result();
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.Attribute;
+import com.github.evseevda.utils.logic.LogicalExpression;
+import com.github.evseevda.utils.logic.RuleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Targeting rules over the country, device, audience segment and age of a request,
+ * matched against a request one by one and through a {@link RuleIndex}.
+ * <br> With {@code conditions = ranges} every rule is a narrow range of the score of a request,
+ * so the ranges are the only conditions the index can file the rules under.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class RuleIndexBenchmark {
+
+    private static final int COUNTRIES = 50;
+    private static final int DEVICES = 4;
+    private static final int SEGMENTS = 1000;
+    private static final int AGES = 100;
+    private static final int SCORES = 1_000_000;
+    private static final int SCORE_RANGE = 1000;
+
+    private static final Attribute<int[], Integer> COUNTRY = Attribute.of("country", request -> request[0]);
+    private static final Attribute<int[], Integer> DEVICE = Attribute.of("device", request -> request[1]);
+    private static final Attribute<int[], Integer> SEGMENT = Attribute.of("segment", request -> request[2]);
+    private static final Attribute<int[], Integer> AGE = Attribute.of("age", request -> request[3]);
+    private static final Attribute<int[], Integer> SCORE = Attribute.of("score", request -> request[4]);
+
+    @Param({"10000", "100000", "1000000"})
+    public int rules;
+
+    @Param({"mixed", "ranges"})
+    public String conditions;
+
+    private int[][] requests;
+    private int next;
+    private List<LogicalExpression<int[]>> separate;
+    private RuleIndex<int[]> index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        requests = new int[1024][];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = new int[]{random.nextInt(COUNTRIES), random.nextInt(DEVICES),
+                    random.nextInt(SEGMENTS), random.nextInt(AGES), random.nextInt(SCORES)};
+        }
+        separate = new ArrayList<>(rules);
+        index = new RuleIndex<>();
+        for (int i = 0; i < rules; i++) {
+            LogicalExpression<int[]> rule = conditions.equals("ranges") ? scoreRule(random) : targetingRule(random);
+            separate.add(rule);
+            index.add("rule" + i, rule);
+        }
+    }
+
+    @Benchmark
+    public void separate(Blackhole blackhole) {
+        int[] request = requests[next++ & (requests.length - 1)];
+        for (LogicalExpression<int[]> rule : separate) {
+            blackhole.consume(rule.result(request));
+        }
+    }
+
+    @Benchmark
+    public Object index() {
+        return index.matches(requests[next++ & (requests.length - 1)]);
+    }
+
+    private static LogicalExpression<int[]> scoreRule(Random random) {
+        int minScore = random.nextInt(SCORES);
+        return LogicalExpression.expr(SCORE.between(minScore, minScore + random.nextInt(SCORE_RANGE)));
+    }
+
+    private static LogicalExpression<int[]> targetingRule(Random random) {
+        int minAge = random.nextInt(AGES);
+        LogicalExpression<int[]> rule = LogicalExpression.expr(COUNTRY.in(random.nextInt(COUNTRIES),
+                        random.nextInt(COUNTRIES), random.nextInt(COUNTRIES)))
+                .and(AGE.between(minAge, minAge + random.nextInt(AGES - minAge)));
+        return random.nextInt(10) == 0
+                // a campaign on a device rather than on audience segments
+                ? rule.and(DEVICE.eq(random.nextInt(DEVICES)))
+                : rule.and(SEGMENT.in(random.nextInt(SEGMENTS), random.nextInt(SEGMENTS)));
+    }
+
+}
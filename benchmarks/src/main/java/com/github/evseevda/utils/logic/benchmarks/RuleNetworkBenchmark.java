@@ -0,0 +1,91 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.LogicalExpression;
+import com.github.evseevda.utils.logic.RuleNetwork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Many rules built from a small set of shared predicates and subexpressions, matched against an event
+ * one by one and through a {@link RuleNetwork}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleNetworkBenchmark {
+
+    @Param({"1000", "20000"})
+    public int rules;
+
+    /**
+     * The share of the predicates holding for an event, the network visits only the part of it they activate.
+     */
+    @Param({"0.5", "0.05"})
+    public double trueRate;
+
+    private Leaves leaves;
+    private List<LogicalExpression<boolean[]>> separate;
+    private RuleNetwork<boolean[]> network;
+
+    @Setup
+    public void setUp() {
+        leaves = new Leaves(42, 32, trueRate, 20);
+        Random random = new Random(7);
+        // the rules share the predicates, as rules over the same event do
+        List<Predicate<boolean[]>> predicates = new ArrayList<>();
+        for (int i = 0; i < leaves.count(); i++) {
+            predicates.add(leaves.contextPredicate(i));
+        }
+        List<LogicalExpression<boolean[]>> conditions = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            Predicate<boolean[]> first = predicates.get(random.nextInt(predicates.size()));
+            Predicate<boolean[]> second = predicates.get(random.nextInt(predicates.size()));
+            conditions.add(LogicalExpression.<boolean[]>expr(first).and(second));
+        }
+        separate = new ArrayList<>(rules);
+        RuleNetwork.Builder<boolean[]> builder = RuleNetwork.builder();
+        for (int i = 0; i < rules; i++) {
+            LogicalExpression<boolean[]> rule = conditions.get(random.nextInt(conditions.size()))
+                    .or(conditions.get(random.nextInt(conditions.size())))
+                    .and(predicates.get(random.nextInt(predicates.size())));
+            separate.add(rule);
+            builder.add("rule" + i, rule);
+        }
+        network = builder.build();
+    }
+
+    @Benchmark
+    public void separate(Blackhole blackhole) {
+        leaves.next();
+        boolean[] event = leaves.row();
+        for (LogicalExpression<boolean[]> rule : separate) {
+            blackhole.consume(rule.result(event));
+        }
+    }
+
+    @Benchmark
+    public Object network() {
+        leaves.next();
+        return network.matches(leaves.row());
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.github.evseevda.utils.logic.benchmarks;
+
+import com.github.evseevda.utils.logic.AdaptiveExpression;
+import com.github.evseevda.utils.logic.LazyLogicalExpression;
+import com.github.evseevda.utils.logic.LogicalExpression;
+import com.github.evseevda.utils.logic.NoArgsPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One expression evaluated by several threads at once, as a rule shared by all requests of a server.
+ * Shows the contention caused by the statistics of {@link AdaptiveExpression} and the cache lines
+ * shared by the evaluation strategies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SharedExpressionBenchmark {
+
+    private Leaves leaves;
+    private LazyLogicalExpression interpreted;
+    private NoArgsPredicate compiled;
+    private AdaptiveExpression adaptive;
+    private LogicalExpression<boolean[]> contextual;
+
+    @Setup
+    public void setUp() {
+        leaves = new Leaves(42, 16, 0.5, 0);
+        interpreted = new ExpressionGenerator(7, leaves).lazy(3, 4);
+        compiled = interpreted.compile();
+        adaptive = interpreted.adaptive();
+        contextual = new ExpressionGenerator(7, leaves).contextual(3, 4);
+    }
+
+    @Benchmark
+    public boolean interpreted() {
+        leaves.next();
+        return interpreted.result();
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        leaves.next();
+        return compiled.test();
+    }
+
+    @Benchmark
+    public boolean adaptive() {
+        leaves.next();
+        return adaptive.result();
+    }
+
+    @Benchmark
+    public boolean contextual() {
+        leaves.next();
+        return contextual.result(leaves.row());
+    }
+
+}
@@ -0,0 +1,361 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An expression which reorders the operands of its AND and OR nodes at runtime to minimize the expected cost
+ * of an evaluation.
+ * <br> A fraction of evaluations is sampled: for each node the latency and the rate of {@code true} results
+ * are recorded. Periodically, the operands of every AND node are sorted by {@code cost / P(false)} and
+ * the operands of every OR node by {@code cost / P(true)}, so that cheap operands which are likely to
+ * short-circuit the node are evaluated first.
+ * <br> The operands of XOR nodes are never reordered. Operands containing a predicate marked with
+ * {@link NoArgsPredicate#orderSensitive(NoArgsPredicate)} keep their position, other operands are not moved
+ * across them.
+ * <br> Reordering publishes a new operand order atomically and is safe while other threads are evaluating
+ * the expression. <b>Predicates are assumed to be free of side effects</b>, because a different order may
+ * change which of them are called.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#adaptive()
+ * @since 0.10.0
+ */
+public final class AdaptiveExpression implements NoArgsPredicate {
+
+    static final int DEFAULT_SAMPLING_RATE = 64;
+    static final int DEFAULT_REORDER_INTERVAL = 1024;
+
+    /**
+     * Weight of the newest statistics window in the estimations of a node.
+     */
+    private static final double SMOOTHING = 0.5;
+
+    private final Node root;
+    private final int samplingRate;
+    private final int reorderInterval;
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicBoolean reordering = new AtomicBoolean();
+
+    AdaptiveExpression(ExpressionNode tree, int samplingRate, int reorderInterval) {
+        Objects.requireNonNull(tree);
+        if (samplingRate < 1) {
+            throw new IllegalArgumentException("Sampling rate must be positive: " + samplingRate);
+        }
+        if (reorderInterval < 1) {
+            throw new IllegalArgumentException("Reorder interval must be positive: " + reorderInterval);
+        }
+        this.root = Node.of(tree);
+        this.samplingRate = samplingRate;
+        this.reorderInterval = reorderInterval;
+    }
+
+    /**
+     * Calculates the result of the expression, every {@code samplingRate}-th evaluation on average is measured.
+     *
+     * @return the logical result of the expression
+     */
+    public boolean result() {
+        if (samplingRate > 1 && ThreadLocalRandom.current().nextInt(samplingRate) != 0) {
+            return root.evaluate();
+        }
+        boolean result = root.measure();
+        if (samples.incrementAndGet() % reorderInterval == 0) {
+            reorder();
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #result()}.
+     */
+    @Override
+    public boolean test() {
+        return result();
+    }
+
+    /**
+     * Reorders the operands according to the statistics collected since the previous reordering.
+     * <br> Called automatically every {@code reorderInterval} sampled evaluations.
+     * If another thread is reordering the expression at the moment, this call does nothing.
+     */
+    public void reorder() {
+        if (reordering.compareAndSet(false, true)) {
+            try {
+                root.reorder();
+            } finally {
+                reordering.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return the tree of the expression in the current evaluation order
+     */
+    public ExpressionNode tree() {
+        return root.tree();
+    }
+
+    private abstract static class Node {
+
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder trueResults = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        final boolean orderSensitive;
+        double cost = Double.NaN;
+        double trueRate = Double.NaN;
+
+        Node(boolean orderSensitive) {
+            this.orderSensitive = orderSensitive;
+        }
+
+        static Node of(ExpressionNode node) {
+            if (node instanceof ExpressionNode.Leaf) {
+                return new Leaf((ExpressionNode.Leaf) node);
+            }
+            if (node instanceof ExpressionNode.Const) {
+                return new Leaf(node);
+            }
+            if (node instanceof ExpressionNode.Not) {
+                return new Not(of(((ExpressionNode.Not) node).operand));
+            }
+            if (!(node instanceof ExpressionNode.Junction)) {
+                throw ExpressionNode.unsupported(node);
+            }
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            Node[] operands = new Node[junction.size];
+            for (int i = 0; i < operands.length; i++) {
+                operands[i] = of(junction.operands[i]);
+            }
+            return new Junction(junction, operands);
+        }
+
+        abstract boolean evaluate();
+
+        abstract boolean evaluateMeasured();
+
+        abstract void reorder();
+
+        abstract ExpressionNode tree();
+
+        final boolean measure() {
+            long start = System.nanoTime();
+            boolean result = evaluateMeasured();
+            nanos.add(System.nanoTime() - start);
+            evaluations.increment();
+            if (result) {
+                trueResults.increment();
+            }
+            return result;
+        }
+
+        /**
+         * Folds the statistics of the last window into the estimations and starts a new window.
+         */
+        final void updateEstimations() {
+            long count = evaluations.sumThenReset();
+            long trues = trueResults.sumThenReset();
+            long time = nanos.sumThenReset();
+            if (count == 0) {
+                return;
+            }
+            double windowCost = (double) time / count;
+            double windowTrueRate = (double) trues / count;
+            cost = Double.isNaN(cost) ? windowCost : cost + SMOOTHING * (windowCost - cost);
+            trueRate = Double.isNaN(trueRate) ? windowTrueRate : trueRate + SMOOTHING * (windowTrueRate - trueRate);
+        }
+
+    }
+
+    private static final class Leaf extends Node {
+
+        private final ExpressionNode node;
+
+        Leaf(ExpressionNode node) {
+            super(node instanceof ExpressionNode.Leaf
+                    && ((ExpressionNode.Leaf) node).predicate instanceof OrderSensitivePredicate);
+            this.node = node;
+        }
+
+        @Override
+        boolean evaluate() {
+            return node.evaluate();
+        }
+
+        @Override
+        boolean evaluateMeasured() {
+            return node.evaluate();
+        }
+
+        @Override
+        void reorder() {
+            updateEstimations();
+        }
+
+        @Override
+        ExpressionNode tree() {
+            return node;
+        }
+
+    }
+
+    private static final class Not extends Node {
+
+        private final Node operand;
+
+        Not(Node operand) {
+            super(operand.orderSensitive);
+            this.operand = operand;
+        }
+
+        @Override
+        boolean evaluate() {
+            return !operand.evaluate();
+        }
+
+        @Override
+        boolean evaluateMeasured() {
+            return !operand.measure();
+        }
+
+        @Override
+        void reorder() {
+            updateEstimations();
+            operand.reorder();
+        }
+
+        @Override
+        ExpressionNode tree() {
+            return ExpressionNode.not(operand.tree());
+        }
+
+    }
+
+    private static final class Junction extends Node {
+
+        private final ExpressionNode.Junction node;
+        private volatile Node[] operands;
+
+        Junction(ExpressionNode.Junction node, Node[] operands) {
+            super(Arrays.stream(operands).anyMatch(operand -> operand.orderSensitive));
+            this.node = node;
+            this.operands = operands;
+        }
+
+        @Override
+        boolean evaluate() {
+            Node[] operands = this.operands;
+            if (node instanceof ExpressionNode.And) {
+                for (Node operand : operands) {
+                    if (!operand.evaluate()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (node instanceof ExpressionNode.Or) {
+                for (Node operand : operands) {
+                    if (operand.evaluate()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            boolean result = false;
+            for (Node operand : operands) {
+                result ^= operand.evaluate();
+            }
+            return result;
+        }
+
+        @Override
+        boolean evaluateMeasured() {
+            Node[] operands = this.operands;
+            if (node instanceof ExpressionNode.And) {
+                for (Node operand : operands) {
+                    if (!operand.measure()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (node instanceof ExpressionNode.Or) {
+                for (Node operand : operands) {
+                    if (operand.measure()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            boolean result = false;
+            for (Node operand : operands) {
+                result ^= operand.measure();
+            }
+            return result;
+        }
+
+        @Override
+        void reorder() {
+            updateEstimations();
+            Node[] current = operands;
+            for (Node operand : current) {
+                operand.reorder();
+            }
+            if (node instanceof ExpressionNode.Xor) {
+                return;
+            }
+
+            double knownCost = 0;
+            int known = 0;
+            for (Node operand : current) {
+                if (!Double.isNaN(operand.cost)) {
+                    knownCost += operand.cost;
+                    known++;
+                }
+            }
+            double defaultCost = known == 0 ? 1 : knownCost / known;
+            boolean and = node instanceof ExpressionNode.And;
+            Comparator<Node> byExpectedCost = Comparator.comparingDouble(operand -> rank(operand, and, defaultCost));
+
+            Node[] reordered = current.clone();
+            int segmentStart = 0;
+            for (int i = 0; i <= reordered.length; i++) {
+                if (i == reordered.length || reordered[i].orderSensitive) {
+                    Arrays.sort(reordered, segmentStart, i, byExpectedCost);
+                    segmentStart = i + 1;
+                }
+            }
+            if (!Arrays.equals(current, reordered)) {
+                operands = reordered;
+            }
+        }
+
+        /**
+         * @return expected cost of evaluating the operand per unit of probability that it short-circuits the node
+         */
+        private static double rank(Node operand, boolean and, double defaultCost) {
+            double cost = Double.isNaN(operand.cost) ? defaultCost : operand.cost;
+            double trueRate = Double.isNaN(operand.trueRate) ? 0.5 : operand.trueRate;
+            double shortCircuitRate = and ? 1 - trueRate : trueRate;
+            return cost / Math.max(shortCircuitRate, 1e-6);
+        }
+
+        @Override
+        ExpressionNode tree() {
+            Node[] operands = this.operands;
+            ExpressionNode[] trees = new ExpressionNode[operands.length];
+            for (int i = 0; i < trees.length; i++) {
+                trees[i] = operands[i].tree();
+            }
+            return node.create(trees, trees.length);
+        }
+
+    }
+
+}
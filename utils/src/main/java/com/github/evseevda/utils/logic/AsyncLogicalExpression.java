@@ -0,0 +1,231 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The asynchronous counterpart of {@link LazyLogicalExpression}: its predicates return
+ * {@link CompletionStage CompletionStage&lt;Boolean&gt;} and {@link #result()} returns a
+ * {@link CompletableFuture} instead of blocking the calling thread.
+ * <br>Expressions passed to the methods of this class <b>are not calculated immediately</b>,
+ * but only during the call of the {@code result()} method.
+ * <br>When an AND or OR is evaluated, all its operands are started at once and the result completes
+ * as soon as it is known: on the first operand completed with {@code false} for AND and on the first
+ * operand completed with {@code true} for OR, without waiting for the other operands.
+ * A failed operand fails the result only if the other operands do not decide it.
+ * <br><b>Since the operands are started without waiting for each other, a left operand does not guard
+ * the right one</b>: in {@code expr(this::userExists).and(this::loadUserSettings)} the settings are loaded
+ * even for a user that does not exist, so the right operand must be safe to start on its own.
+ * Chain the stages yourself when an operand depends on the result of another.
+ * <br>Instances of this class are immutable, every combining method returns a new expression.
+ * <blockquote>
+ * <pre>
+ *      {@code expr(repository::userExists).and(not(repository::userIsLocked)).result().thenAccept(...)}
+ *     </pre>
+ * </blockquote>
+ * @since 0.10.0
+ * @see LazyLogicalExpression
+ * @see AsyncPredicate
+ * @author EvseevDA
+ */
+public final class AsyncLogicalExpression {
+
+    private final AsyncNode root;
+
+    private AsyncLogicalExpression(AsyncNode root) {
+        this.root = root;
+    }
+
+    /**
+     * Creates a new logical expression.
+     * <br> Calling this method is equivalent to natively putting
+     * parentheses around the expression.
+     *
+     * @param predicate the first expression in a chain of expressions
+     * @return an AsyncLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions
+     */
+    public static AsyncLogicalExpression expr(AsyncPredicate predicate) {
+        return new AsyncLogicalExpression(leaf(predicate));
+    }
+
+    /**
+     * In general, it is similar to expr with an AsyncPredicate parameter, but now the main expression is another expression.
+     * <br> This method is needed to create nested expressions.
+     *
+     * @param expression the first expression in a chain of expressions
+     * @return an AsyncLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions
+     */
+    public static AsyncLogicalExpression expr(AsyncLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return expression;
+    }
+
+    /**
+     * Aggregates all passed predicates with logical AND.
+     *
+     * @param predicates which will be aggregated
+     * @return an AsyncLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code true}.</h3>
+     */
+    public static AsyncLogicalExpression allOf(Iterable<AsyncPredicate> predicates) {
+        return new AsyncLogicalExpression(AsyncNode.allOf(toLeaves(predicates)));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical AND.
+     *
+     * @param predicates which will be aggregated
+     * @return an AsyncLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code true}.</h3>
+     */
+    public static AsyncLogicalExpression allOf(AsyncPredicate... predicates) {
+        return allOf(Arrays.asList(predicates));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical OR.
+     *
+     * @param predicates which will be aggregated
+     * @return an AsyncLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code false}.</h3>
+     */
+    public static AsyncLogicalExpression anyOf(Iterable<AsyncPredicate> predicates) {
+        return new AsyncLogicalExpression(AsyncNode.anyOf(toLeaves(predicates)));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical OR.
+     *
+     * @param predicates which will be aggregated
+     * @return an AsyncLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code false}.</h3>
+     */
+    public static AsyncLogicalExpression anyOf(AsyncPredicate... predicates) {
+        return anyOf(Arrays.asList(predicates));
+    }
+
+    private static AsyncNode leaf(AsyncPredicate predicate) {
+        return AsyncNode.leaf(predicate);
+    }
+
+    private static AsyncNode[] toLeaves(Iterable<AsyncPredicate> predicates) {
+        Objects.requireNonNull(predicates);
+
+        List<AsyncNode> leaves = new ArrayList<>();
+        for (AsyncPredicate predicate : predicates) {
+            leaves.add(leaf(predicate));
+        }
+        return leaves.toArray(new AsyncNode[0]);
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using logical AND.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public AsyncLogicalExpression and(AsyncPredicate predicate) {
+        return new AsyncLogicalExpression(AsyncNode.and(root, leaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using logical AND.
+     *
+     * @param expression that will be merged with the current one
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public AsyncLogicalExpression and(AsyncLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return new AsyncLogicalExpression(AsyncNode.and(root, expression.root));
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using logical OR.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public AsyncLogicalExpression or(AsyncPredicate predicate) {
+        return new AsyncLogicalExpression(AsyncNode.or(root, leaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using logical OR.
+     *
+     * @param expression that will be merged with the current one
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public AsyncLogicalExpression or(AsyncLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return new AsyncLogicalExpression(AsyncNode.or(root, expression.root));
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using XOR.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public AsyncLogicalExpression xor(AsyncPredicate predicate) {
+        return new AsyncLogicalExpression(AsyncNode.xor(root, leaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using XOR.
+     *
+     * @param expression that will be merged with the current one
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public AsyncLogicalExpression xor(AsyncLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return new AsyncLogicalExpression(AsyncNode.xor(root, expression.root));
+    }
+
+    /**
+     * Applies logical NOT to the given predicate.
+     *
+     * @param predicate to which the operation will be applied
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public static AsyncLogicalExpression not(AsyncPredicate predicate) {
+        return new AsyncLogicalExpression(AsyncNode.not(leaf(predicate)));
+    }
+
+    /**
+     * Applies logical NOT to the given expression.
+     *
+     * @param expression to which the operation will be applied
+     * @return an AsyncLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public static AsyncLogicalExpression not(AsyncLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return new AsyncLogicalExpression(AsyncNode.not(expression.root));
+    }
+
+    /**
+     * Starts the calculation of the expression.
+     * <br> This method does not block, all the predicates are started at once from the calling thread and
+     * the returned future is completed by the thread that completes the deciding predicate.
+     * The predicates which are still running when the result is decided are not cancelled.
+     *
+     * @return a future that completes with the logical result of the expression
+     */
+    public CompletableFuture<Boolean> result() {
+        return root.start();
+    }
+
+}
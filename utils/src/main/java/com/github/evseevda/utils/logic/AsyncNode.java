@@ -0,0 +1,203 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A node of the tree of an {@link AsyncLogicalExpression}.
+ * <br> The tree is kept apart from {@link ExpressionNode}: its leaves are {@link AsyncPredicate AsyncPredicates},
+ * which cannot be tested synchronously, so the only thing it supports is starting the evaluation.
+ * It is never explained, compiled nor encoded.
+ *
+ * @author EvseevDA
+ * @see AsyncLogicalExpression
+ * @since 0.10.0
+ */
+abstract class AsyncNode {
+
+    /**
+     * Starts the evaluation of this node.
+     * <br> Every predicate of the node is started from the calling thread, before this method returns,
+     * unless an operand decides the result synchronously.
+     *
+     * @return a future that completes with the result of this node
+     */
+    abstract CompletableFuture<Boolean> start();
+
+    static AsyncNode leaf(AsyncPredicate predicate) {
+        return new Leaf(Objects.requireNonNull(predicate));
+    }
+
+    static AsyncNode not(AsyncNode operand) {
+        return new Not(Objects.requireNonNull(operand));
+    }
+
+    static AsyncNode and(AsyncNode left, AsyncNode right) {
+        return Junction.combine(Operator.AND, left, right);
+    }
+
+    static AsyncNode or(AsyncNode left, AsyncNode right) {
+        return Junction.combine(Operator.OR, left, right);
+    }
+
+    static AsyncNode xor(AsyncNode left, AsyncNode right) {
+        return Junction.combine(Operator.XOR, left, right);
+    }
+
+    /**
+     * @param operands the operands, the array is owned by the created node afterwards
+     * @return an n-ary AND node over the given operands, {@code true} if there are no operands
+     */
+    static AsyncNode allOf(AsyncNode[] operands) {
+        return new Junction(Operator.AND, operands);
+    }
+
+    /**
+     * @param operands the operands, the array is owned by the created node afterwards
+     * @return an n-ary OR node over the given operands, {@code false} if there are no operands
+     */
+    static AsyncNode anyOf(AsyncNode[] operands) {
+        return new Junction(Operator.OR, operands);
+    }
+
+    /**
+     * A leaf of the tree, holds a predicate of the expression.
+     */
+    static final class Leaf extends AsyncNode {
+
+        final AsyncPredicate predicate;
+
+        Leaf(AsyncPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        CompletableFuture<Boolean> start() {
+            try {
+                CompletionStage<Boolean> stage = predicate.test();
+                Objects.requireNonNull(stage, "AsyncPredicate returned null");
+                return stage.toCompletableFuture();
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return predicate.toString();
+        }
+
+    }
+
+    /**
+     * Logical NOT of its operand.
+     */
+    static final class Not extends AsyncNode {
+
+        final AsyncNode operand;
+
+        Not(AsyncNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        CompletableFuture<Boolean> start() {
+            return operand.start().thenApply(LogicalPredicates::not);
+        }
+
+        @Override
+        public String toString() {
+            return "Not[" + operand + "]";
+        }
+
+    }
+
+    enum Operator {
+        AND, OR, XOR
+    }
+
+    /**
+     * An n-ary AND, OR or XOR of its operands, all of which are started at once.
+     */
+    static final class Junction extends AsyncNode {
+
+        final Operator operator;
+        final AsyncNode[] operands;
+
+        Junction(Operator operator, AsyncNode[] operands) {
+            this.operator = operator;
+            this.operands = operands;
+        }
+
+        private static AsyncNode combine(Operator operator, AsyncNode left, AsyncNode right) {
+            Objects.requireNonNull(left);
+            Objects.requireNonNull(right);
+
+            AsyncNode[] leftOperands = operandsOf(operator, left);
+            AsyncNode[] rightOperands = operandsOf(operator, right);
+            AsyncNode[] operands = Arrays.copyOf(leftOperands, leftOperands.length + rightOperands.length);
+            System.arraycopy(rightOperands, 0, operands, leftOperands.length, rightOperands.length);
+            return new Junction(operator, operands);
+        }
+
+        private static AsyncNode[] operandsOf(Operator operator, AsyncNode node) {
+            return node instanceof Junction && ((Junction) node).operator == operator
+                    ? ((Junction) node).operands
+                    : new AsyncNode[]{node};
+        }
+
+        @Override
+        CompletableFuture<Boolean> start() {
+            return operator == Operator.XOR ? startXor() : startShortCircuit(operator == Operator.OR);
+        }
+
+        private CompletableFuture<Boolean> startShortCircuit(boolean decisive) {
+            if (operands.length == 0) {
+                return CompletableFuture.completedFuture(!decisive);
+            }
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            AtomicInteger pending = new AtomicInteger(operands.length);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            for (int i = 0; i < operands.length && !result.isDone(); i++) {
+                operands[i].start().whenComplete((value, error) -> {
+                    if (error != null) {
+                        failure.compareAndSet(null, error);
+                    } else if (value == null) {
+                        failure.compareAndSet(null, new NullPointerException("AsyncPredicate completed with null"));
+                    } else if (value == decisive) {
+                        result.complete(decisive);
+                        return;
+                    }
+                    if (pending.decrementAndGet() == 0) {
+                        Throwable firstFailure = failure.get();
+                        if (firstFailure != null) {
+                            result.completeExceptionally(firstFailure);
+                        } else {
+                            result.complete(!decisive);
+                        }
+                    }
+                });
+            }
+            return result;
+        }
+
+        private CompletableFuture<Boolean> startXor() {
+            CompletableFuture<Boolean> result = CompletableFuture.completedFuture(false);
+            for (AsyncNode operand : operands) {
+                result = result.thenCombine(operand.start(), Boolean::logicalXor);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return operator + Arrays.toString(operands);
+        }
+
+    }
+
+}
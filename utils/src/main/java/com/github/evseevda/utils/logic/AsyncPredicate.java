@@ -0,0 +1,27 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Represents an asynchronous predicate (boolean-valued function) of zero arguments.
+ *
+ * <p>This is a <a href="package-summary.html">functional interface</a>
+ * whose functional method is {@link #test()}.
+ *
+ * @see AsyncLogicalExpression
+ * @since 0.10.0
+ * @author EvseevDA
+ */
+@FunctionalInterface
+public interface AsyncPredicate {
+
+    /**
+     * Starts the evaluation of this predicate.
+     * <br> This method should not block, the result is delivered through the returned stage.
+     *
+     * @return a stage that completes with {@code true} if the result of this predicate is {@code true},
+     * otherwise with {@code false}
+     */
+    CompletionStage<Boolean> test();
+
+}
@@ -0,0 +1,128 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A named attribute of a context, whose conditions can be indexed by {@link RuleIndex}.
+ * <br> The conditions created by an attribute are ordinary predicates and can be combined into a
+ * {@link LogicalExpression} with any other predicates.
+ * <blockquote>
+ * <pre>
+ *      {@code Attribute<Request, String> country = Attribute.of("country", Request::country);}
+ *      {@code Attribute<Request, Integer> age = Attribute.of("age", Request::age);}
+ *      {@code LogicalExpression<Request> campaign = expr(country.in("DE", "AT")).and(age.between(18, 30));}
+ *     </pre>
+ * </blockquote>
+ * Attributes are identified by reference, the name is used only to describe them.
+ *
+ * @param <C> the type of the context
+ * @param <V> the type of the value of the attribute
+ * @author EvseevDA
+ * @see RuleIndex
+ * @since 0.10.0
+ */
+public final class Attribute<C, V> {
+
+    private final String name;
+    private final Function<? super C, ? extends V> extractor;
+
+    private Attribute(String name, Function<? super C, ? extends V> extractor) {
+        this.name = Objects.requireNonNull(name);
+        this.extractor = Objects.requireNonNull(extractor);
+    }
+
+    /**
+     * @param name      the name of the attribute
+     * @param extractor the function reading the value of the attribute from a context,
+     *                  it may return {@code null} if the context has no value
+     * @param <C>       the type of the context
+     * @param <V>       the type of the value of the attribute
+     * @return a new attribute
+     */
+    public static <C, V> Attribute<C, V> of(String name, Function<? super C, ? extends V> extractor) {
+        return new Attribute<>(name, extractor);
+    }
+
+    /**
+     * @param context the context
+     * @return the value of the attribute in the context, or {@code null} if it has none
+     */
+    public V valueOf(C context) {
+        return extractor.apply(context);
+    }
+
+    /**
+     * @return the name of the attribute
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @param value the expected value
+     * @return a predicate that is {@code true} if the value of the attribute equals the given one
+     */
+    public Predicate<C> eq(V value) {
+        Objects.requireNonNull(value);
+        return new AttributeCondition.Membership<>(this, Set.of(value));
+    }
+
+    /**
+     * @param values the expected values
+     * @return a predicate that is {@code true} if the value of the attribute equals one of the given ones
+     */
+    @SafeVarargs
+    public final Predicate<C> in(V... values) {
+        // the array is only read here, handing it to another method would trip -Xlint:varargs
+        List<V> copy = new ArrayList<>(values.length);
+        for (V value : values) {
+            copy.add(value);
+        }
+        return in(copy);
+    }
+
+    /**
+     * @param values the expected values
+     * @return a predicate that is {@code true} if the value of the attribute equals one of the given ones
+     */
+    public Predicate<C> in(Collection<? extends V> values) {
+        return new AttributeCondition.Membership<>(this, Set.copyOf(values));
+    }
+
+    /**
+     * @param min the smallest expected value
+     * @param max the largest expected value
+     * @return a predicate that is {@code true} if the value of the attribute is between the given ones inclusive
+     * @throws IllegalArgumentException if the values are not {@link Comparable} with each other
+     *                                  or {@code min} is greater than {@code max}
+     */
+    public Predicate<C> between(V min, V max) {
+        Objects.requireNonNull(min);
+        Objects.requireNonNull(max);
+        if (!(min instanceof Comparable) || !(max instanceof Comparable)) {
+            throw new IllegalArgumentException("Range bounds must be comparable: " + min + ", " + max);
+        }
+        int order;
+        try {
+            order = AttributeCondition.compare(min, max);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Range bounds must be comparable: " + min + ", " + max, e);
+        }
+        if (order > 0) {
+            throw new IllegalArgumentException("Empty range: " + min + " > " + max);
+        }
+        return new AttributeCondition.Range<>(this, min, max);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
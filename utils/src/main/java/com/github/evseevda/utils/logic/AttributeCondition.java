@@ -0,0 +1,91 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A condition on the value of an {@link Attribute}, which {@link RuleIndex} can look up by the value.
+ *
+ * @param <C> the type of the context
+ * @author EvseevDA
+ * @see Attribute
+ * @since 0.10.0
+ */
+abstract class AttributeCondition<C> implements Predicate<C> {
+
+    final Attribute<C, ?> attribute;
+
+    AttributeCondition(Attribute<C, ?> attribute) {
+        this.attribute = attribute;
+    }
+
+    @Override
+    public final boolean test(C context) {
+        Object value = attribute.valueOf(context);
+        return value != null && accepts(value);
+    }
+
+    abstract boolean accepts(Object value);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(Object left, Object right) {
+        return ((Comparable) left).compareTo(right);
+    }
+
+    /**
+     * The value of the attribute is one of the given values.
+     */
+    static final class Membership<C> extends AttributeCondition<C> {
+
+        final Set<?> values;
+
+        Membership(Attribute<C, ?> attribute, Set<?> values) {
+            super(attribute);
+            this.values = values;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return values.contains(value);
+        }
+
+        @Override
+        public String toString() {
+            return attribute + (values.size() == 1 ? " = " + values.iterator().next() : " in " + values);
+        }
+
+    }
+
+    /**
+     * The value of the attribute is between the given values inclusive.
+     * A value which cannot be compared with the bounds is not between them.
+     */
+    static final class Range<C> extends AttributeCondition<C> {
+
+        final Object min;
+        final Object max;
+
+        Range(Attribute<C, ?> attribute, Object min, Object max) {
+            super(attribute);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            try {
+                return compare(min, value) <= 0 && compare(value, max) <= 0;
+            } catch (ClassCastException e) {
+                // the value is of another type than the bounds
+                return false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return attribute + " in [" + min + ", " + max + "]";
+        }
+
+    }
+
+}
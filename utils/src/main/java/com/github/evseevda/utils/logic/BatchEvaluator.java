@@ -0,0 +1,162 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates a tree against many contexts a column at a time.
+ * <br> Each node is evaluated for all the rows it is asked about before its parent moves on,
+ * so a leaf calls its predicate in one tight loop over the rows instead of the whole tree being walked per row.
+ * The rows still undecided by an AND or OR node are tracked with a selection vector, an array of row indexes
+ * which is compacted after every operand: an operand is evaluated only for the rows that the previous operands
+ * did not short-circuit, so predicates are called exactly for the rows a row-by-row evaluation would call them.
+ * A XOR node needs a buffer for the results of its operands, the buffers are allocated once per batch and
+ * per level of nesting of XOR nodes.
+ *
+ * @author EvseevDA
+ * @see LogicalExpression#results(java.util.List)
+ * @since 0.10.0
+ */
+final class BatchEvaluator {
+
+    private BatchEvaluator() {
+    }
+
+    static BitSet evaluate(ExpressionNode root, Object[] rows) {
+        int[] selection = new int[rows.length];
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] = i;
+        }
+        boolean[] results = new boolean[rows.length];
+        evaluate(root, rows, selection, rows.length, results, new Scratch(rows.length));
+
+        BitSet matches = new BitSet(rows.length);
+        for (int row = 0; row < results.length; row++) {
+            if (results[row]) {
+                matches.set(row);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Writes the result of the node for each of the first {@code count} rows of the selection to {@code results}.
+     * Results of the other rows are not changed.
+     */
+    private static void evaluate(ExpressionNode node, Object[] rows, int[] selection, int count, boolean[] results,
+                                 Scratch scratch) {
+        if (node instanceof ExpressionNode.ContextLeaf) {
+            Predicate<Object> predicate = ((ExpressionNode.ContextLeaf) node).predicate;
+            for (int i = 0; i < count; i++) {
+                int row = selection[i];
+                results[row] = predicate.test(rows[row]);
+            }
+        } else if (node instanceof ExpressionNode.Const) {
+            fill(((ExpressionNode.Const) node).value, selection, count, results);
+        } else if (node instanceof ExpressionNode.Not) {
+            evaluate(((ExpressionNode.Not) node).operand, rows, selection, count, results, scratch);
+            for (int i = 0; i < count; i++) {
+                int row = selection[i];
+                results[row] = !results[row];
+            }
+        } else if (node instanceof ExpressionNode.Xor) {
+            evaluateXor((ExpressionNode.Junction) node, rows, selection, count, results, scratch);
+        } else if (node instanceof ExpressionNode.Junction) {
+            evaluateShortCircuit((ExpressionNode.Junction) node, rows, selection, count, results, scratch);
+        } else {
+            for (int i = 0; i < count; i++) {
+                int row = selection[i];
+                results[row] = node.evaluate(rows[row]);
+            }
+        }
+    }
+
+    private static void evaluateShortCircuit(ExpressionNode.Junction junction, Object[] rows,
+                                             int[] selection, int count, boolean[] results, Scratch scratch) {
+        // rows keep being evaluated while the operands return the identity value: true for AND, false for OR
+        boolean identity = junction instanceof ExpressionNode.And;
+        if (junction.size == 0) {
+            fill(identity, selection, count, results);
+            return;
+        }
+
+        int[] active = selection;
+        int remaining = count;
+        for (int i = 0; ; i++) {
+            evaluate(junction.operands[i], rows, active, remaining, results, scratch);
+            if (i == junction.size - 1) {
+                return;
+            }
+            // the selection of the caller is never changed, later compactions are done in place
+            int[] source = active;
+            if (active == selection) {
+                active = new int[remaining];
+            }
+            int kept = 0;
+            for (int j = 0; j < remaining; j++) {
+                int row = source[j];
+                if (results[row] == identity) {
+                    active[kept++] = row;
+                }
+            }
+            remaining = kept;
+            if (remaining == 0) {
+                return;
+            }
+        }
+    }
+
+    private static void evaluateXor(ExpressionNode.Junction junction, Object[] rows,
+                                    int[] selection, int count, boolean[] results, Scratch scratch) {
+        fill(false, selection, count, results);
+        if (junction.size == 0) {
+            return;
+        }
+        // only the selected rows of the buffer are written and read, so whatever an earlier node left is harmless
+        boolean[] operand = scratch.acquire();
+        for (int i = 0; i < junction.size; i++) {
+            evaluate(junction.operands[i], rows, selection, count, operand, scratch);
+            for (int j = 0; j < count; j++) {
+                int row = selection[j];
+                results[row] ^= operand[row];
+            }
+        }
+        scratch.release();
+    }
+
+    private static void fill(boolean value, int[] selection, int count, boolean[] results) {
+        for (int i = 0; i < count; i++) {
+            results[selection[i]] = value;
+        }
+    }
+
+    /**
+     * The buffers of the XOR nodes of a batch: a XOR node takes the buffer of its level of nesting,
+     * so the XOR nodes nested in it get other buffers and the XOR nodes after it reuse the same one.
+     */
+    private static final class Scratch {
+
+        private final int length;
+        private boolean[][] buffers = new boolean[0][];
+        private int depth;
+
+        Scratch(int length) {
+            this.length = length;
+        }
+
+        boolean[] acquire() {
+            if (depth == buffers.length) {
+                buffers = Arrays.copyOf(buffers, depth + 1);
+                buffers[depth] = new boolean[length];
+            }
+            return buffers[depth++];
+        }
+
+        void release() {
+            depth--;
+        }
+
+    }
+
+}
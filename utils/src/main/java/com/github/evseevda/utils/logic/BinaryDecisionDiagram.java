@@ -0,0 +1,345 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A reduced ordered binary decision diagram of an expression.
+ * <br> Each inner node of the diagram tests one predicate of the expression and continues with its
+ * {@code high} successor if the predicate is {@code true} and with its {@code low} successor otherwise,
+ * until the {@code true} or {@code false} terminal is reached. The predicates are tested in the order of
+ * their first occurrence in the expression, so an evaluation follows a single path and calls each
+ * predicate at most once, no matter how many times it occurs in the expression.
+ * <br> The diagram is canonical for the chosen order: an expression which is always {@code true}
+ * or always {@code false} becomes a terminal and calls no predicates at all, see {@link #isTautology()}
+ * and {@link #isContradiction()}, and two expressions are equivalent if and only if their diagrams
+ * built over the same order are the same, see {@link LazyLogicalExpression#isEquivalentTo(LazyLogicalExpression)}.
+ * <br> Predicates are identified by reference, the same method reference created twice is two different
+ * predicates. <b>Predicates are assumed to be free of side effects</b>.
+ * <br> The size of a diagram depends on the order of the predicates and may be exponential in their number
+ * for some expressions; building a diagram larger than {@value #MAX_NODES} nodes fails.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#decisionDiagram()
+ * @since 0.10.0
+ */
+public final class BinaryDecisionDiagram implements NoArgsPredicate {
+
+    /**
+     * The maximal number of nodes created while a diagram is built.
+     */
+    public static final int MAX_NODES = 1 << 21;
+
+    private static final int FALSE = 0;
+    private static final int TRUE = 1;
+
+    private final NoArgsPredicate[] predicates;
+    private final int[] variables;
+    private final int[] lows;
+    private final int[] highs;
+    private final int root;
+
+    private BinaryDecisionDiagram(NoArgsPredicate[] predicates, int[] variables, int[] lows, int[] highs, int root) {
+        this.predicates = predicates;
+        this.variables = variables;
+        this.lows = lows;
+        this.highs = highs;
+        this.root = root;
+    }
+
+    static BinaryDecisionDiagram of(ExpressionNode tree) {
+        Objects.requireNonNull(tree);
+
+        Builder builder = new Builder();
+        builder.collectVariables(tree);
+        return builder.toDiagram(builder.build(tree));
+    }
+
+    static boolean equivalent(ExpressionNode first, ExpressionNode second) {
+        Objects.requireNonNull(first);
+        Objects.requireNonNull(second);
+
+        Builder builder = new Builder();
+        builder.collectVariables(first);
+        builder.collectVariables(second);
+        return builder.build(first) == builder.build(second);
+    }
+
+    /**
+     * Calculates the result of the expression by following the path selected by its predicates.
+     *
+     * @return the logical result of the expression
+     */
+    public boolean result() {
+        int node = root;
+        while (node > TRUE) {
+            node = predicates[variables[node]].test() ? highs[node] : lows[node];
+        }
+        return node == TRUE;
+    }
+
+    /**
+     * Same as {@link #result()}.
+     */
+    @Override
+    public boolean test() {
+        return result();
+    }
+
+    /**
+     * @return {@code true} if the expression is {@code true} whatever its predicates return
+     */
+    public boolean isTautology() {
+        return root == TRUE;
+    }
+
+    /**
+     * @return {@code true} if the expression is {@code false} whatever its predicates return
+     */
+    public boolean isContradiction() {
+        return root == FALSE;
+    }
+
+    /**
+     * @return the number of nodes of the diagram, including the terminals
+     */
+    public int size() {
+        return variables.length;
+    }
+
+    /**
+     * @return the predicates the diagram depends on, in the order they are tested
+     */
+    public List<NoArgsPredicate> predicates() {
+        List<NoArgsPredicate> used = new ArrayList<>();
+        boolean[] seen = new boolean[predicates.length];
+        for (int node = TRUE + 1; node < variables.length; node++) {
+            seen[variables[node]] = true;
+        }
+        for (int i = 0; i < predicates.length; i++) {
+            if (seen[i]) {
+                used.add(predicates[i]);
+            }
+        }
+        return Collections.unmodifiableList(used);
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryDecisionDiagram[nodes=" + size() + ", predicates=" + predicates().size() + "]";
+    }
+
+    /**
+     * Builds shared diagrams of several trees with a unique table and memoized apply operations.
+     * Nodes {@code 0} and {@code 1} are the terminals, the variable of a terminal is greater than any other.
+     */
+    private static final class Builder {
+
+        private static final int AND = 0;
+        private static final int OR = 1;
+        private static final int XOR = 2;
+
+        private final Map<ExpressionNode, Integer> variableIndexes = new LinkedHashMap<>();
+        private final Map<Long, Integer> unique = new HashMap<>();
+        private final List<Map<Long, Integer>> computed = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+        private int[] variables = new int[64];
+        private int[] lows = new int[64];
+        private int[] highs = new int[64];
+        private int size;
+
+        Builder() {
+            variables[FALSE] = Integer.MAX_VALUE;
+            variables[TRUE] = Integer.MAX_VALUE;
+            size = 2;
+        }
+
+        /**
+         * Assigns indexes to the leaves of the tree in the order of their first occurrence.
+         */
+        void collectVariables(ExpressionNode tree) {
+            if (tree instanceof ExpressionNode.Leaf) {
+                variableIndexes.putIfAbsent(tree, variableIndexes.size());
+            } else if (tree instanceof ExpressionNode.Not) {
+                collectVariables(((ExpressionNode.Not) tree).operand);
+            } else if (tree instanceof ExpressionNode.Junction) {
+                ExpressionNode.Junction junction = (ExpressionNode.Junction) tree;
+                for (int i = 0; i < junction.size; i++) {
+                    collectVariables(junction.operands[i]);
+                }
+            } else if (!(tree instanceof ExpressionNode.Const)) {
+                throw ExpressionNode.unsupported(tree);
+            }
+        }
+
+        int build(ExpressionNode tree) {
+            if (tree instanceof ExpressionNode.Const) {
+                return ((ExpressionNode.Const) tree).value ? TRUE : FALSE;
+            }
+            if (tree instanceof ExpressionNode.Not) {
+                return apply(XOR, build(((ExpressionNode.Not) tree).operand), TRUE);
+            }
+            if (tree instanceof ExpressionNode.Junction) {
+                ExpressionNode.Junction junction = (ExpressionNode.Junction) tree;
+                int operator = junction instanceof ExpressionNode.And ? AND
+                        : junction instanceof ExpressionNode.Or ? OR
+                        : XOR;
+                int result = operator == AND ? TRUE : FALSE;
+                // the operands are combined from the last one, whose variables come last in the order,
+                // so that each step only puts the diagram of one operand on top of the result
+                for (int i = junction.size - 1; i >= 0; i--) {
+                    result = apply(operator, build(junction.operands[i]), result);
+                }
+                return result;
+            }
+            if (!(tree instanceof ExpressionNode.Leaf)) {
+                throw ExpressionNode.unsupported(tree);
+            }
+            return node(variableIndexes.get(tree), FALSE, TRUE);
+        }
+
+        private int apply(int operator, int left, int right) {
+            Integer terminal = terminalCase(operator, left, right);
+            if (terminal != null) {
+                return terminal;
+            }
+            if (left > right) {
+                // all operators are commutative, so only one order of operands is memoized
+                int swap = left;
+                left = right;
+                right = swap;
+            }
+            long key = ((long) left << 32) | right;
+            Integer cached = computed.get(operator).get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            int variable = Math.min(variables[left], variables[right]);
+            int leftLow = variables[left] == variable ? lows[left] : left;
+            int leftHigh = variables[left] == variable ? highs[left] : left;
+            int rightLow = variables[right] == variable ? lows[right] : right;
+            int rightHigh = variables[right] == variable ? highs[right] : right;
+            int result = node(variable, apply(operator, leftLow, rightLow), apply(operator, leftHigh, rightHigh));
+            computed.get(operator).put(key, result);
+            return result;
+        }
+
+        private static Integer terminalCase(int operator, int left, int right) {
+            switch (operator) {
+                case AND:
+                    if (left == FALSE || right == FALSE) {
+                        return FALSE;
+                    }
+                    if (left == TRUE || left == right) {
+                        return right;
+                    }
+                    return right == TRUE ? left : null;
+                case OR:
+                    if (left == TRUE || right == TRUE) {
+                        return TRUE;
+                    }
+                    if (left == FALSE || left == right) {
+                        return right;
+                    }
+                    return right == FALSE ? left : null;
+                default:
+                    if (left == right) {
+                        return FALSE;
+                    }
+                    if (left == FALSE) {
+                        return right;
+                    }
+                    if (right == FALSE) {
+                        return left;
+                    }
+                    return left <= TRUE && right <= TRUE ? TRUE : null;
+            }
+        }
+
+        /**
+         * @return the only node with the given variable and successors, or the successor if both are the same
+         */
+        private int node(int variable, int low, int high) {
+            if (low == high) {
+                return low;
+            }
+            long key = ((long) variable << 42) | ((long) low << 21) | high;
+            Integer existing = unique.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (size == MAX_NODES) {
+                throw new IllegalStateException("Decision diagram has more than " + MAX_NODES + " nodes");
+            }
+            if (size == variables.length) {
+                int capacity = Math.min(size * 2, MAX_NODES);
+                variables = Arrays.copyOf(variables, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                highs = Arrays.copyOf(highs, capacity);
+            }
+            variables[size] = variable;
+            lows[size] = low;
+            highs[size] = high;
+            unique.put(key, size);
+            return size++;
+        }
+
+        /**
+         * Copies the nodes reachable from the root, so that the diagram does not keep
+         * the intermediate results of the build.
+         */
+        BinaryDecisionDiagram toDiagram(int root) {
+            NoArgsPredicate[] predicates = new NoArgsPredicate[variableIndexes.size()];
+            variableIndexes.forEach((leaf, index) -> predicates[index] = ((ExpressionNode.Leaf) leaf).predicate);
+
+            int[] renumbered = new int[size];
+            Arrays.fill(renumbered, -1);
+            renumbered[FALSE] = FALSE;
+            renumbered[TRUE] = TRUE;
+            int[] order = new int[size];
+            int count = TRUE + 1;
+            int[] stack = new int[size];
+            int top = 0;
+            if (root > TRUE) {
+                renumbered[root] = count;
+                order[count++] = root;
+                stack[top++] = root;
+            }
+            while (top > 0) {
+                int node = stack[--top];
+                if (renumbered[lows[node]] < 0) {
+                    renumbered[lows[node]] = count;
+                    order[count++] = lows[node];
+                    stack[top++] = lows[node];
+                }
+                if (renumbered[highs[node]] < 0) {
+                    renumbered[highs[node]] = count;
+                    order[count++] = highs[node];
+                    stack[top++] = highs[node];
+                }
+            }
+
+            int[] newVariables = new int[count];
+            int[] newLows = new int[count];
+            int[] newHighs = new int[count];
+            newVariables[FALSE] = Integer.MAX_VALUE;
+            newVariables[TRUE] = Integer.MAX_VALUE;
+            for (int i = TRUE + 1; i < count; i++) {
+                int node = order[i];
+                newVariables[i] = variables[node];
+                newLows[i] = renumbered[lows[node]];
+                newHighs[i] = renumbered[highs[node]];
+            }
+            return new BinaryDecisionDiagram(predicates, newVariables, newLows, newHighs, renumbered[root]);
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * Word-wise operations over the {@code long[]} bitmaps of {@link BooleanColumn}.
+ * <br> All arrays passed to one call have the same length, the output array may be one of the inputs.
+ *
+ * @author EvseevDA
+ * @since 0.10.0
+ */
+abstract class BitmapKernel {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.github.evseevda.utils.logic.VectorBitmapKernel";
+
+    /**
+     * The fastest kernel available in the current runtime: the SIMD one if the library was built with it
+     * and the application was started with {@code --add-modules jdk.incubator.vector}, the scalar one otherwise.
+     */
+    static final BitmapKernel INSTANCE = load();
+
+    private static BitmapKernel load() {
+        BitmapKernel vector = vector();
+        return vector != null ? vector : new ScalarBitmapKernel();
+    }
+
+    /**
+     * The SIMD kernel is compiled separately, only by the {@code vector} profile of the build, and is loaded
+     * reflectively, so that neither this class nor the default build links the incubating module.
+     *
+     * @return the SIMD kernel, or {@code null} if it is not in the library or the module is not in the boot layer
+     */
+    static BitmapKernel vector() {
+        if (!ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            return null;
+        }
+        try {
+            return (BitmapKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // the kernel is not built in or cannot be used, the scalar kernel is always correct
+            return null;
+        }
+    }
+
+    abstract void and(long[] left, long[] right, long[] out);
+
+    abstract void or(long[] left, long[] right, long[] out);
+
+    abstract void xor(long[] left, long[] right, long[] out);
+
+    abstract void andNot(long[] left, long[] right, long[] out);
+
+    abstract void not(long[] words, long[] out);
+
+    /**
+     * @return the index of the first non-zero word at or after {@code from}, or {@code -1} if there is none
+     */
+    abstract int nextNonZeroWord(long[] words, int from);
+
+    /**
+     * @return the number of set bits in the words
+     */
+    long cardinality(long[] words) {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+}
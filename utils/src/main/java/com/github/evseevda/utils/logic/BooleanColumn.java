@@ -0,0 +1,295 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A column of booleans packed into a bitmap, 64 values per {@code long}.
+ * <br> This is the bulk counterpart of {@link EagerLogicalExpression}: instead of one precomputed condition,
+ * each operation combines whole columns of them, for example a feature evaluated for every record of a data set.
+ * <blockquote>
+ * <pre>
+ *      {@code BooleanColumn.allOf(isActive, hasOrders).andNot(isLocked).cardinality()}
+ *     </pre>
+ * </blockquote>
+ * is equals to the number of indexes {@code i} for which
+ * <blockquote><pre>
+ *      {@code isActive[i] && hasOrders[i] && !isLocked[i]}
+ * </pre></blockquote>
+ * <br> If the library is built with the {@code vector} profile and the application is started with
+ * {@code --add-modules jdk.incubator.vector}, the words are combined with SIMD instructions of the CPU,
+ * otherwise with scalar code.
+ * <br> Instances of this class are immutable, every combining method returns a new column.
+ *
+ * @author EvseevDA
+ * @see EagerLogicalExpression
+ * @since 0.10.0
+ */
+public final class BooleanColumn {
+
+    private static final BitmapKernel KERNEL = BitmapKernel.INSTANCE;
+
+    private final long[] words;
+    private final int size;
+
+    private BooleanColumn(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Creates a column of the given values.
+     *
+     * @param values the values of the column
+     * @return a new column
+     */
+    public static BooleanColumn of(boolean... values) {
+        Objects.requireNonNull(values);
+
+        long[] words = new long[wordCount(values.length)];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i]) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+        return new BooleanColumn(words, values.length);
+    }
+
+    /**
+     * Creates a column of the given size in which the value at index {@code i} is {@code bits.get(i)}.
+     *
+     * @param bits the set bits of the column, bits at or after {@code size} are ignored
+     * @param size the size of the column
+     * @return a new column
+     */
+    public static BooleanColumn of(BitSet bits, int size) {
+        Objects.requireNonNull(bits);
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        long[] words = Arrays.copyOf(bits.toLongArray(), wordCount(size));
+        clearTail(words, size);
+        return new BooleanColumn(words, size);
+    }
+
+    /**
+     * Aggregates all passed columns with logical AND.
+     *
+     * @param first  the first column
+     * @param others the other columns, of the same size as the first one
+     * @return a new column
+     * @throws IllegalArgumentException if the columns have different sizes
+     */
+    public static BooleanColumn allOf(BooleanColumn first, BooleanColumn... others) {
+        Objects.requireNonNull(first);
+        Objects.requireNonNull(others);
+
+        long[] words = first.words.clone();
+        for (BooleanColumn other : others) {
+            KERNEL.and(words, first.sameSize(other).words, words);
+        }
+        return new BooleanColumn(words, first.size);
+    }
+
+    /**
+     * Aggregates all passed columns with logical OR.
+     *
+     * @param first  the first column
+     * @param others the other columns, of the same size as the first one
+     * @return a new column
+     * @throws IllegalArgumentException if the columns have different sizes
+     */
+    public static BooleanColumn anyOf(BooleanColumn first, BooleanColumn... others) {
+        Objects.requireNonNull(first);
+        Objects.requireNonNull(others);
+
+        long[] words = first.words.clone();
+        for (BooleanColumn other : others) {
+            KERNEL.or(words, first.sameSize(other).words, words);
+        }
+        return new BooleanColumn(words, first.size);
+    }
+
+    /**
+     * Combines the current column with the passed one using logical AND.
+     *
+     * @param column of the same size as the current one
+     * @return a new column
+     * @throws IllegalArgumentException if the columns have different sizes
+     */
+    public BooleanColumn and(BooleanColumn column) {
+        long[] words = new long[this.words.length];
+        KERNEL.and(this.words, sameSize(column).words, words);
+        return new BooleanColumn(words, size);
+    }
+
+    /**
+     * Combines the current column with the passed one using logical OR.
+     *
+     * @param column of the same size as the current one
+     * @return a new column
+     * @throws IllegalArgumentException if the columns have different sizes
+     */
+    public BooleanColumn or(BooleanColumn column) {
+        long[] words = new long[this.words.length];
+        KERNEL.or(this.words, sameSize(column).words, words);
+        return new BooleanColumn(words, size);
+    }
+
+    /**
+     * Combines the current column with the passed one using XOR.
+     *
+     * @param column of the same size as the current one
+     * @return a new column
+     * @throws IllegalArgumentException if the columns have different sizes
+     */
+    public BooleanColumn xor(BooleanColumn column) {
+        long[] words = new long[this.words.length];
+        KERNEL.xor(this.words, sameSize(column).words, words);
+        return new BooleanColumn(words, size);
+    }
+
+    /**
+     * Combines the current column with the negation of the passed one using logical AND,
+     * in one pass instead of two.
+     *
+     * @param column of the same size as the current one
+     * @return a new column
+     * @throws IllegalArgumentException if the columns have different sizes
+     */
+    public BooleanColumn andNot(BooleanColumn column) {
+        long[] words = new long[this.words.length];
+        KERNEL.andNot(this.words, sameSize(column).words, words);
+        return new BooleanColumn(words, size);
+    }
+
+    /**
+     * Applies logical NOT to every value of the column.
+     *
+     * @return a new column
+     */
+    public BooleanColumn not() {
+        long[] words = new long[this.words.length];
+        KERNEL.not(this.words, words);
+        clearTail(words, size);
+        return new BooleanColumn(words, size);
+    }
+
+    /**
+     * @return the number of values in the column
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index the index of the value
+     * @return the value at the given index
+     * @throws IndexOutOfBoundsException if the index is out of the column
+     */
+    public boolean get(int index) {
+        Objects.checkIndex(index, size);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return the number of {@code true} values in the column
+     */
+    public long cardinality() {
+        return KERNEL.cardinality(words);
+    }
+
+    /**
+     * @return the index of the first {@code true} value, or {@code -1} if there is none
+     */
+    public int firstSetBit() {
+        return nextSetBit(0);
+    }
+
+    /**
+     * @param fromIndex the index to start the search from, inclusive
+     * @return the index of the first {@code true} value at or after {@code fromIndex}, or {@code -1} if there is none
+     */
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        }
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int wordIndex = fromIndex >>> 6;
+        long word = words[wordIndex] & (-1L << fromIndex);
+        if (word == 0) {
+            wordIndex = KERNEL.nextNonZeroWord(words, wordIndex + 1);
+            if (wordIndex < 0) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @return a new bit set in which bit {@code i} is set if the value at index {@code i} is {@code true}
+     */
+    public BitSet toBitSet() {
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * @return a new array of the values of the column
+     */
+    public boolean[] toArray() {
+        boolean[] values = new boolean[size];
+        for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            values[i] = true;
+        }
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BooleanColumn)) {
+            return false;
+        }
+        BooleanColumn column = (BooleanColumn) other;
+        return size == column.size && Arrays.equals(words, column.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "BooleanColumn[size=" + size + ", " + toBitSet() + "]";
+    }
+
+    private BooleanColumn sameSize(BooleanColumn column) {
+        Objects.requireNonNull(column);
+        if (column.size != size) {
+            throw new IllegalArgumentException("Columns have different sizes: " + size + " and " + column.size);
+        }
+        return column;
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /**
+     * Clears the bits after the last value, so that equal columns have equal words.
+     */
+    private static void clearTail(long[] words, int size) {
+        if (size % 64 != 0) {
+            words[words.length - 1] &= -1L >>> (64 - size % 64);
+        }
+    }
+
+}
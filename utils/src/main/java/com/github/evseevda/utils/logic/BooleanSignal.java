@@ -0,0 +1,77 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A predicate whose result is set from outside and which notifies the reactive expressions using it
+ * when the result changes.
+ * <blockquote>
+ * <pre>
+ *      {@code BooleanSignal maintenance = BooleanSignal.of(false);}
+ *      {@code ReactiveExpression admission = expr(not(maintenance)).and(capacityAvailable).reactive();}
+ *      {@code ...}
+ *      {@code maintenance.set(true); // admission flips to false and its subscribers are notified}
+ *     </pre>
+ * </blockquote>
+ * A signal can be used in any expression, non-reactive expressions simply read its current result.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#reactive()
+ * @since 0.10.0
+ */
+public final class BooleanSignal implements NoArgsPredicate {
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean value;
+
+    private BooleanSignal(boolean value) {
+        this.value = value;
+    }
+
+    /**
+     * @param value the initial result of the signal
+     * @return a new signal
+     */
+    public static BooleanSignal of(boolean value) {
+        return new BooleanSignal(value);
+    }
+
+    /**
+     * Changes the result of the signal. If it differs from the current one,
+     * the reactive expressions using the signal are updated before this method returns.
+     *
+     * @param value the new result of the signal
+     */
+    public void set(boolean value) {
+        if (this.value == value) {
+            return;
+        }
+        this.value = value;
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @return the current result of the signal
+     */
+    @Override
+    public boolean test() {
+        return value;
+    }
+
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public String toString() {
+        return "signal(" + value + ")";
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A predicate which remembers the result of its target for a fixed time.
+ * <br> Expiration is driven by a shared timer thread which marks a remembered result as expired,
+ * so reading a fresh result does not query the clock and costs two dependent volatile reads.
+ * <br> When a result expires, the next call either recalculates it synchronously or, in refresh-ahead mode,
+ * returns the expired result and recalculates it asynchronously. If the asynchronous recalculation fails,
+ * or the executor rejects it, the expired result keeps being served and the next call tries again.
+ *
+ * @author EvseevDA
+ * @see NoArgsPredicate#cached(NoArgsPredicate, java.time.Duration)
+ * @see NoArgsPredicate#refreshAhead(NoArgsPredicate, java.time.Duration)
+ * @since 0.10.0
+ */
+final class CachingPredicate implements NoArgsPredicate {
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final NoArgsPredicate target;
+    private final long ttlNanos;
+    private final Executor refreshExecutor;
+    private volatile Entry entry;
+
+    /**
+     * @param refreshExecutor executor for asynchronous recalculations, {@code null} to recalculate synchronously
+     */
+    CachingPredicate(NoArgsPredicate target, long ttlNanos, Executor refreshExecutor) {
+        this.target = Objects.requireNonNull(target);
+        this.ttlNanos = ttlNanos;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public boolean test() {
+        Entry entry = this.entry;
+        if (entry == null) {
+            return load();
+        }
+        if (entry.expired) {
+            if (refreshExecutor == null) {
+                return load();
+            }
+            if (entry.refreshing.compareAndSet(false, true)) {
+                refreshAsync(entry);
+            }
+        }
+        return entry.value;
+    }
+
+    /**
+     * @return the remembered result if it has not expired, otherwise {@code null}
+     */
+    Boolean freshResult() {
+        Entry entry = this.entry;
+        return entry == null || entry.expired ? null : entry.value;
+    }
+
+    private synchronized boolean load() {
+        Entry entry = this.entry;
+        if (entry != null && !entry.expired) {
+            return entry.value;
+        }
+        return store(target.test());
+    }
+
+    private void refreshAsync(Entry stale) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    store(target.test());
+                } finally {
+                    stale.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the executor is saturated or shut down: the stale result is served and the next call tries again
+            stale.refreshing.set(false);
+        } catch (RuntimeException e) {
+            stale.refreshing.set(false);
+            throw e;
+        }
+    }
+
+    private boolean store(boolean value) {
+        Entry entry = new Entry(value);
+        this.entry = entry;
+        TIMER.schedule(entry::expire, ttlNanos, TimeUnit.NANOSECONDS);
+        return value;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "no-args-predicate-cache-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static final class Entry {
+
+        private final boolean value;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile boolean expired;
+
+        private Entry(boolean value) {
+            this.value = value;
+        }
+
+        private void expire() {
+            expired = true;
+        }
+
+    }
+
+}
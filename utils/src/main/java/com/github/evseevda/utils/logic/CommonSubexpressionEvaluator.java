@@ -0,0 +1,173 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Evaluates a tree in which some leaves or subtrees occur more than once, calculating each of them
+ * at most once per evaluation.
+ * <br> Every repeated node gets a slot. The first time a repeated node is reached during an evaluation,
+ * its result is stored in the slot, and later occurrences read it from there. The slots of a thread are
+ * allocated once and reused between evaluations, see {@link EvaluationSlots}.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#eliminateCommonSubexpressions()
+ * @since 0.10.0
+ */
+final class CommonSubexpressionEvaluator implements NoArgsPredicate {
+
+    private final Node root;
+    private final int slotCount;
+    private final ThreadLocal<EvaluationSlots> slots;
+
+    CommonSubexpressionEvaluator(ExpressionNode tree) {
+        Map<ExpressionNode, Integer> occurrences = new HashMap<>();
+        countOccurrences(tree, occurrences);
+        int[] slotCounter = new int[1];
+        this.root = build(tree, occurrences, new HashMap<>(), slotCounter);
+        this.slotCount = slotCounter[0];
+        this.slots = ThreadLocal.withInitial(() -> new EvaluationSlots(slotCount));
+    }
+
+    private static void countOccurrences(ExpressionNode node, Map<ExpressionNode, Integer> occurrences) {
+        if (occurrences.merge(node, 1, Integer::sum) > 1) {
+            // the operands of a repeated subtree are calculated once together with it
+            return;
+        }
+        if (node instanceof ExpressionNode.Not) {
+            countOccurrences(((ExpressionNode.Not) node).operand, occurrences);
+        } else if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            for (int i = 0; i < junction.size; i++) {
+                countOccurrences(junction.operands[i], occurrences);
+            }
+        }
+    }
+
+    private static Node build(ExpressionNode node, Map<ExpressionNode, Integer> occurrences,
+                              Map<ExpressionNode, Node> built, int[] slotCounter) {
+        Node existing = built.get(node);
+        if (existing != null) {
+            return existing;
+        }
+        boolean repeated = occurrences.get(node) > 1 && !(node instanceof ExpressionNode.Const);
+        int slot = repeated ? slotCounter[0]++ : -1;
+
+        Node result;
+        if (node instanceof ExpressionNode.Not) {
+            result = new Not(slot, build(((ExpressionNode.Not) node).operand, occurrences, built, slotCounter));
+        } else if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            Node[] operands = new Node[junction.size];
+            for (int i = 0; i < operands.length; i++) {
+                operands[i] = build(junction.operands[i], occurrences, built, slotCounter);
+            }
+            result = new Junction(slot, junction, operands);
+        } else {
+            result = new Leaf(slot, node);
+        }
+        built.put(node, result);
+        return result;
+    }
+
+    @Override
+    public boolean test() {
+        EvaluationSlots slots = this.slots.get();
+        if (slots.busy) {
+            return root.evaluate(new EvaluationSlots(slotCount).start());
+        }
+        slots.busy = true;
+        try {
+            return root.evaluate(slots.start());
+        } finally {
+            slots.busy = false;
+        }
+    }
+
+    private abstract static class Node {
+
+        private final int slot;
+
+        Node(int slot) {
+            this.slot = slot;
+        }
+
+        final boolean evaluate(EvaluationSlots slots) {
+            if (slot < 0) {
+                return compute(slots);
+            }
+            if (slots.isSet(slot)) {
+                return slots.get(slot);
+            }
+            return slots.set(slot, compute(slots));
+        }
+
+        abstract boolean compute(EvaluationSlots slots);
+
+    }
+
+    private static final class Leaf extends Node {
+
+        private final ExpressionNode node;
+
+        Leaf(int slot, ExpressionNode node) {
+            super(slot);
+            this.node = node;
+        }
+
+        @Override
+        boolean compute(EvaluationSlots slots) {
+            return node.evaluate();
+        }
+
+    }
+
+    private static final class Not extends Node {
+
+        private final Node operand;
+
+        Not(int slot, Node operand) {
+            super(slot);
+            this.operand = operand;
+        }
+
+        @Override
+        boolean compute(EvaluationSlots slots) {
+            return !operand.evaluate(slots);
+        }
+
+    }
+
+    private static final class Junction extends Node {
+
+        private final boolean xor;
+        private final boolean decisive;
+        private final Node[] operands;
+
+        Junction(int slot, ExpressionNode.Junction node, Node[] operands) {
+            super(slot);
+            this.xor = node instanceof ExpressionNode.Xor;
+            this.decisive = node instanceof ExpressionNode.Or;
+            this.operands = operands;
+        }
+
+        @Override
+        boolean compute(EvaluationSlots slots) {
+            if (xor) {
+                boolean result = false;
+                for (Node operand : operands) {
+                    result ^= operand.evaluate(slots);
+                }
+                return result;
+            }
+            for (Node operand : operands) {
+                if (operand.evaluate(slots) == decisive) {
+                    return decisive;
+                }
+            }
+            return !decisive;
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * Defines how {@link LazyLogicalExpression#compile(CompilationStrategy)} turns an expression into a predicate.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#compile(CompilationStrategy)
+ * @since 0.10.0
+ */
+public enum CompilationStrategy {
+
+    /**
+     * Generates a dedicated hidden class with straight-line bytecode for the expression.
+     * <br> Gives the fastest evaluation, but every compiled expression costs a class definition.
+     * An expression too large for a single method is left to the interpreter, see
+     * {@link LazyLogicalExpression#compile()}.
+     */
+    HIDDEN_CLASS,
+
+    /**
+     * Combines the predicates of the expression into a single {@link java.lang.invoke.MethodHandle}.
+     * <br> Cheaper to build than {@link #HIDDEN_CLASS} and does not generate classes.
+     * The handle is fully folded by the JIT only when it is a constant,
+     * see {@link LazyLogicalExpression#toMethodHandle()}.
+     */
+    METHOD_HANDLE
+
+}
@@ -0,0 +1,133 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * Evaluates a tree within a time budget.
+ * <br> The deadline is checked before every predicate call: a predicate is not called once the budget is spent,
+ * the evaluation fails instead. Predicates with a timeout get the remaining budget as their timeout
+ * and apply their fallback when it is spent, so they bound the evaluation even when their target blocks.
+ * Other predicates cannot be interrupted and may overrun the budget.
+ * <br> When less than a quarter of the budget is left, an AND or OR node first looks among its remaining
+ * operands for one whose result is already known: a constant or a memoized or cached predicate holding
+ * a fresh result. If such an operand decides the node, the slow operands before it are not called at all.
+ * The search does not look past operands marked with {@link NoArgsPredicate#orderSensitive(NoArgsPredicate)}.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#result(java.time.Duration)
+ * @since 0.10.0
+ */
+final class DeadlineEvaluator {
+
+    private static final ThreadLocal<DeadlineEvaluator> CURRENT = new ThreadLocal<>();
+    private static final int UNKNOWN = -1;
+    private static final int UNKNOWN_ORDER_SENSITIVE = -2;
+
+    private final long deadline;
+    private final long pressureStart;
+
+    private DeadlineEvaluator(long start, long budgetNanos) {
+        this.deadline = start + budgetNanos;
+        this.pressureStart = deadline - budgetNanos / 4;
+    }
+
+    static boolean evaluate(ExpressionNode root, long budgetNanos) {
+        DeadlineEvaluator outer = CURRENT.get();
+        DeadlineEvaluator evaluator = new DeadlineEvaluator(System.nanoTime(), budgetNanos);
+        if (outer != null && outer.deadline - evaluator.deadline < 0) {
+            // a nested evaluation cannot outlive the enclosing one
+            evaluator = outer;
+        }
+        CURRENT.set(evaluator);
+        try {
+            return evaluator.evaluate(root);
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    /**
+     * @return the budget left to the evaluation running in the current thread,
+     * or {@link Long#MAX_VALUE} if there is none
+     */
+    static long remainingNanos() {
+        DeadlineEvaluator evaluator = CURRENT.get();
+        return evaluator == null ? Long.MAX_VALUE : evaluator.deadline - System.nanoTime();
+    }
+
+    private boolean evaluate(ExpressionNode node) {
+        if (node instanceof ExpressionNode.Leaf) {
+            NoArgsPredicate predicate = ((ExpressionNode.Leaf) node).predicate;
+            if (!(predicate instanceof TimeoutPredicate) && deadline - System.nanoTime() <= 0) {
+                throw new EvaluationTimeoutException("The budget of the expression is spent before " + predicate);
+            }
+            return predicate.test();
+        }
+        if (node instanceof ExpressionNode.Not) {
+            return !evaluate(((ExpressionNode.Not) node).operand);
+        }
+        if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            if (junction instanceof ExpressionNode.Xor) {
+                boolean result = false;
+                for (int i = 0; i < junction.size; i++) {
+                    result ^= evaluate(junction.operands[i]);
+                }
+                return result;
+            }
+            boolean decisive = junction instanceof ExpressionNode.Or;
+            for (int i = 0; i < junction.size; i++) {
+                if (pressureStart - System.nanoTime() <= 0 && knownToDecide(junction, i, decisive)) {
+                    return decisive;
+                }
+                if (evaluate(junction.operands[i]) == decisive) {
+                    return decisive;
+                }
+            }
+            return !decisive;
+        }
+        return node.evaluate();
+    }
+
+    private static boolean knownToDecide(ExpressionNode.Junction junction, int from, boolean decisive) {
+        for (int i = from; i < junction.size; i++) {
+            int known = known(junction.operands[i]);
+            if (known == UNKNOWN_ORDER_SENSITIVE) {
+                return false;
+            }
+            if (known == (decisive ? 1 : 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code 1} or {@code 0} if the result of the node is known without calling a predicate,
+     * otherwise {@link #UNKNOWN} or {@link #UNKNOWN_ORDER_SENSITIVE}
+     */
+    private static int known(ExpressionNode node) {
+        if (node instanceof ExpressionNode.Const) {
+            return ((ExpressionNode.Const) node).value ? 1 : 0;
+        }
+        if (node instanceof ExpressionNode.Not) {
+            int known = known(((ExpressionNode.Not) node).operand);
+            return known < 0 ? known : 1 - known;
+        }
+        if (node instanceof ExpressionNode.Leaf) {
+            NoArgsPredicate predicate = ((ExpressionNode.Leaf) node).predicate;
+            if (predicate instanceof OrderSensitivePredicate) {
+                return UNKNOWN_ORDER_SENSITIVE;
+            }
+            Boolean result = predicate instanceof MemoizingPredicate ? ((MemoizingPredicate) predicate).knownResult()
+                    : predicate instanceof CachingPredicate ? ((CachingPredicate) predicate).freshResult()
+                    : null;
+            return result == null ? UNKNOWN : result ? 1 : 0;
+        }
+        // larger subtrees are not inspected, an order sensitive predicate may hide in them
+        return UNKNOWN_ORDER_SENSITIVE;
+    }
+
+}
@@ -9,23 +9,28 @@ import java.util.Objects;
  * with English equivalents.
  * It is assumed that in this case the code will acquire a more human-friendly appearance,
  * which will increase its readability.
+ * <br> Instances of this class are immutable: there are only two of them, for {@code true} and {@code false},
+ * and every method returns one of them, so building an expression does not allocate.
  *
  * @author EvseevDA
  * @see LazyLogicalExpression
+ * @see BooleanColumn
  * @see EagerLogicalExpressionUsageExamples
  * @since 0.9.0
  */
 public class EagerLogicalExpression {
 
-    private boolean expressionResult;
+    private static final EagerLogicalExpression TRUE = new EagerLogicalExpression(true);
+    private static final EagerLogicalExpression FALSE = new EagerLogicalExpression(false);
+
+    private final boolean expressionResult;
 
     private EagerLogicalExpression(boolean root) {
         this.expressionResult = root;
     }
 
-    private EagerLogicalExpression(EagerLogicalExpression root) {
-        Objects.requireNonNull(root);
-        this.expressionResult = root.expressionResult;
+    private static EagerLogicalExpression valueOf(boolean result) {
+        return result ? TRUE : FALSE;
     }
 
     /**
@@ -62,7 +67,7 @@ public class EagerLogicalExpression {
      * basis for constructing the subsequent chain of expressions
      */
     public static EagerLogicalExpression expr(boolean root) {
-        return new EagerLogicalExpression(root);
+        return valueOf(root);
     }
 
     /**
@@ -85,7 +90,7 @@ public class EagerLogicalExpression {
      */
     public static EagerLogicalExpression expr(EagerLogicalExpression root) {
         Objects.requireNonNull(root);
-        return new EagerLogicalExpression(root);
+        return root;
     }
 
     /**
@@ -110,11 +115,51 @@ public class EagerLogicalExpression {
     public static EagerLogicalExpression allOf(boolean... expressions) {
         Objects.requireNonNull(expressions);
 
-        EagerLogicalExpression logicalExpression = new EagerLogicalExpression(true);
         for (boolean expression : expressions) {
-            logicalExpression.expressionResult &= expression;
+            if (!expression) {
+                return FALSE;
+            }
         }
-        return logicalExpression;
+        return TRUE;
+    }
+
+    /**
+     * Same as {@link #allOf(boolean...)}, but does not allocate a varargs array.
+     *
+     * @param first  the first expression
+     * @param second the second expression
+     * @return an EagerLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     */
+    public static EagerLogicalExpression allOf(boolean first, boolean second) {
+        return valueOf(first && second);
+    }
+
+    /**
+     * Same as {@link #allOf(boolean...)}, but does not allocate a varargs array.
+     *
+     * @param first  the first expression
+     * @param second the second expression
+     * @param third  the third expression
+     * @return an EagerLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     */
+    public static EagerLogicalExpression allOf(boolean first, boolean second, boolean third) {
+        return valueOf(first && second && third);
+    }
+
+    /**
+     * Same as {@link #allOf(boolean...)}, but does not allocate a varargs array.
+     *
+     * @param first  the first expression
+     * @param second the second expression
+     * @param third  the third expression
+     * @param fourth the fourth expression
+     * @return an EagerLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     */
+    public static EagerLogicalExpression allOf(boolean first, boolean second, boolean third, boolean fourth) {
+        return valueOf(first && second && third && fourth);
     }
 
     /**
@@ -139,11 +184,51 @@ public class EagerLogicalExpression {
     public static EagerLogicalExpression anyOf(boolean... expressions) {
         Objects.requireNonNull(expressions);
 
-        EagerLogicalExpression logicalExpression = new EagerLogicalExpression(false);
         for (boolean expression : expressions) {
-            logicalExpression.expressionResult |= expression;
+            if (expression) {
+                return TRUE;
+            }
         }
-        return logicalExpression;
+        return FALSE;
+    }
+
+    /**
+     * Same as {@link #anyOf(boolean...)}, but does not allocate a varargs array.
+     *
+     * @param first  the first expression
+     * @param second the second expression
+     * @return an EagerLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     */
+    public static EagerLogicalExpression anyOf(boolean first, boolean second) {
+        return valueOf(first || second);
+    }
+
+    /**
+     * Same as {@link #anyOf(boolean...)}, but does not allocate a varargs array.
+     *
+     * @param first  the first expression
+     * @param second the second expression
+     * @param third  the third expression
+     * @return an EagerLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     */
+    public static EagerLogicalExpression anyOf(boolean first, boolean second, boolean third) {
+        return valueOf(first || second || third);
+    }
+
+    /**
+     * Same as {@link #anyOf(boolean...)}, but does not allocate a varargs array.
+     *
+     * @param first  the first expression
+     * @param second the second expression
+     * @param third  the third expression
+     * @param fourth the fourth expression
+     * @return an EagerLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     */
+    public static EagerLogicalExpression anyOf(boolean first, boolean second, boolean third, boolean fourth) {
+        return valueOf(first || second || third || fourth);
     }
 
     /**
@@ -155,8 +240,7 @@ public class EagerLogicalExpression {
     public EagerLogicalExpression and(EagerLogicalExpression expression) {
         Objects.requireNonNull(expression);
 
-        expressionResult &= expression.result();
-        return this;
+        return valueOf(expressionResult && expression.result());
     }
 
     /**
@@ -166,8 +250,7 @@ public class EagerLogicalExpression {
      * @return an EagerLogicalExpression object that can be used to further construct a chain of expressions.
      */
     public EagerLogicalExpression and(boolean expression) {
-        expressionResult &= expression;
-        return this;
+        return valueOf(expressionResult && expression);
     }
 
     /**
@@ -179,8 +262,7 @@ public class EagerLogicalExpression {
     public EagerLogicalExpression or(EagerLogicalExpression expression) {
         Objects.requireNonNull(expression);
 
-        expressionResult |= expression.result();
-        return this;
+        return valueOf(expressionResult || expression.result());
     }
 
     /**
@@ -190,8 +272,7 @@ public class EagerLogicalExpression {
      * @return an EagerLogicalExpression object that can be used to further construct a chain of expressions.
      */
     public EagerLogicalExpression or(boolean expression) {
-        expressionResult |= expression;
-        return this;
+        return valueOf(expressionResult || expression);
     }
 
     /**
@@ -203,8 +284,7 @@ public class EagerLogicalExpression {
     public EagerLogicalExpression xor(EagerLogicalExpression expression) {
         Objects.requireNonNull(expression);
 
-        expressionResult ^= expression.result();
-        return this;
+        return valueOf(expressionResult ^ expression.result());
     }
 
     /**
@@ -214,8 +294,7 @@ public class EagerLogicalExpression {
      * @return an EagerLogicalExpression object that can be used to further construct a chain of expressions.
      */
     public EagerLogicalExpression xor(boolean expression) {
-        expressionResult ^= expression;
-        return this;
+        return valueOf(expressionResult ^ expression);
     }
 
     /**
@@ -227,7 +306,7 @@ public class EagerLogicalExpression {
     public static EagerLogicalExpression not(EagerLogicalExpression expression) {
         Objects.requireNonNull(expression);
 
-        return expr(!expression.result());
+        return valueOf(!expression.result());
     }
 
     /**
@@ -237,7 +316,7 @@ public class EagerLogicalExpression {
      * @return an EagerLogicalExpression object that can be used to further construct a chain of expressions.
      */
     public static EagerLogicalExpression not(boolean expression) {
-        return expr(!expression);
+        return valueOf(!expression);
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.List;
+
+/**
+ * Receives the events of the evaluations of a {@link MonitoredExpression}.
+ * <br> The methods are called synchronously by the evaluating threads, often by many threads at once,
+ * so implementations must be thread-safe and cheap; {@link EvaluationMetrics} is the standard implementation.
+ * Latencies are measured only for the sampled evaluations, for the others {@link #NOT_MEASURED} is passed.
+ * <br> All methods do nothing by default.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#monitored(EvaluationListener)
+ * @since 0.10.0
+ */
+public interface EvaluationListener {
+
+    /**
+     * The latency passed for the events of not sampled evaluations.
+     */
+    long NOT_MEASURED = -1;
+
+    /**
+     * Called once, when a monitored expression is created with this listener.
+     *
+     * @param leaves the distinct predicates of the expression, the index of a predicate in this list
+     *               identifies it in {@link #onLeaf(int, boolean, long)}
+     */
+    default void onAttach(List<NoArgsPredicate> leaves) {
+    }
+
+    /**
+     * Called after each evaluation of the expression.
+     *
+     * @param result the result of the expression
+     * @param nanos  the latency of the evaluation, or {@link #NOT_MEASURED}
+     */
+    default void onEvaluation(boolean result, long nanos) {
+    }
+
+    /**
+     * Called after each call of a predicate of the expression.
+     *
+     * @param leaf   the index of the predicate
+     * @param result the result of the predicate
+     * @param nanos  the latency of the predicate, or {@link #NOT_MEASURED}
+     */
+    default void onLeaf(int leaf, boolean result, long nanos) {
+    }
+
+    /**
+     * Called when an AND or OR node is decided before its last operand.
+     *
+     * @param skippedOperands the number of operands of the node which were not evaluated
+     */
+    default void onShortCircuit(int skippedOperands) {
+    }
+
+}
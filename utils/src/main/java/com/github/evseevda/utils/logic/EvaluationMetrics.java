@@ -0,0 +1,173 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the evaluations of one monitored expression and of each of its predicates.
+ * <br> Counters are {@link LongAdder LongAdders}, so threads evaluating the expression at once
+ * do not contend on them. Latencies are recorded only for the sampled evaluations.
+ * <blockquote>
+ * <pre>
+ *      {@code EvaluationMetrics metrics = new EvaluationMetrics();}
+ *      {@code NoArgsPredicate rule = expression.monitored(metrics);}
+ *      {@code ...}
+ *      {@code metrics.leaves().get(0).trueRate()}
+ *     </pre>
+ * </blockquote>
+ * An instance can be attached to a single expression only.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#monitored(EvaluationListener)
+ * @since 0.10.0
+ */
+public final class EvaluationMetrics implements EvaluationListener {
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder trueResults = new LongAdder();
+    private final LongAdder shortCircuits = new LongAdder();
+    private final LongAdder skippedOperands = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile List<LeafMetrics> leaves;
+
+    @Override
+    public synchronized void onAttach(List<NoArgsPredicate> predicates) {
+        if (leaves != null) {
+            throw new IllegalStateException("Metrics are already attached to an expression");
+        }
+        List<LeafMetrics> leaves = new ArrayList<>(predicates.size());
+        for (NoArgsPredicate predicate : predicates) {
+            leaves.add(new LeafMetrics(predicate));
+        }
+        this.leaves = Collections.unmodifiableList(leaves);
+    }
+
+    @Override
+    public void onEvaluation(boolean result, long nanos) {
+        evaluations.increment();
+        if (result) {
+            trueResults.increment();
+        }
+        if (nanos != NOT_MEASURED) {
+            latency.record(nanos);
+        }
+    }
+
+    @Override
+    public void onLeaf(int leaf, boolean result, long nanos) {
+        leaves.get(leaf).record(result, nanos);
+    }
+
+    @Override
+    public void onShortCircuit(int skippedOperands) {
+        shortCircuits.increment();
+        this.skippedOperands.add(skippedOperands);
+    }
+
+    /**
+     * @return the number of evaluations of the expression
+     */
+    public long evaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * @return the fraction of evaluations of the expression that returned {@code true},
+     * or {@code NaN} if it was not evaluated
+     */
+    public double trueRate() {
+        return rate(trueResults.sum(), evaluations.sum());
+    }
+
+    /**
+     * @return the number of times an AND or OR node was decided before its last operand
+     */
+    public long shortCircuits() {
+        return shortCircuits.sum();
+    }
+
+    /**
+     * @return the number of operands that were not evaluated thanks to short-circuiting
+     */
+    public long skippedOperands() {
+        return skippedOperands.sum();
+    }
+
+    /**
+     * @return the latencies of the sampled evaluations of the expression
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * @return the metrics of the distinct predicates of the expression, in the order of their first occurrence,
+     * or an empty list if the metrics are not attached to an expression yet
+     */
+    public List<LeafMetrics> leaves() {
+        List<LeafMetrics> leaves = this.leaves;
+        return leaves == null ? List.of() : leaves;
+    }
+
+    private static double rate(long part, long total) {
+        return total == 0 ? Double.NaN : (double) part / total;
+    }
+
+    /**
+     * The metrics of one predicate of a monitored expression.
+     */
+    public static final class LeafMetrics {
+
+        private final NoArgsPredicate predicate;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder trueResults = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private LeafMetrics(NoArgsPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        private void record(boolean result, long nanos) {
+            invocations.increment();
+            if (result) {
+                trueResults.increment();
+            }
+            if (nanos != NOT_MEASURED) {
+                latency.record(nanos);
+            }
+        }
+
+        /**
+         * @return the predicate
+         */
+        public NoArgsPredicate predicate() {
+            return predicate;
+        }
+
+        /**
+         * @return the number of calls of the predicate
+         */
+        public long invocations() {
+            return invocations.sum();
+        }
+
+        /**
+         * @return the fraction of calls of the predicate that returned {@code true},
+         * or {@code NaN} if it was not called
+         */
+        public double trueRate() {
+            return rate(trueResults.sum(), invocations.sum());
+        }
+
+        /**
+         * @return the latencies of the predicate in the sampled evaluations
+         */
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+    }
+
+}
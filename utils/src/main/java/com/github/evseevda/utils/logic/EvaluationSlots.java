@@ -0,0 +1,61 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Arrays;
+
+/**
+ * Results of the nodes of one evaluation, kept by a thread between evaluations.
+ * <br> Every result is stamped with the number of the evaluation that wrote it, so starting a new evaluation
+ * does not need to clear the results of the previous one. A thread normally reuses one instance;
+ * an evaluation nested into another one of the same owner, from one of its own predicates,
+ * sees {@link #busy} set and uses a temporary instance.
+ *
+ * @author EvseevDA
+ * @see CommonSubexpressionEvaluator
+ * @see RuleNetwork
+ * @since 0.10.0
+ */
+final class EvaluationSlots {
+
+    private final int[] stamps;
+    private final boolean[] values;
+    private int evaluation;
+
+    /**
+     * {@code true} while an evaluation uses these slots.
+     */
+    boolean busy;
+
+    EvaluationSlots(int size) {
+        this.stamps = new int[size];
+        this.values = new boolean[size];
+    }
+
+    /**
+     * Starts a new evaluation, after which no slot holds a result.
+     *
+     * @return these slots
+     */
+    EvaluationSlots start() {
+        if (++evaluation == 0) {
+            // the stamps of 2^32 evaluations ago could be taken for current ones
+            Arrays.fill(stamps, 0);
+            evaluation = 1;
+        }
+        return this;
+    }
+
+    boolean isSet(int slot) {
+        return stamps[slot] == evaluation;
+    }
+
+    boolean get(int slot) {
+        return values[slot];
+    }
+
+    boolean set(int slot, boolean value) {
+        values[slot] = value;
+        stamps[slot] = evaluation;
+        return value;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * Thrown when an expression or a predicate is not evaluated within its time limit.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#result(java.time.Duration)
+ * @see TimeoutFallback#FAIL
+ * @since 0.10.0
+ */
+public class EvaluationTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message the detail message
+     */
+    public EvaluationTimeoutException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The result of one evaluation of an expression together with the reasons for it.
+ * <br> The deciding predicates are the ones whose results alone determine the result of the expression:
+ * for an AND node that is {@code false} only its first {@code false} operand is kept, for an OR node that is
+ * {@code true} only its first {@code true} operand, while the other nodes need all of their operands.
+ * The skipped predicates are the ones which were not called at all thanks to short-circuiting.
+ * <blockquote>
+ * <pre>
+ *      {@code Explanation explanation = expr(isAdmin).or(expr(isOwner).and(isActive)).explain();}
+ *      {@code explanation.toString()  // false because [isAdmin, isOwner], skipped [isActive]}
+ *     </pre>
+ * </blockquote>
+ * Explaining an evaluation costs more than calculating the result, so in production it is meant to be done
+ * for a sampled fraction of the evaluations, calling {@link LazyLogicalExpression#result()} for the others.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#explain()
+ * @since 0.10.0
+ */
+public final class Explanation {
+
+    private final boolean result;
+    private final List<NoArgsPredicate> decidingPredicates;
+    private final List<NoArgsPredicate> skippedPredicates;
+    private final List<PredicateCall> calls;
+
+    private Explanation(boolean result, List<NoArgsPredicate> decidingPredicates,
+                        List<NoArgsPredicate> skippedPredicates, List<PredicateCall> calls) {
+        this.result = result;
+        this.decidingPredicates = decidingPredicates;
+        this.skippedPredicates = skippedPredicates;
+        this.calls = calls;
+    }
+
+    static Explanation of(ExpressionNode root) {
+        Evaluation evaluation = new Evaluation();
+        boolean result = evaluation.evaluate(root);
+
+        Set<NoArgsPredicate> called = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PredicateCall call : evaluation.calls) {
+            called.add(call.predicate);
+        }
+        List<NoArgsPredicate> skipped = new ArrayList<>();
+        for (NoArgsPredicate predicate : distinct(evaluation.skipped)) {
+            if (!called.contains(predicate)) {
+                skipped.add(predicate);
+            }
+        }
+        return new Explanation(result, Collections.unmodifiableList(distinct(evaluation.deciding)),
+                Collections.unmodifiableList(skipped), Collections.unmodifiableList(evaluation.calls));
+    }
+
+    private static List<NoArgsPredicate> distinct(List<NoArgsPredicate> predicates) {
+        Set<NoArgsPredicate> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<NoArgsPredicate> distinct = new ArrayList<>();
+        for (NoArgsPredicate predicate : predicates) {
+            if (seen.add(predicate)) {
+                distinct.add(predicate);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * @return the result of the expression
+     */
+    public boolean result() {
+        return result;
+    }
+
+    /**
+     * @return the distinct predicates that determined the result, in the order of their calls
+     */
+    public List<NoArgsPredicate> decidingPredicates() {
+        return decidingPredicates;
+    }
+
+    /**
+     * @return the distinct predicates of the expression that were not called, in the order of the expression
+     */
+    public List<NoArgsPredicate> skippedPredicates() {
+        return skippedPredicates;
+    }
+
+    /**
+     * @return all calls of the predicates in the order they were made,
+     * a predicate occurring several times in the expression may be called several times
+     */
+    public List<PredicateCall> calls() {
+        return calls;
+    }
+
+    @Override
+    public String toString() {
+        String text = result + " because " + decidingPredicates;
+        return skippedPredicates.isEmpty() ? text : text + ", skipped " + skippedPredicates;
+    }
+
+    /**
+     * One call of a predicate during an explained evaluation.
+     */
+    public static final class PredicateCall {
+
+        private final NoArgsPredicate predicate;
+        private final boolean result;
+        private final long nanos;
+
+        private PredicateCall(NoArgsPredicate predicate, boolean result, long nanos) {
+            this.predicate = predicate;
+            this.result = result;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return the called predicate
+         */
+        public NoArgsPredicate predicate() {
+            return predicate;
+        }
+
+        /**
+         * @return the result of the call
+         */
+        public boolean result() {
+            return result;
+        }
+
+        /**
+         * @return the duration of the call in nanoseconds
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return predicate + "=" + result + " in " + nanos + " ns";
+        }
+
+    }
+
+    private static final class Evaluation {
+
+        private final List<NoArgsPredicate> deciding = new ArrayList<>();
+        private final List<NoArgsPredicate> skipped = new ArrayList<>();
+        private final List<PredicateCall> calls = new ArrayList<>();
+
+        boolean evaluate(ExpressionNode node) {
+            if (node instanceof ExpressionNode.Leaf) {
+                NoArgsPredicate predicate = ((ExpressionNode.Leaf) node).predicate;
+                long start = System.nanoTime();
+                boolean result = predicate.test();
+                calls.add(new PredicateCall(predicate, result, System.nanoTime() - start));
+                deciding.add(predicate);
+                return result;
+            }
+            if (node instanceof ExpressionNode.Not) {
+                return !evaluate(((ExpressionNode.Not) node).operand);
+            }
+            if (node instanceof ExpressionNode.Junction) {
+                return evaluate((ExpressionNode.Junction) node);
+            }
+            return node.evaluate();
+        }
+
+        private boolean evaluate(ExpressionNode.Junction junction) {
+            if (junction instanceof ExpressionNode.Xor) {
+                boolean result = false;
+                for (int i = 0; i < junction.size; i++) {
+                    result ^= evaluate(junction.operands[i]);
+                }
+                return result;
+            }
+            boolean decisive = junction instanceof ExpressionNode.Or;
+            int start = deciding.size();
+            for (int i = 0; i < junction.size; i++) {
+                int operandStart = deciding.size();
+                if (evaluate(junction.operands[i]) == decisive) {
+                    // the decisive operand alone determines the result
+                    deciding.subList(start, operandStart).clear();
+                    for (int j = i + 1; j < junction.size; j++) {
+                        collectPredicates(junction.operands[j], skipped);
+                    }
+                    return decisive;
+                }
+            }
+            return !decisive;
+        }
+
+        private static void collectPredicates(ExpressionNode node, List<NoArgsPredicate> predicates) {
+            if (node instanceof ExpressionNode.Leaf) {
+                predicates.add(((ExpressionNode.Leaf) node).predicate);
+            } else if (node instanceof ExpressionNode.Not) {
+                collectPredicates(((ExpressionNode.Not) node).operand, predicates);
+            } else if (node instanceof ExpressionNode.Junction) {
+                ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+                for (int i = 0; i < junction.size; i++) {
+                    collectPredicates(junction.operands[i], predicates);
+                }
+            }
+        }
+
+    }
+
+}
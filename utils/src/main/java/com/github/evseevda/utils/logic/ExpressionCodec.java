@@ -0,0 +1,396 @@
+package com.github.evseevda.utils.logic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A compact binary format of {@link LazyLogicalExpression LazyLogicalExpressions}, in which the predicates
+ * are referred to by their names in a registry.
+ * <br> A stream of the format holds any number of expressions. It starts with the bytes {@code LEXP} and
+ * the version of the format, followed by the expressions in prefix order:
+ * <blockquote>
+ * <pre>
+ *      expression = name node
+ *      name       = varint(length + 1) UTF-8 bytes, or varint(0) for an unnamed expression
+ *      node       = FALSE | TRUE | NOT node | (AND | OR | XOR) varint(size) node... | LEAF name | LEAF_REF varint(index)
+ *     </pre>
+ * </blockquote>
+ * Each node kind takes one byte. A predicate is spelled out once per stream, at its first occurrence,
+ * later occurrences refer to it by the number of its first occurrence among the predicates of the stream.
+ * The numbers are unsigned LEB128 varints. Nodes are nested at most {@link #MAX_DEPTH} levels deep,
+ * deeper expressions are neither written nor read.
+ * <blockquote>
+ * <pre>
+ *      {@code ExpressionCodec codec = new ExpressionCodec(Map.of("isLarge", isLarge, "isForeign", isForeign));}
+ *      {@code try (ExpressionCodec.Encoder encoder = codec.encoder(out)) {}
+ *      {@code     encoder.write(expr(isLarge).and(isForeign).named("large-foreign"));}
+ *      {@code }}
+ *      {@code ExpressionCodec.Decoder decoder = codec.decoder(buffer);}
+ *      {@code while (decoder.hasNext()) {}
+ *      {@code     LazyLogicalExpression rule = decoder.next();}
+ *      {@code }}
+ *     </pre>
+ * </blockquote>
+ * The decoded expressions have the same structure and names as the encoded ones. A decoder reads the buffer
+ * in place, allocating only the nodes of the expressions and the names of the expressions and predicates,
+ * and looks each predicate up in the registry once per stream.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#tree()
+ * @since 0.10.0
+ */
+public final class ExpressionCodec {
+
+    /**
+     * The version of the format written by encoders.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The largest number of nested nodes on a path from the root of an expression, counting the root.
+     * <br> Nodes are written and read recursively, so the limit keeps a malformed or hostile stream
+     * from exhausting the stack.
+     */
+    public static final int MAX_DEPTH = 1000;
+
+    private static final byte[] MAGIC = {'L', 'E', 'X', 'P'};
+
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+    private static final byte NOT = 2;
+    private static final byte AND = 3;
+    private static final byte OR = 4;
+    private static final byte XOR = 5;
+    private static final byte LEAF = 6;
+    private static final byte LEAF_REF = 7;
+
+    private final Map<String, NoArgsPredicate> predicates;
+    private final Map<NoArgsPredicate, String> names = new IdentityHashMap<>();
+
+    /**
+     * @param registry the predicates that may occur in the expressions by their names;
+     *                 if a predicate is registered under several names, any of them is written
+     */
+    public ExpressionCodec(Map<String, ? extends NoArgsPredicate> registry) {
+        this.predicates = new HashMap<>(registry);
+        predicates.forEach((name, predicate) -> names.putIfAbsent(Objects.requireNonNull(predicate), name));
+    }
+
+    /**
+     * Creates an encoder which writes the header of a stream immediately.
+     *
+     * @param out the output stream, it is closed when the encoder is closed
+     * @return a new encoder
+     * @throws IOException if the header cannot be written
+     */
+    public Encoder encoder(OutputStream out) throws IOException {
+        return new Encoder(Objects.requireNonNull(out));
+    }
+
+    /**
+     * Creates a decoder which reads the header of a stream immediately.
+     * <br> The decoder reads the buffer from its position and advances it, the buffer is not copied.
+     *
+     * @param buffer the buffer holding a stream of the format
+     * @return a new decoder
+     * @throws IllegalArgumentException if the buffer does not start with the header of a supported version
+     */
+    public Decoder decoder(ByteBuffer buffer) {
+        return new Decoder(Objects.requireNonNull(buffer));
+    }
+
+    /**
+     * Writes expressions to a stream of the format.
+     * <br> The expressions are buffered and written to the output stream in blocks;
+     * an expression which fails to encode is not written at all.
+     */
+    public final class Encoder implements Closeable {
+
+        private final OutputStream out;
+        private final Map<NoArgsPredicate, Integer> written = new IdentityHashMap<>();
+        private final List<NoArgsPredicate> writtenOrder = new ArrayList<>();
+        private byte[] bytes = new byte[8192];
+        private int size;
+
+        private Encoder(OutputStream out) throws IOException {
+            this.out = out;
+            out.write(MAGIC);
+            out.write(VERSION);
+        }
+
+        /**
+         * @param expression the expression
+         * @throws IllegalArgumentException if the expression has a predicate which is not in the registry,
+         *                                  a predicate which needs a context, or is nested deeper
+         *                                  than {@link #MAX_DEPTH} levels
+         * @throws IOException              if the output stream fails
+         */
+        public void write(LazyLogicalExpression expression) throws IOException {
+            Objects.requireNonNull(expression);
+            int start = size;
+            int predicateCount = writtenOrder.size();
+            try {
+                writeName(expression.name());
+                writeNode(expression.tree(), 1);
+            } catch (IllegalArgumentException e) {
+                size = start;
+                for (NoArgsPredicate predicate : writtenOrder.subList(predicateCount, writtenOrder.size())) {
+                    written.remove(predicate);
+                }
+                writtenOrder.subList(predicateCount, writtenOrder.size()).clear();
+                throw e;
+            }
+            if (size >= 4096) {
+                flushBytes();
+            }
+        }
+
+        private void writeNode(ExpressionNode node, int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("The expression is nested deeper than " + MAX_DEPTH + " levels");
+            }
+            if (node instanceof ExpressionNode.Leaf) {
+                NoArgsPredicate predicate = ((ExpressionNode.Leaf) node).predicate;
+                Integer index = written.get(predicate);
+                if (index != null) {
+                    writeByte(LEAF_REF);
+                    writeVarint(index);
+                    return;
+                }
+                String name = names.get(predicate);
+                if (name == null) {
+                    throw new IllegalArgumentException("The predicate is not in the registry: " + predicate);
+                }
+                written.put(predicate, writtenOrder.size());
+                writtenOrder.add(predicate);
+                writeByte(LEAF);
+                writeName(name);
+            } else if (node instanceof ExpressionNode.Const) {
+                writeByte(((ExpressionNode.Const) node).value ? TRUE : FALSE);
+            } else if (node instanceof ExpressionNode.Not) {
+                writeByte(NOT);
+                writeNode(((ExpressionNode.Not) node).operand, depth + 1);
+            } else if (node instanceof ExpressionNode.Junction) {
+                ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+                writeByte(junction instanceof ExpressionNode.And ? AND
+                        : junction instanceof ExpressionNode.Or ? OR
+                        : XOR);
+                writeVarint(junction.size);
+                for (int i = 0; i < junction.size; i++) {
+                    writeNode(junction.operands[i], depth + 1);
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported node: " + node);
+            }
+        }
+
+        private void writeName(String name) {
+            if (name == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length + 1);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        private void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeByte(byte value) {
+            ensureCapacity(1);
+            bytes[size++] = value;
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + length, bytes.length * 2));
+            }
+        }
+
+        private void flushBytes() throws IOException {
+            out.write(bytes, 0, size);
+            size = 0;
+        }
+
+        /**
+         * Writes the buffered expressions and flushes the output stream.
+         *
+         * @throws IOException if the output stream fails
+         */
+        public void flush() throws IOException {
+            flushBytes();
+            out.flush();
+        }
+
+        /**
+         * Writes the buffered expressions and closes the output stream.
+         *
+         * @throws IOException if the output stream fails
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flushBytes();
+            } finally {
+                out.close();
+            }
+        }
+
+    }
+
+    /**
+     * Reads expressions from a stream of the format held in a {@link ByteBuffer}.
+     * <br> Structurally invalid input is reported with {@link IllegalArgumentException}.
+     */
+    public final class Decoder {
+
+        private final ByteBuffer buffer;
+        private final List<ExpressionNode> leaves = new ArrayList<>();
+
+        private Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+            try {
+                for (byte magic : MAGIC) {
+                    if (buffer.get() != magic) {
+                        throw new IllegalArgumentException("Not an expression stream");
+                    }
+                }
+                int version = buffer.get();
+                if (version != VERSION) {
+                    throw new IllegalArgumentException("Unsupported version of the format: " + version);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException("Truncated header", e);
+            }
+        }
+
+        /**
+         * @return {@code true} if the buffer has more expressions
+         */
+        public boolean hasNext() {
+            return buffer.hasRemaining();
+        }
+
+        /**
+         * @return the next expression
+         * @throws IllegalArgumentException if the expression is malformed, nested deeper than
+         *                                  {@link #MAX_DEPTH} levels or has a predicate which is not in the registry
+         */
+        public LazyLogicalExpression next() {
+            try {
+                String name = readName();
+                return LazyLogicalExpression.of(readNode(1), name);
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException("Truncated expression", e);
+            }
+        }
+
+        private ExpressionNode readNode(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("The expression is nested deeper than " + MAX_DEPTH + " levels");
+            }
+            byte kind = buffer.get();
+            switch (kind) {
+                case FALSE:
+                    return ExpressionNode.constant(false);
+                case TRUE:
+                    return ExpressionNode.constant(true);
+                case NOT:
+                    return ExpressionNode.not(readNode(depth + 1));
+                case AND:
+                case OR:
+                case XOR:
+                    int size = readVarint();
+                    // every operand takes at least one byte
+                    if (size > buffer.remaining()) {
+                        throw new BufferUnderflowException();
+                    }
+                    ExpressionNode[] operands = new ExpressionNode[size];
+                    for (int i = 0; i < size; i++) {
+                        operands[i] = readNode(depth + 1);
+                    }
+                    return kind == AND ? ExpressionNode.allOf(operands)
+                            : kind == OR ? ExpressionNode.anyOf(operands)
+                            : ExpressionNode.xorOf(operands);
+                case LEAF:
+                    String name = readName();
+                    NoArgsPredicate predicate = predicates.get(name);
+                    if (predicate == null) {
+                        throw new IllegalArgumentException("The predicate is not in the registry: " + name);
+                    }
+                    // leaves are immutable, so every occurrence of the predicate shares one
+                    ExpressionNode leaf = ExpressionNode.leaf(predicate);
+                    leaves.add(leaf);
+                    return leaf;
+                case LEAF_REF:
+                    int index = readVarint();
+                    if (index >= leaves.size()) {
+                        throw new IllegalArgumentException("Reference to an undefined predicate: " + index);
+                    }
+                    return leaves.get(index);
+                default:
+                    throw new IllegalArgumentException("Unknown node kind: " + kind);
+            }
+        }
+
+        private String readName() {
+            int length = readVarint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            String name;
+            if (buffer.hasArray()) {
+                name = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] utf8 = new byte[length];
+                buffer.get(utf8);
+                name = new String(utf8, StandardCharsets.UTF_8);
+            }
+            return name;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 28; shift += 7) {
+                byte next = buffer.get();
+                value |= (next & 0x7F) << shift;
+                if (next >= 0) {
+                    return value;
+                }
+            }
+            byte last = buffer.get();
+            // the fifth byte holds the last 3 bits of a non-negative int
+            if ((last & 0xF8) != 0) {
+                throw new IllegalArgumentException("Malformed number");
+            }
+            return value | last << 28;
+        }
+
+    }
+
+}
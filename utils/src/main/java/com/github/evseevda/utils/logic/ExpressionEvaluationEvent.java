@@ -0,0 +1,55 @@
+package com.github.evseevda.utils.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The Flight Recorder event of one {@link LazyLogicalExpression#result()} call.
+ * <br> Tracing an evaluation costs more than the evaluation of a small expression, so the event is disabled
+ * by default and a continuous recording with the default settings does not slow the expressions down.
+ * It is enabled in the settings of a recording under the name
+ * {@code com.github.evseevda.utils.logic.ExpressionEvaluation}, with a default threshold of 1 ms.
+ * <br> The deciding predicate of an event is simply the last predicate called by the evaluation.
+ * It decided the result when the evaluation short-circuited on it; an evaluation which called all the predicates,
+ * for example of an XOR, reports its last one.
+ * <blockquote>
+ * <pre>
+ *      {@code java -XX:StartFlightRecording:com.github.evseevda.utils.logic.ExpressionEvaluation#enabled=true ...}
+ *     </pre>
+ * </blockquote>
+ *
+ * @author EvseevDA
+ * @see LeafEvaluationEvent
+ * @since 0.10.0
+ */
+@Name("com.github.evseevda.utils.logic.ExpressionEvaluation")
+@Label("Expression Evaluation")
+@Category({"Logical Expressions"})
+@Description("Evaluation of a lazy logical expression")
+@Enabled(false)
+@Threshold("1 ms")
+public final class ExpressionEvaluationEvent extends jdk.jfr.Event {
+
+    @Label("Expression")
+    @Description("Name of the expression, see LazyLogicalExpression.named")
+    String expression;
+
+    @Label("Result")
+    boolean result;
+
+    @Label("Deciding Predicate")
+    @Description("The last predicate called by the evaluation. It decided the result if the evaluation "
+            + "short-circuited, otherwise, for example under XOR, it is only the last one called")
+    String decidingPredicate;
+
+    @Label("Predicate Calls")
+    int predicateCalls;
+
+    ExpressionEvaluationEvent() {
+    }
+
+}
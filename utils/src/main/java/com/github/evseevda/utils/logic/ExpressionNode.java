@@ -0,0 +1,548 @@
+package com.github.evseevda.utils.logic;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Immutable tree representation of a {@link LazyLogicalExpression} or a {@link LogicalExpression}.
+ * <br> A tree consists of {@link Leaf}, {@link ContextLeaf}, {@link Const}, {@link Not}, {@link And}, {@link Or}
+ * and {@link Xor} nodes and can be inspected with {@code instanceof} and the accessors of the node classes.
+ * <br> {@link Leaf} holds a {@link NoArgsPredicate} of a {@link LazyLogicalExpression},
+ * {@link ContextLeaf} holds a {@link Predicate} of a {@link LogicalExpression} which is tested against
+ * the context passed to {@link #evaluate(Object)}.
+ * <br> Chains of the same operator ({@code and/and/and}, {@code or/or/or}, {@code xor/xor/xor})
+ * are stored as one flat n-ary node which is evaluated in a loop, so the depth of the tree
+ * (and therefore the stack depth of {@link #evaluate()}) does not depend on the length of a chain.
+ * <br> Appending an operand to an n-ary node returns a new node.
+ * The backing array is shared between a node and the node produced by appending to it,
+ * so building a chain of {@code n} operands costs amortized {@code O(n)}.
+ * <br> Two trees are {@linkplain #equals(Object) equal} if they have the same structure and
+ * their leaves hold the same predicate instances.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#tree()
+ * @see ExpressionOptimizer
+ * @since 0.10.0
+ */
+public abstract class ExpressionNode {
+
+    private int hash;
+
+    ExpressionNode() {
+    }
+
+    /**
+     * Evaluates this node.
+     *
+     * @return the logical result of this node
+     */
+    public abstract boolean evaluate();
+
+    /**
+     * Evaluates this node against the given context.
+     * <br> {@link ContextLeaf} nodes test their predicate against the context,
+     * {@link Leaf} nodes ignore it.
+     *
+     * @param context the context for the predicates of {@link ContextLeaf} nodes
+     * @return the logical result of this node
+     */
+    public abstract boolean evaluate(Object context);
+
+    abstract int computeHashCode();
+
+    @Override
+    public final int hashCode() {
+        int hash = this.hash;
+        if (hash == 0) {
+            hash = computeHashCode();
+            this.hash = hash == 0 ? 1 : hash;
+        }
+        return hash;
+    }
+
+    /**
+     * @return the exception thrown for a node which is not supported, in particular for a {@link ContextLeaf}
+     * reaching code which evaluates trees without a context
+     */
+    static IllegalArgumentException unsupported(ExpressionNode node) {
+        return new IllegalArgumentException(node instanceof ContextLeaf
+                ? "Predicates which need a context are not supported: " + node
+                : "Unsupported node: " + node);
+    }
+
+    static ExpressionNode leaf(NoArgsPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return new Leaf(predicate);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ExpressionNode contextLeaf(Predicate<?> predicate) {
+        Objects.requireNonNull(predicate);
+        return new ContextLeaf((Predicate<Object>) predicate);
+    }
+
+    static ExpressionNode constant(boolean value) {
+        return value ? Const.TRUE : Const.FALSE;
+    }
+
+    static ExpressionNode not(ExpressionNode operand) {
+        Objects.requireNonNull(operand);
+        return new Not(operand);
+    }
+
+    static ExpressionNode and(ExpressionNode left, ExpressionNode right) {
+        return Junction.combine(And.EMPTY, left, right);
+    }
+
+    static ExpressionNode or(ExpressionNode left, ExpressionNode right) {
+        return Junction.combine(Or.EMPTY, left, right);
+    }
+
+    static ExpressionNode xor(ExpressionNode left, ExpressionNode right) {
+        return Junction.combine(Xor.EMPTY, left, right);
+    }
+
+    /**
+     * @param operands the operands, the array is owned by the created node afterwards
+     * @return an n-ary AND node over the given operands, {@code true} if there are no operands
+     */
+    static ExpressionNode allOf(ExpressionNode[] operands) {
+        return new And(operands, operands.length);
+    }
+
+    /**
+     * @param operands the operands, the array is owned by the created node afterwards
+     * @return an n-ary OR node over the given operands, {@code false} if there are no operands
+     */
+    static ExpressionNode anyOf(ExpressionNode[] operands) {
+        return new Or(operands, operands.length);
+    }
+
+    /**
+     * @param operands the operands, the array is owned by the created node afterwards
+     * @return an n-ary XOR node over the given operands, which is {@code true} if an odd number of them is,
+     * {@code false} if there are no operands
+     */
+    static ExpressionNode xorOf(ExpressionNode[] operands) {
+        return new Xor(operands, operands.length);
+    }
+
+    /**
+     * A leaf of the tree, holds a predicate of the expression.
+     */
+    public static final class Leaf extends ExpressionNode {
+
+        final NoArgsPredicate predicate;
+
+        private Leaf(NoArgsPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        /**
+         * @return the predicate of this leaf
+         */
+        public NoArgsPredicate predicate() {
+            return predicate;
+        }
+
+        @Override
+        public boolean evaluate() {
+            return predicate.test();
+        }
+
+        @Override
+        public boolean evaluate(Object context) {
+            return predicate.test();
+        }
+
+        @Override
+        int computeHashCode() {
+            return System.identityHashCode(predicate);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Leaf && ((Leaf) other).predicate == predicate;
+        }
+
+        @Override
+        public String toString() {
+            return "Leaf[" + predicate + "]";
+        }
+
+    }
+
+    /**
+     * A leaf of the tree, holds a predicate which is tested against the context of an evaluation.
+     */
+    public static final class ContextLeaf extends ExpressionNode {
+
+        final Predicate<Object> predicate;
+
+        private ContextLeaf(Predicate<Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        /**
+         * @return the predicate of this leaf
+         */
+        public Predicate<?> predicate() {
+            return predicate;
+        }
+
+        /**
+         * @throws UnsupportedOperationException always, this leaf needs a context
+         */
+        @Override
+        public boolean evaluate() {
+            throw new UnsupportedOperationException("A context is required to evaluate " + this);
+        }
+
+        @Override
+        public boolean evaluate(Object context) {
+            return predicate.test(context);
+        }
+
+        @Override
+        int computeHashCode() {
+            return ~System.identityHashCode(predicate);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ContextLeaf && ((ContextLeaf) other).predicate == predicate;
+        }
+
+        @Override
+        public String toString() {
+            return "ContextLeaf[" + predicate + "]";
+        }
+
+    }
+
+    /**
+     * A constant {@code true} or {@code false}.
+     */
+    public static final class Const extends ExpressionNode {
+
+        static final Const TRUE = new Const(true);
+        static final Const FALSE = new Const(false);
+
+        final boolean value;
+
+        private Const(boolean value) {
+            this.value = value;
+        }
+
+        /**
+         * @return the value of this constant
+         */
+        public boolean value() {
+            return value;
+        }
+
+        @Override
+        public boolean evaluate() {
+            return value;
+        }
+
+        @Override
+        public boolean evaluate(Object context) {
+            return value;
+        }
+
+        @Override
+        int computeHashCode() {
+            return Boolean.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Const && ((Const) other).value == value;
+        }
+
+        @Override
+        public String toString() {
+            return Boolean.toString(value);
+        }
+
+    }
+
+    /**
+     * Logical NOT of its operand.
+     */
+    public static final class Not extends ExpressionNode {
+
+        final ExpressionNode operand;
+
+        private Not(ExpressionNode operand) {
+            this.operand = operand;
+        }
+
+        /**
+         * @return the negated node
+         */
+        public ExpressionNode operand() {
+            return operand;
+        }
+
+        @Override
+        public boolean evaluate() {
+            return !operand.evaluate();
+        }
+
+        @Override
+        public boolean evaluate(Object context) {
+            return !operand.evaluate(context);
+        }
+
+        @Override
+        int computeHashCode() {
+            return ~operand.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this || other instanceof Not && ((Not) other).operand.equals(operand);
+        }
+
+        @Override
+        public String toString() {
+            return "Not[" + operand + "]";
+        }
+
+    }
+
+    /**
+     * Base class of the n-ary {@link And}, {@link Or} and {@link Xor} nodes.
+     * <br> Only the first {@code size} elements of {@code operands} belong to a node,
+     * the rest of the array may be claimed by nodes that were produced by appending to it.
+     */
+    public abstract static class Junction extends ExpressionNode {
+
+        private static final int MIN_CAPACITY = 4;
+
+        private static final VarHandle OPERANDS = MethodHandles.arrayElementVarHandle(ExpressionNode[].class);
+
+        final ExpressionNode[] operands;
+        final int size;
+
+        private Junction(ExpressionNode[] operands, int size) {
+            this.operands = operands;
+            this.size = size;
+        }
+
+        /**
+         * @return an unmodifiable list of the operands in evaluation order
+         */
+        public List<ExpressionNode> operands() {
+            return new AbstractList<>() {
+
+                @Override
+                public ExpressionNode get(int index) {
+                    Objects.checkIndex(index, size);
+                    return operands[index];
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+            };
+        }
+
+        /**
+         * Creates a node of the same type over the given operands.
+         */
+        abstract Junction create(ExpressionNode[] operands, int size);
+
+        @Override
+        int computeHashCode() {
+            int hash = getClass().hashCode();
+            for (int i = 0; i < size; i++) {
+                hash = 31 * hash + operands[i].hashCode();
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (other == null || other.getClass() != getClass() || other.hashCode() != hashCode()) {
+                return false;
+            }
+            Junction junction = (Junction) other;
+            if (junction.size != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!operands[i].equals(junction.operands[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + operands();
+        }
+
+        private static ExpressionNode combine(Junction empty, ExpressionNode left, ExpressionNode right) {
+            Objects.requireNonNull(left);
+            Objects.requireNonNull(right);
+
+            Junction junction = left.getClass() == empty.getClass()
+                    ? (Junction) left
+                    : empty.create(new ExpressionNode[]{left}, 1);
+
+            if (right.getClass() == empty.getClass()) {
+                Junction other = (Junction) right;
+                for (int i = 0; i < other.size; i++) {
+                    junction = junction.append(other.operands[i]);
+                }
+                return junction;
+            }
+            return junction.append(right);
+        }
+
+        private Junction append(ExpressionNode operand) {
+            // The slot right after this node's operands is free only if nobody has appended to this node yet.
+            // The first appender claims it and shares the array, everyone else gets a private copy.
+            if (size < operands.length && OPERANDS.compareAndSet(operands, size, null, operand)) {
+                return create(operands, size + 1);
+            }
+            ExpressionNode[] copy = new ExpressionNode[Math.max(MIN_CAPACITY, size * 2)];
+            System.arraycopy(operands, 0, copy, 0, size);
+            copy[size] = operand;
+            return create(copy, size + 1);
+        }
+
+    }
+
+    /**
+     * Short-circuiting logical AND of its operands, {@code true} if there are no operands.
+     */
+    public static final class And extends Junction {
+
+        static final And EMPTY = new And(new ExpressionNode[0], 0);
+
+        And(ExpressionNode[] operands, int size) {
+            super(operands, size);
+        }
+
+        @Override
+        And create(ExpressionNode[] operands, int size) {
+            return new And(operands, size);
+        }
+
+        @Override
+        public boolean evaluate() {
+            ExpressionNode[] operands = this.operands;
+            for (int i = 0, size = this.size; i < size; i++) {
+                if (!operands[i].evaluate()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean evaluate(Object context) {
+            ExpressionNode[] operands = this.operands;
+            for (int i = 0, size = this.size; i < size; i++) {
+                if (!operands[i].evaluate(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Short-circuiting logical OR of its operands, {@code false} if there are no operands.
+     */
+    public static final class Or extends Junction {
+
+        static final Or EMPTY = new Or(new ExpressionNode[0], 0);
+
+        Or(ExpressionNode[] operands, int size) {
+            super(operands, size);
+        }
+
+        @Override
+        Or create(ExpressionNode[] operands, int size) {
+            return new Or(operands, size);
+        }
+
+        @Override
+        public boolean evaluate() {
+            ExpressionNode[] operands = this.operands;
+            for (int i = 0, size = this.size; i < size; i++) {
+                if (operands[i].evaluate()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean evaluate(Object context) {
+            ExpressionNode[] operands = this.operands;
+            for (int i = 0, size = this.size; i < size; i++) {
+                if (operands[i].evaluate(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * XOR of its operands, all operands are always evaluated. {@code false} if there are no operands.
+     */
+    public static final class Xor extends Junction {
+
+        static final Xor EMPTY = new Xor(new ExpressionNode[0], 0);
+
+        Xor(ExpressionNode[] operands, int size) {
+            super(operands, size);
+        }
+
+        @Override
+        Xor create(ExpressionNode[] operands, int size) {
+            return new Xor(operands, size);
+        }
+
+        @Override
+        public boolean evaluate() {
+            ExpressionNode[] operands = this.operands;
+            boolean result = false;
+            for (int i = 0, size = this.size; i < size; i++) {
+                result ^= operands[i].evaluate();
+            }
+            return result;
+        }
+
+        @Override
+        public boolean evaluate(Object context) {
+            ExpressionNode[] operands = this.operands;
+            boolean result = false;
+            for (int i = 0, size = this.size; i < size; i++) {
+                result ^= operands[i].evaluate(context);
+            }
+            return result;
+        }
+
+    }
+
+}
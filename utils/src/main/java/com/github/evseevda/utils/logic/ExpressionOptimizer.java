@@ -0,0 +1,199 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Simplifies expression trees with algebraic rewrites.
+ * <br> The following rewrites are applied until the tree does not change any more:
+ * <ul>
+ *     <li>constant folding: {@code a && true -> a}, {@code a || true -> true}, {@code a ^ true -> !a}</li>
+ *     <li>double negation removal: {@code !!a -> a}</li>
+ *     <li>De Morgan push-down: {@code !(a && b) -> !a || !b}, {@code !(a || b) -> !a && !b}</li>
+ *     <li>absorption: {@code a || (a && b) -> a}, {@code a && (a || b) -> a}</li>
+ *     <li>idempotence: {@code a && a -> a}, {@code a || a -> a}, {@code a ^ a -> false}</li>
+ *     <li>complement: {@code a && !a -> false}, {@code a || !a -> true}</li>
+ *     <li>flattening: {@code a && (b && c) -> a && b && c}</li>
+ * </ul>
+ * The relative order of the remaining operands is preserved, so the cheapest predicates
+ * written first are still evaluated first.
+ * <br> <b>The rewrites assume that predicates are free of side effects and return the same result
+ * during one evaluation</b>, because an optimized tree may call a predicate fewer times
+ * or not call it at all.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#optimize()
+ * @since 0.10.0
+ */
+public final class ExpressionOptimizer {
+
+    private static final int MAX_PASSES = 16;
+
+    private ExpressionOptimizer() {
+    }
+
+    /**
+     * Simplifies the given tree.
+     *
+     * @param tree the tree to simplify
+     * @return an equivalent tree which does not contain more leaves than the given one
+     */
+    public static ExpressionNode optimize(ExpressionNode tree) {
+        Objects.requireNonNull(tree);
+
+        ExpressionNode current = tree;
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            ExpressionNode next = rewrite(current);
+            if (next.equals(current)) {
+                return next;
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private static ExpressionNode rewrite(ExpressionNode node) {
+        if (node instanceof ExpressionNode.Not) {
+            return negate(rewrite(((ExpressionNode.Not) node).operand));
+        }
+        if (!(node instanceof ExpressionNode.Junction)) {
+            return node;
+        }
+        ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+        List<ExpressionNode> operands = new ArrayList<>(junction.size);
+        for (int i = 0; i < junction.size; i++) {
+            operands.add(rewrite(junction.operands[i]));
+        }
+        if (junction instanceof ExpressionNode.And) {
+            return junction(operands, true);
+        }
+        if (junction instanceof ExpressionNode.Or) {
+            return junction(operands, false);
+        }
+        return xor(operands);
+    }
+
+    /**
+     * Negates an already rewritten node, pushing the negation down to the leaves.
+     */
+    private static ExpressionNode negate(ExpressionNode node) {
+        if (node instanceof ExpressionNode.Const) {
+            return ExpressionNode.constant(!((ExpressionNode.Const) node).value);
+        }
+        if (node instanceof ExpressionNode.Not) {
+            return ((ExpressionNode.Not) node).operand;
+        }
+        if (!(node instanceof ExpressionNode.Junction)) {
+            return ExpressionNode.not(node);
+        }
+        ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+        if (junction instanceof ExpressionNode.Xor) {
+            ExpressionNode[] operands = new ExpressionNode[junction.size];
+            System.arraycopy(junction.operands, 0, operands, 0, junction.size);
+            operands[0] = negate(operands[0]);
+            return new ExpressionNode.Xor(operands, operands.length);
+        }
+        List<ExpressionNode> operands = new ArrayList<>(junction.size);
+        for (int i = 0; i < junction.size; i++) {
+            operands.add(negate(junction.operands[i]));
+        }
+        return junction(operands, junction instanceof ExpressionNode.Or);
+    }
+
+    /**
+     * Builds a simplified AND (if {@code and} is {@code true}) or OR node over already rewritten operands.
+     */
+    private static ExpressionNode junction(List<ExpressionNode> operands, boolean and) {
+        Class<? extends ExpressionNode> type = and ? ExpressionNode.And.class : ExpressionNode.Or.class;
+        Class<? extends ExpressionNode> dual = and ? ExpressionNode.Or.class : ExpressionNode.And.class;
+
+        Set<ExpressionNode> unique = new LinkedHashSet<>();
+        for (ExpressionNode operand : operands) {
+            if (operand.getClass() == type) {
+                ExpressionNode.Junction nested = (ExpressionNode.Junction) operand;
+                for (int i = 0; i < nested.size; i++) {
+                    unique.add(nested.operands[i]);
+                }
+            } else if (operand instanceof ExpressionNode.Const) {
+                if (((ExpressionNode.Const) operand).value != and) {
+                    return operand;
+                }
+            } else {
+                unique.add(operand);
+            }
+        }
+
+        List<ExpressionNode> result = new ArrayList<>(unique.size());
+        for (ExpressionNode operand : unique) {
+            if (operand instanceof ExpressionNode.Not && unique.contains(((ExpressionNode.Not) operand).operand)) {
+                return ExpressionNode.constant(!and);
+            }
+            if (operand.getClass() == dual && isAbsorbed((ExpressionNode.Junction) operand, unique)) {
+                continue;
+            }
+            result.add(operand);
+        }
+
+        if (result.isEmpty()) {
+            return ExpressionNode.constant(and);
+        }
+        if (result.size() == 1) {
+            return result.get(0);
+        }
+        ExpressionNode[] array = result.toArray(new ExpressionNode[0]);
+        return and ? ExpressionNode.allOf(array) : ExpressionNode.anyOf(array);
+    }
+
+    private static boolean isAbsorbed(ExpressionNode.Junction dual, Set<ExpressionNode> siblings) {
+        for (int i = 0; i < dual.size; i++) {
+            if (siblings.contains(dual.operands[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a simplified XOR node over already rewritten operands.
+     */
+    private static ExpressionNode xor(List<ExpressionNode> operands) {
+        boolean parity = false;
+        Map<ExpressionNode, Boolean> odd = new LinkedHashMap<>();
+        List<ExpressionNode> pending = new ArrayList<>(operands);
+        for (int i = 0; i < pending.size(); i++) {
+            ExpressionNode operand = pending.get(i);
+            if (operand instanceof ExpressionNode.Xor) {
+                pending.addAll(((ExpressionNode.Xor) operand).operands());
+            } else if (operand instanceof ExpressionNode.Const) {
+                parity ^= ((ExpressionNode.Const) operand).value;
+            } else if (operand instanceof ExpressionNode.Not) {
+                parity = !parity;
+                odd.merge(((ExpressionNode.Not) operand).operand, true, (a, b) -> !a);
+            } else {
+                odd.merge(operand, true, (a, b) -> !a);
+            }
+        }
+
+        List<ExpressionNode> result = new ArrayList<>(odd.size());
+        odd.forEach((operand, present) -> {
+            if (present) {
+                result.add(operand);
+            }
+        });
+
+        if (result.isEmpty()) {
+            return ExpressionNode.constant(parity);
+        }
+        // a single negation is kept on the first operand
+        ExpressionNode node = result.size() == 1
+                ? result.get(0)
+                : new ExpressionNode.Xor(result.toArray(new ExpressionNode[0]), result.size());
+        return parity ? negate(node) : node;
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.github.evseevda.utils.logic;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Evaluates a tree emitting the {@link ExpressionEvaluationEvent} and {@link LeafEvaluationEvent} events.
+ * <br> {@link FlightRecorderSupport#recording} is kept up to date by a recorder listener, so while no recording
+ * is running the only cost of the events for {@link LazyLogicalExpression#result()} is the read of a static field.
+ * While a recording is running, whether the events are enabled is read from their {@link EventType EventTypes},
+ * which follow the settings of the recordings without allocating anything; the events themselves are created
+ * only when they are enabled.
+ * <br> This class links {@code jdk.jfr}, it is loaded only through {@link FlightRecorderSupport}
+ * or once a recording is known to run.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#named(String)
+ * @since 0.10.0
+ */
+final class FlightRecorderEvaluator {
+
+    private FlightRecorderEvaluator() {
+    }
+
+    /**
+     * Starts keeping {@link FlightRecorderSupport#recording} up to date.
+     */
+    static void listen() {
+        if (FlightRecorder.isAvailable()) {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recorderInitialized(FlightRecorder recorder) {
+                    update(recorder);
+                }
+
+                @Override
+                public void recordingStateChanged(Recording changed) {
+                    update(FlightRecorder.getFlightRecorder());
+                }
+            });
+        }
+    }
+
+    private static void update(FlightRecorder recorder) {
+        boolean running = false;
+        for (Recording recording : recorder.getRecordings()) {
+            running |= recording.getState() == RecordingState.RUNNING;
+        }
+        FlightRecorderSupport.recording = running;
+    }
+
+    static boolean isEnabled() {
+        return EventTypes.EXPRESSION.isEnabled() || EventTypes.LEAF.isEnabled();
+    }
+
+    static boolean evaluate(ExpressionNode root, String name) {
+        Trace trace = new Trace(name, EventTypes.LEAF.isEnabled());
+        if (!EventTypes.EXPRESSION.isEnabled()) {
+            return evaluate(root, trace);
+        }
+        ExpressionEvaluationEvent event = new ExpressionEvaluationEvent();
+        event.begin();
+        boolean result = evaluate(root, trace);
+        event.end();
+        if (event.shouldCommit()) {
+            event.expression = name;
+            event.result = result;
+            event.decidingPredicate = trace.lastPredicate == null ? null : String.valueOf(trace.lastPredicate);
+            event.predicateCalls = trace.predicateCalls;
+            event.commit();
+        }
+        return result;
+    }
+
+    private static boolean evaluate(ExpressionNode node, Trace trace) {
+        if (node instanceof ExpressionNode.Leaf) {
+            return evaluateLeaf(((ExpressionNode.Leaf) node).predicate, trace);
+        }
+        if (node instanceof ExpressionNode.Not) {
+            return !evaluate(((ExpressionNode.Not) node).operand, trace);
+        }
+        if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            if (junction instanceof ExpressionNode.Xor) {
+                boolean result = false;
+                for (int i = 0; i < junction.size; i++) {
+                    result ^= evaluate(junction.operands[i], trace);
+                }
+                return result;
+            }
+            boolean decisive = junction instanceof ExpressionNode.Or;
+            for (int i = 0; i < junction.size; i++) {
+                if (evaluate(junction.operands[i], trace) == decisive) {
+                    return decisive;
+                }
+            }
+            return !decisive;
+        }
+        return node.evaluate();
+    }
+
+    private static boolean evaluateLeaf(NoArgsPredicate predicate, Trace trace) {
+        trace.lastPredicate = predicate;
+        trace.predicateCalls++;
+        if (!trace.leafEvents) {
+            return predicate.test();
+        }
+        LeafEvaluationEvent event = new LeafEvaluationEvent();
+        event.begin();
+        boolean result = predicate.test();
+        event.end();
+        if (event.shouldCommit()) {
+            event.expression = trace.name;
+            event.predicate = String.valueOf(predicate);
+            event.result = result;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Registers the event classes with the recorder, which is done only once a recording is known to run.
+     */
+    private static final class EventTypes {
+
+        private static final EventType EXPRESSION = EventType.getEventType(ExpressionEvaluationEvent.class);
+        private static final EventType LEAF = EventType.getEventType(LeafEvaluationEvent.class);
+
+    }
+
+    private static final class Trace {
+
+        private final String name;
+        private final boolean leafEvents;
+        private NoArgsPredicate lastPredicate;
+        private int predicateCalls;
+
+        Trace(String name, boolean leafEvents) {
+            this.name = name;
+            this.leafEvents = leafEvents;
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * Tells whether a Flight Recorder recording is running, without linking {@code jdk.jfr}.
+ * <br> The evaluation path of {@link LazyLogicalExpression#result()} reads only {@link #recording}, so it keeps
+ * working on a runtime built without the {@code jdk.jfr} module. {@link FlightRecorderEvaluator}, which uses
+ * the module, is loaded only if the module is present, and keeps the flag up to date.
+ *
+ * @author EvseevDA
+ * @see FlightRecorderEvaluator
+ * @since 0.10.0
+ */
+final class FlightRecorderSupport {
+
+    private static final String JFR_MODULE = "jdk.jfr";
+
+    /**
+     * {@code true} while a recording is running, always {@code false} without the {@code jdk.jfr} module.
+     */
+    static volatile boolean recording;
+
+    static {
+        if (ModuleLayer.boot().findModule(JFR_MODULE).isPresent()) {
+            try {
+                FlightRecorderEvaluator.listen();
+            } catch (LinkageError e) {
+                // the module is present but cannot be used, the expressions are evaluated without events
+            }
+        }
+    }
+
+    private FlightRecorderSupport() {
+    }
+
+}
@@ -0,0 +1,370 @@
+package com.github.evseevda.utils.logic;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an {@link ExpressionNode} tree into a dedicated hidden class implementing {@link NoArgsPredicate}.
+ * <br> Every distinct leaf predicate becomes a final field of the generated class and {@code test()}
+ * is straight-line short-circuit bytecode over those fields, the same code {@code javac} would produce
+ * for a handwritten {@code &&/||/^/!} expression. Every compiled expression has its own call sites,
+ * so they stay monomorphic no matter how many other expressions exist.
+ * <br> The class file is emitted with version 49, which does not require stack map frames.
+ * Trees whose code would not fit into a single method are not compiled and are evaluated by
+ * the interpreter instead.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#compile()
+ * @since 0.10.0
+ */
+final class HiddenClassCompiler {
+
+    private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+    private static final int MAX_LEAVES = 2048;
+
+    private static final String CLASS_NAME = "com/github/evseevda/utils/logic/CompiledExpression";
+    private static final String PREDICATE = "com/github/evseevda/utils/logic/NoArgsPredicate";
+    private static final String PREDICATE_DESCRIPTOR = "L" + PREDICATE + ";";
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int SIPUSH = 0x11;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int AALOAD = 0x32;
+    private static final int IXOR = 0x82;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9a;
+    private static final int GOTO = 0xa7;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEINTERFACE = 0xb9;
+
+    private final Map<NoArgsPredicate, Integer> leafIndexes = new IdentityHashMap<>();
+    private final List<NoArgsPredicate> leaves = new ArrayList<>();
+    private final ConstantPool constants = new ConstantPool();
+    private final Code code = new Code();
+    private int maxStack = 2;
+
+    private HiddenClassCompiler() {
+    }
+
+    /**
+     * @param root the tree to compile
+     * @return a predicate which evaluates {@code root}
+     */
+    static NoArgsPredicate compile(ExpressionNode root) {
+        HiddenClassCompiler compiler = new HiddenClassCompiler();
+        if (!compiler.collectLeaves(root)) {
+            return root::evaluate;
+        }
+        byte[] classFile = compiler.generate(root);
+        if (classFile == null) {
+            return root::evaluate;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+            MethodHandle constructor = lookup.findConstructor(
+                    lookup.lookupClass(), MethodType.methodType(void.class, NoArgsPredicate[].class));
+            return (NoArgsPredicate) constructor.invoke((Object) compiler.leaves.toArray(new NoArgsPredicate[0]));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to compile expression", e);
+        }
+    }
+
+    private boolean collectLeaves(ExpressionNode node) {
+        if (node instanceof ExpressionNode.Leaf) {
+            NoArgsPredicate predicate = ((ExpressionNode.Leaf) node).predicate;
+            if (!leafIndexes.containsKey(predicate)) {
+                leafIndexes.put(predicate, leaves.size());
+                leaves.add(predicate);
+            }
+            return leaves.size() <= MAX_LEAVES;
+        }
+        if (node instanceof ExpressionNode.Const) {
+            return true;
+        }
+        if (node instanceof ExpressionNode.Not) {
+            return collectLeaves(((ExpressionNode.Not) node).operand);
+        }
+        if (!(node instanceof ExpressionNode.Junction)) {
+            throw ExpressionNode.unsupported(node);
+        }
+        ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+        for (int i = 0; i < junction.size; i++) {
+            if (!collectLeaves(junction.operands[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] generate(ExpressionNode root) {
+        int thisClass = constants.classRef(CLASS_NAME);
+        int superClass = constants.classRef("java/lang/Object");
+        int predicateClass = constants.classRef(PREDICATE);
+        int objectConstructor = constants.memberRef(10, "java/lang/Object", "<init>", "()V");
+        int fieldDescriptor = constants.utf8(PREDICATE_DESCRIPTOR);
+        int[] fieldNames = new int[leaves.size()];
+        int[] fieldRefs = new int[leaves.size()];
+        for (int i = 0; i < leaves.size(); i++) {
+            fieldNames[i] = constants.utf8("p" + i);
+            fieldRefs[i] = constants.memberRef(9, CLASS_NAME, "p" + i, PREDICATE_DESCRIPTOR);
+        }
+        int testName = constants.utf8("test");
+        int testDescriptor = constants.utf8("()Z");
+        int testRef = constants.memberRef(11, PREDICATE, "test", "()Z");
+        int constructorName = constants.utf8("<init>");
+        int constructorDescriptor = constants.utf8("([" + PREDICATE_DESCRIPTOR + ")V");
+        int codeAttribute = constants.utf8("Code");
+
+        Code constructor = new Code();
+        constructor.u1(ALOAD_0);
+        constructor.u1(INVOKESPECIAL).u2(objectConstructor);
+        for (int i = 0; i < leaves.size(); i++) {
+            constructor.u1(ALOAD_0).u1(ALOAD_1).u1(SIPUSH).u2(i).u1(AALOAD);
+            constructor.u1(PUTFIELD).u2(fieldRefs[i]);
+        }
+        constructor.u1(RETURN);
+
+        Label whenFalse = new Label();
+        jumpIf(root, false, whenFalse, fieldRefs, testRef, 0);
+        code.u1(ICONST_1).u1(IRETURN);
+        code.bind(whenFalse);
+        code.u1(ICONST_0).u1(IRETURN);
+        if (code.length() > MAX_CODE_LENGTH || constructor.length() > MAX_CODE_LENGTH) {
+            return null;
+        }
+
+        Code classFile = new Code();
+        classFile.u4(0xCAFEBABE).u2(0).u2(49);
+        constants.writeTo(classFile);
+        classFile.u2(ACC_FINAL | ACC_SUPER).u2(thisClass).u2(superClass);
+        classFile.u2(1).u2(predicateClass);
+
+        classFile.u2(leaves.size());
+        for (int fieldName : fieldNames) {
+            classFile.u2(ACC_PRIVATE | ACC_FINAL).u2(fieldName).u2(fieldDescriptor).u2(0);
+        }
+
+        classFile.u2(2);
+        writeMethod(classFile, constructorName, constructorDescriptor, codeAttribute, 3, 2, constructor);
+        writeMethod(classFile, testName, testDescriptor, codeAttribute, maxStack, 1, code);
+        classFile.u2(0);
+        return classFile.toByteArray();
+    }
+
+    private static void writeMethod(Code classFile, int name, int descriptor, int codeAttribute,
+                                    int maxStack, int maxLocals, Code body) {
+        classFile.u2(ACC_PUBLIC).u2(name).u2(descriptor).u2(1);
+        classFile.u2(codeAttribute).u4(12 + body.length());
+        classFile.u2(maxStack).u2(maxLocals).u4(body.length());
+        body.writeTo(classFile);
+        classFile.u2(0).u2(0);
+    }
+
+    /**
+     * Emits code which jumps to {@code target} when {@code node} evaluates to {@code value}
+     * and falls through otherwise.
+     */
+    private void jumpIf(ExpressionNode node, boolean value, Label target, int[] fieldRefs, int testRef, int stack) {
+        if (node instanceof ExpressionNode.Not) {
+            jumpIf(((ExpressionNode.Not) node).operand, !value, target, fieldRefs, testRef, stack);
+            return;
+        }
+        if (node instanceof ExpressionNode.Const) {
+            if (((ExpressionNode.Const) node).value == value) {
+                code.jump(GOTO, target);
+            }
+            return;
+        }
+        if (node instanceof ExpressionNode.Leaf || node instanceof ExpressionNode.Xor) {
+            pushValue(node, fieldRefs, testRef, stack);
+            code.jump(value ? IFNE : IFEQ, target);
+            return;
+        }
+        if (!(node instanceof ExpressionNode.Junction)) {
+            throw ExpressionNode.unsupported(node);
+        }
+        ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+        // AND jumps as soon as an operand is false, OR as soon as an operand is true
+        boolean decisive = junction instanceof ExpressionNode.Or;
+        if (junction.size == 0) {
+            if (value != decisive) {
+                code.jump(GOTO, target);
+            }
+            return;
+        }
+        if (value == decisive) {
+            for (int i = 0; i < junction.size; i++) {
+                jumpIf(junction.operands[i], decisive, target, fieldRefs, testRef, stack);
+            }
+            return;
+        }
+        Label skip = new Label();
+        for (int i = 0; i < junction.size - 1; i++) {
+            jumpIf(junction.operands[i], decisive, skip, fieldRefs, testRef, stack);
+        }
+        jumpIf(junction.operands[junction.size - 1], value, target, fieldRefs, testRef, stack);
+        code.bind(skip);
+    }
+
+    /**
+     * Emits code which pushes the value of {@code node} onto the operand stack.
+     */
+    private void pushValue(ExpressionNode node, int[] fieldRefs, int testRef, int stack) {
+        if (node instanceof ExpressionNode.Leaf) {
+            int index = leafIndexes.get(((ExpressionNode.Leaf) node).predicate);
+            code.u1(ALOAD_0).u1(GETFIELD).u2(fieldRefs[index]);
+            code.u1(INVOKEINTERFACE).u2(testRef).u1(1).u1(0);
+            maxStack = Math.max(maxStack, stack + 1);
+            return;
+        }
+        if (node instanceof ExpressionNode.Xor) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            code.u1(ICONST_0);
+            for (int i = 0; i < junction.size; i++) {
+                pushValue(junction.operands[i], fieldRefs, testRef, stack + 1);
+                code.u1(IXOR);
+            }
+            maxStack = Math.max(maxStack, stack + 2);
+            return;
+        }
+        Label whenFalse = new Label();
+        Label end = new Label();
+        jumpIf(node, false, whenFalse, fieldRefs, testRef, stack);
+        code.u1(ICONST_1);
+        code.jump(GOTO, end);
+        code.bind(whenFalse);
+        code.u1(ICONST_0);
+        code.bind(end);
+        maxStack = Math.max(maxStack, stack + 1);
+    }
+
+    private static final class Label {
+
+        private int position = -1;
+        private final List<Integer> jumps = new ArrayList<>();
+
+    }
+
+    private static final class Code {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final List<Label> labels = new ArrayList<>();
+        private byte[] patched;
+
+        Code u1(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        Code u4(int value) {
+            return u2(value >>> 16).u2(value);
+        }
+
+        int length() {
+            return bytes.size();
+        }
+
+        void jump(int opcode, Label target) {
+            if (target.jumps.isEmpty()) {
+                labels.add(target);
+            }
+            target.jumps.add(length());
+            u1(opcode).u2(0);
+        }
+
+        void bind(Label label) {
+            label.position = length();
+        }
+
+        void writeTo(Code out) {
+            out.bytes.writeBytes(toByteArray());
+        }
+
+        byte[] toByteArray() {
+            if (patched == null) {
+                patched = bytes.toByteArray();
+                labels.forEach(label -> patch(patched, label));
+            }
+            return patched;
+        }
+
+        private static void patch(byte[] code, Label label) {
+            for (int jump : label.jumps) {
+                int offset = label.position - jump;
+                code[jump + 1] = (byte) (offset >>> 8);
+                code[jump + 2] = (byte) offset;
+            }
+        }
+
+    }
+
+    private static final class ConstantPool {
+
+        private final Code entries = new Code();
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return indexes.computeIfAbsent("U" + value, key -> {
+                entries.u1(1).u2(value.length());
+                for (int i = 0; i < value.length(); i++) {
+                    entries.u1(value.charAt(i));
+                }
+                return count++;
+            });
+        }
+
+        int classRef(String name) {
+            int nameIndex = utf8(name);
+            return indexes.computeIfAbsent("C" + name, key -> {
+                entries.u1(7).u2(nameIndex);
+                return count++;
+            });
+        }
+
+        int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = indexes.computeIfAbsent("N" + name + ":" + descriptor, key -> {
+                entries.u1(12).u2(nameIndex).u2(descriptorIndex);
+                return count++;
+            });
+            return indexes.computeIfAbsent(tag + owner + "." + name + ":" + descriptor, key -> {
+                entries.u1(tag).u2(ownerIndex).u2(nameAndType);
+                return count++;
+            });
+        }
+
+        void writeTo(Code out) {
+            out.u2(count);
+            entries.writeTo(out);
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies with power of two buckets: bucket {@code i} counts the latencies
+ * from {@code 2^(i-1)} inclusive to {@code 2^i} nanoseconds exclusive, bucket {@code 0} counts zero latencies.
+ * <br> Recording is a single {@link LongAdder} increment, so threads recording at once do not contend.
+ *
+ * @author EvseevDA
+ * @see EvaluationMetrics
+ * @since 0.10.0
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+        totalNanos.add(value);
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return the mean of the recorded latencies in nanoseconds, or {@code NaN} if nothing is recorded
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? Double.NaN : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile, precise up to a factor of two.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the upper bound of the bucket containing the percentile in nanoseconds,
+     * or {@code 0} if nothing is recorded
+     */
+    public long percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be from 0 to 100: " + percentile);
+        }
+        long[] counts = bucketCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                // 2^63 - 1 for the last bucket, thanks to overflow
+                return (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of latencies recorded in each bucket
+     */
+    public long[] bucketCounts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+}
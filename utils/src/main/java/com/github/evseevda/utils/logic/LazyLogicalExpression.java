@@ -0,0 +1,735 @@
+package com.github.evseevda.utils.logic;
+
+import java.lang.invoke.MethodHandle;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The main goal of this class is to provide the ability to create lazy logical expressions.
+ * <br>In addition, the goal pursued by the {@code EagerLogicalExpression} class is also fulfilled,
+ * which consists of replacing native Java logical operators (&&, ||, ^, !) with English equivalent words.
+ * <br>Expressions passed to the methods of this class <b>are not calculated immediately</b>,
+ * but only during the call of the {@code result()} method, so the client of this class gets the
+ * opportunity to control the moment when the expression is actually calculated.
+ * <br>Instances of this class are immutable: every combining method returns a new expression,
+ * which shares the already built part of the tree with the original one. An expression can be kept
+ * in a {@code static final} field, evaluated by many threads at once and extended by any of them
+ * without affecting the others.
+ * @since 0.9.0
+ * @see EagerLogicalExpression
+ * @see com.github.evseevda.LazyLogicalExpressionUsageExamples
+ * @author EvseevDA
+ */
+public class LazyLogicalExpression {
+
+    private final ExpressionNode root;
+    private final String name;
+
+    private LazyLogicalExpression(ExpressionNode root) {
+        this(root, null);
+    }
+
+    private LazyLogicalExpression(ExpressionNode root, String name) {
+        Objects.requireNonNull(root);
+        this.root = root;
+        this.name = name;
+    }
+
+    /**
+     * Wraps a tree built outside of this class, for example a decoded one.
+     */
+    static LazyLogicalExpression of(ExpressionNode root, String name) {
+        return new LazyLogicalExpression(root, name);
+    }
+
+    /**
+     * Creates a new logical expression.
+     * <br> Calling this method is equivalent to natively putting
+     * parentheses around the expression.
+     * <br> If expr is called once in a method call chain of this class,
+     * the logical operators are called in direct order and in turn.
+     * <blockquote>
+     * <pre>
+     *      {@code expr(someClass::condition1).and(someClass::condition2).result()}
+     *     </pre>
+     * </blockquote>
+     * is equals to
+     * <blockquote><pre>
+     *      {@code someClass.condition1() && someClass.condition2()}
+     * </pre></blockquote>
+     * <br> If expr occurs twice, the results of the expressions written before the second expr
+     * will be calculated first, then the results of the expressions after the second expr
+     * will be calculated, and then the results of the expressions will be combined.
+     * When expr occurs more than twice, the situation is similar.
+     * <blockquote>
+     * <pre>
+     *      {@code expr(someClass::condition1).and(someClass::condition2).or(expr(someClass::condition3).or(someClass::condition4)).result()}
+     *     </pre>
+     * </blockquote>
+     * is equals to
+     * <blockquote><pre>
+     *      {@code (someClass.condition1() && someClass.condition2()) || (someClass.condition3() || someClass.condition4())}
+     * </pre></blockquote>
+     *
+     * @param predicate the first expression in a chain of expressions
+     * @return a LazyLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions
+     */
+    public static LazyLogicalExpression expr(NoArgsPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return new LazyLogicalExpression(ExpressionNode.leaf(predicate));
+    }
+
+    /**
+     * In general, it is similar to expr with a NoArgsPredicate parameter, but now the main expression is another expression.
+     * <br> This method is needed to create nested expressions.
+     * <br> Example:
+     * <blockquote>
+     * <pre>
+     *      {@code expr(someClass::condition1).and(expr(expr(someClass::condition2).or(someClass::condition3).and(not(someClass::condition4)))).result()}
+     *     </pre>
+     * </blockquote>
+     * is equals to
+     * <blockquote><pre>
+     *      {@code someClass.condition1() && ((someClass.condition2() || someClass.condition3()) && !someClass.condition4())}
+     * </pre></blockquote>
+     *
+     * @param expression the first expression in a chain of expressions
+     * @return a LazyLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions
+     */
+    public static LazyLogicalExpression expr(LazyLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return expression;
+    }
+
+    /**
+     * Creates a new logical expression with a constant result.
+     * <br> Unlike {@code expr(() -> true)}, a constant is visible to {@link #optimize()}
+     * and is folded away when the expression is optimized.
+     *
+     * @param value the result of the expression
+     * @return a LazyLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions
+     * @since 0.10.0
+     */
+    public static LazyLogicalExpression constant(boolean value) {
+        return new LazyLogicalExpression(ExpressionNode.constant(value));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical AND.
+     * <br> Example:
+     * <blockquote>
+     * <pre>
+     *      {@code allOf(List.of(someClass::condition1, someClass::condition2, someClass::condition3)).result()}
+     *     </pre>
+     * </blockquote>
+     * is equals to
+     * <blockquote><pre>
+     *      {@code someClass.condition1() && someClass.condition2() && someClass.condition3()}
+     * </pre></blockquote>
+     *
+     * @param predicates which will be aggregated
+     * @return a LazyLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code true}.</h3>
+     */
+    public static LazyLogicalExpression allOf(Iterable<NoArgsPredicate> predicates) {
+        return new LazyLogicalExpression(ExpressionNode.allOf(toLeaves(predicates)));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical AND.
+     * <br> Example:
+     * <blockquote>
+     * <pre>
+     *      {@code allOf(someClass::condition1, someClass::condition2, someClass::condition3).result()}
+     *     </pre>
+     * </blockquote>
+     * is equals to
+     * <blockquote><pre>
+     *      {@code someClass.condition1() && someClass.condition2() && someClass.condition3()}
+     * </pre></blockquote>
+     *
+     * @param predicates which will be aggregated
+     * @return a LazyLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code true}.</h3>
+     */
+    public static LazyLogicalExpression allOf(NoArgsPredicate... predicates) {
+        return allOf(Arrays.asList(predicates));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical OR.
+     * <br> Example:
+     * <blockquote>
+     * <pre>
+     *      {@code anyOf(List.of(someClass::condition1, someClass::condition2, someClass::condition3)).result()}
+     *     </pre>
+     * </blockquote>
+     * is equals to
+     * <blockquote><pre>
+     *      {@code someClass.condition1() || someClass.condition2() || someClass.condition3()}
+     * </pre></blockquote>
+     *
+     * @param predicates which will be aggregated
+     * @return a LazyLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code false}.</h3>
+     */
+    public static LazyLogicalExpression anyOf(Iterable<NoArgsPredicate> predicates) {
+        return new LazyLogicalExpression(ExpressionNode.anyOf(toLeaves(predicates)));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical OR.
+     * <br> Example:
+     * <blockquote>
+     * <pre>
+     *      {@code anyOf(someClass::condition1, someClass::condition2, someClass::condition3).result()}
+     *     </pre>
+     * </blockquote>
+     * is equals to
+     * <blockquote><pre>
+     *      {@code someClass.condition1() || someClass.condition2() || someClass.condition3()}
+     * </pre></blockquote>
+     *
+     * @param predicates which will be aggregated
+     * @return a LazyLogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code false}.</h3>
+     */
+    public static LazyLogicalExpression anyOf(NoArgsPredicate... predicates) {
+        return anyOf(Arrays.asList(predicates));
+    }
+
+    private static ExpressionNode[] toLeaves(Iterable<NoArgsPredicate> predicates) {
+        Objects.requireNonNull(predicates);
+
+        List<ExpressionNode> leaves = new ArrayList<>();
+        for (NoArgsPredicate predicate : predicates) {
+            leaves.add(ExpressionNode.leaf(predicate));
+        }
+        return leaves.toArray(new ExpressionNode[0]);
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using logical AND.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LazyLogicalExpression and(NoArgsPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return new LazyLogicalExpression(ExpressionNode.and(root, ExpressionNode.leaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using logical AND.
+     *
+     * @param expression that will be merged with the current one
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LazyLogicalExpression and(LazyLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+
+        return new LazyLogicalExpression(ExpressionNode.and(root, expression.root));
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using logical OR.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LazyLogicalExpression or(NoArgsPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return new LazyLogicalExpression(ExpressionNode.or(root, ExpressionNode.leaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using logical OR.
+     *
+     * @param expression that will be merged with the current one
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LazyLogicalExpression or(LazyLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+
+        return new LazyLogicalExpression(ExpressionNode.or(root, expression.root));
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using XOR.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LazyLogicalExpression xor(NoArgsPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return new LazyLogicalExpression(ExpressionNode.xor(root, ExpressionNode.leaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using XOR.
+     *
+     * @param expression that will be merged with the current one
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LazyLogicalExpression xor(LazyLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+
+        return new LazyLogicalExpression(ExpressionNode.xor(root, expression.root));
+    }
+
+    /**
+     * Applies logical NOT to the given predicate.
+     *
+     * @param predicate to which the operation will be applied
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public static LazyLogicalExpression not(NoArgsPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return new LazyLogicalExpression(ExpressionNode.not(ExpressionNode.leaf(predicate)));
+    }
+
+    /**
+     * Applies logical NOT to the given expression.
+     *
+     * @param expression to which the operation will be applied
+     * @return a LazyLogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public static LazyLogicalExpression not(LazyLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return new LazyLogicalExpression(ExpressionNode.not(expression.root));
+    }
+
+    /**
+     * Calculates the result of an expression, evaluating the operands of its top-level
+     * {@code and/or/xor} chain (or {@code allOf/anyOf}) concurrently in the given executor.
+     * <br> The result is returned as soon as it is known: on the first {@code false} operand of AND
+     * and on the first {@code true} operand of OR. The operands that are still running are then
+     * cancelled with interruption, so blocking predicates should respond to interruption.
+     * <br> This is useful when the predicates block on I/O: the latency of the evaluation is close to
+     * the latency of the slowest predicate that actually decides the result instead of the sum
+     * of all latencies. On JDK 21 and later a virtual thread per task executor is a good fit.
+     * <br> An exception thrown by an operand is relayed to the caller only if the other operands
+     * do not decide the result.
+     * <br><b>The sibling operands run at the same time, so a left operand does not guard the right one</b>:
+     * in {@code expr(() -> user != null).and(() -> user.isActive())} the right operand still runs, and throws,
+     * when {@code user} is {@code null}. The result is right only because the exception is discarded once
+     * the left operand decides it; an operand with side effects performs them regardless of its guard.
+     * Group the dependent operands into a nested expression, which is evaluated as a single operand.
+     * <br> Only the top-level junction is parallelised: every operand, including a nested
+     * {@code and/or/xor}, is evaluated sequentially and with short-circuiting by a single task,
+     * and an expression whose top level is a single predicate is evaluated in the calling thread.
+     *
+     * @param executor executor in which the operands are evaluated
+     * @return the logical result of an expression
+     * @throws java.util.concurrent.CancellationException if the calling thread is interrupted while waiting
+     * @since 0.10.0
+     */
+    public boolean result(ExecutorService executor) {
+        Objects.requireNonNull(executor);
+        return ParallelEvaluator.evaluate(root, executor);
+    }
+
+    /**
+     * Calculates the result of an expression within the given time budget.
+     * <br> A predicate is not called once the budget is spent, an {@link EvaluationTimeoutException}
+     * is thrown instead. Predicates created by {@link NoArgsPredicate#withTimeout(NoArgsPredicate, Duration,
+     * TimeoutFallback)} wait for their target at most for the remaining budget and then apply their fallback,
+     * other predicates cannot be interrupted and may overrun the budget.
+     * <br> When the budget is nearly spent, the operands of an AND or OR node whose results are already
+     * known, such as constants or memoized and cached predicates, are checked first and decide the node
+     * without calling the slower operands.
+     * <blockquote>
+     * <pre>
+     *      {@code allOf(withTimeout(remoteCheck, Duration.ofMillis(50), TimeoutFallback.FALSE), localCheck)}
+     *      {@code         .result(Duration.ofMillis(80))}
+     *     </pre>
+     * </blockquote>
+     *
+     * @param budget how long the evaluation may take
+     * @return the logical result of an expression
+     * @throws EvaluationTimeoutException if the budget is spent before a predicate without a timeout is called
+     * @throws IllegalArgumentException if the budget is negative
+     * @since 0.10.0
+     */
+    public boolean result(Duration budget) {
+        Objects.requireNonNull(budget);
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("Budget must not be negative: " + budget);
+        }
+        long budgetNanos;
+        try {
+            budgetNanos = budget.toNanos();
+        } catch (ArithmeticException e) {
+            budgetNanos = Long.MAX_VALUE;
+        }
+        return DeadlineEvaluator.evaluate(root, budgetNanos);
+    }
+
+    /**
+     * Returns the tree of the current state of the expression.
+     * <br> The tree is immutable, further changes of the expression do not affect it.
+     *
+     * @return the root node of the expression tree
+     * @see ExpressionNode
+     * @since 0.10.0
+     */
+    public ExpressionNode tree() {
+        return root;
+    }
+
+    /**
+     * Creates a simplified copy of the expression.
+     * <br> Constants are folded, double negations are removed, negations are pushed down to the predicates,
+     * duplicated and absorbed operands are removed and nested chains of the same operator are flattened.
+     * <br> <b>Predicates are assumed to be free of side effects</b>: the optimized expression
+     * may call some of them fewer times than the original one or not call them at all.
+     *
+     * @return a new expression that is equivalent to the current one
+     * @see ExpressionOptimizer
+     * @since 0.10.0
+     */
+    public LazyLogicalExpression optimize() {
+        return new LazyLogicalExpression(ExpressionOptimizer.optimize(root), name);
+    }
+
+    /**
+     * Creates an adaptive copy of the expression which reorders the operands of its AND and OR nodes
+     * at runtime, so that cheap operands which are likely to short-circuit are evaluated first.
+     * <br> Every 64th evaluation on average is measured and the operands are reordered
+     * every 1024 measured evaluations.
+     * <br> Use {@link NoArgsPredicate#orderSensitive(NoArgsPredicate)} for predicates that must keep their position.
+     *
+     * @return an adaptive expression that is equivalent to the current one
+     * @see AdaptiveExpression
+     * @since 0.10.0
+     */
+    public AdaptiveExpression adaptive() {
+        return adaptive(AdaptiveExpression.DEFAULT_SAMPLING_RATE, AdaptiveExpression.DEFAULT_REORDER_INTERVAL);
+    }
+
+    /**
+     * Creates an adaptive copy of the expression which reorders the operands of its AND and OR nodes
+     * at runtime, so that cheap operands which are likely to short-circuit are evaluated first.
+     *
+     * @param samplingRate    one of {@code samplingRate} evaluations on average is measured
+     * @param reorderInterval the number of measured evaluations between two reorderings
+     * @return an adaptive expression that is equivalent to the current one
+     * @see AdaptiveExpression
+     * @since 0.10.0
+     */
+    public AdaptiveExpression adaptive(int samplingRate, int reorderInterval) {
+        return new AdaptiveExpression(root, samplingRate, reorderInterval);
+    }
+
+    /**
+     * Compiles the current state of the expression into a dedicated class whose {@code test()} method
+     * is straight-line short-circuit bytecode over the predicates of the expression.
+     * <br> Each compiled expression gets its own call sites, so the JIT can inline its predicates
+     * the same way as in handwritten {@code &&/||/^/!} code. Evaluation of the compiled predicate
+     * does not allocate.
+     * <br> Compilation is expensive compared to evaluation, it is meant to be done once
+     * for an expression that is evaluated many times.
+     * <br><b>Expressions that are too large to fit into a single method are silently not compiled</b>:
+     * with more than 2048 distinct predicates, or with more than 32767 bytes of generated bytecode,
+     * the returned predicate simply evaluates the tree the same way as {@link #result()}, without
+     * an exception or any other notice, so it is not faster than the uncompiled expression.
+     * {@link CompilationStrategy#METHOD_HANDLE} compiles expressions of any size.
+     *
+     * @return a predicate that calculates the result of the expression
+     * @see #compile(CompilationStrategy)
+     * @since 0.10.0
+     */
+    public NoArgsPredicate compile() {
+        return compile(CompilationStrategy.HIDDEN_CLASS);
+    }
+
+    /**
+     * Compiles the current state of the expression into a predicate using the given strategy.
+     *
+     * @param strategy the way the expression is compiled
+     * @return a predicate that calculates the result of the expression
+     * @see CompilationStrategy
+     * @since 0.10.0
+     */
+    public NoArgsPredicate compile(CompilationStrategy strategy) {
+        Objects.requireNonNull(strategy);
+
+        switch (strategy) {
+            case HIDDEN_CLASS:
+                return HiddenClassCompiler.compile(root);
+            case METHOD_HANDLE:
+                return MethodHandleCompiler.compile(root);
+            default:
+                throw new IllegalArgumentException("Unknown compilation strategy: " + strategy);
+        }
+    }
+
+    /**
+     * Converts the current state of the expression into a single method handle of type {@code ()boolean}.
+     * <br> No classes are generated, the handle is built from method handle combinators only.
+     * When the handle is stored in a {@code static final} field or used as the target of a
+     * {@link java.lang.invoke.ConstantCallSite}, the JIT inlines and folds the whole expression.
+     * <blockquote>
+     * <pre>
+     *      {@code static final MethodHandle RULE = expr(someClass::condition1).and(someClass::condition2).toMethodHandle();}
+     *      {@code boolean result = (boolean) RULE.invokeExact();}
+     *     </pre>
+     * </blockquote>
+     *
+     * @return a method handle that calculates the result of the expression
+     * @since 0.10.0
+     */
+    public MethodHandle toMethodHandle() {
+        return MethodHandleCompiler.toMethodHandle(root);
+    }
+
+    /**
+     * Creates a predicate which calculates every predicate or subexpression occurring several times
+     * in the expression at most once per evaluation.
+     * <blockquote>
+     * <pre>
+     *      {@code expr(a).and(b).or(expr(a).and(c)).eliminateCommonSubexpressions().test()}
+     *     </pre>
+     * </blockquote>
+     * calls {@code a} once, while {@link #result()} may call it twice.
+     * <br> Predicates are identified by reference, subexpressions are equal if they consist of the same
+     * predicates combined in the same way. The results are kept only during one evaluation,
+     * the next evaluation calls the predicates again.
+     *
+     * @return a predicate that calculates the result of the expression
+     * @since 0.10.0
+     */
+    public NoArgsPredicate eliminateCommonSubexpressions() {
+        return new CommonSubexpressionEvaluator(root);
+    }
+
+    /**
+     * Compiles the expression into a reduced ordered binary decision diagram.
+     * <br> An evaluation of the diagram calls each predicate at most once, even if it occurs
+     * in many branches of the expression, and a diagram of an expression which is always {@code true}
+     * or always {@code false} calls no predicates at all.
+     * <br> Predicates are identified by reference, so this is useful for expressions built
+     * from a fixed set of predicates kept in variables or fields.
+     *
+     * @return a predicate that calculates the result of the expression
+     * @throws IllegalStateException if the diagram has more than {@value BinaryDecisionDiagram#MAX_NODES} nodes
+     * @see BinaryDecisionDiagram
+     * @since 0.10.0
+     */
+    public BinaryDecisionDiagram decisionDiagram() {
+        return BinaryDecisionDiagram.of(root);
+    }
+
+    /**
+     * Checks whether the expression has the same result as the given one for any results of their predicates,
+     * so one of them can be dropped.
+     * <br> Predicates are identified by reference, the check does not call them.
+     *
+     * @param expression the expression to compare with
+     * @return {@code true} if the expressions are logically equivalent
+     * @throws IllegalStateException if the decision diagrams of the expressions have more than
+     *                               {@value BinaryDecisionDiagram#MAX_NODES} nodes
+     * @see #decisionDiagram()
+     * @since 0.10.0
+     */
+    public boolean isEquivalentTo(LazyLogicalExpression expression) {
+        Objects.requireNonNull(expression);
+        return BinaryDecisionDiagram.equivalent(root, expression.root);
+    }
+
+    /**
+     * Creates a residual expression in which the predicates with known results are replaced by those results
+     * and folded away.
+     * <br> Useful when some predicates are fixed for a batch, a tenant or a day:
+     * <blockquote>
+     * <pre>
+     *      {@code LazyLogicalExpression todaysRule = rule.specialize(Map.of(calendar::isHoliday, false));}
+     *     </pre>
+     * </blockquote>
+     * Only the constants are folded, the remaining predicates keep their order. Predicates are looked up
+     * in the map by {@code equals}, which is reference equality for lambdas and method references,
+     * so the same instances must be used in the expression and in the map.
+     *
+     * @param facts the known results of predicates of the expression
+     * @return an expression which calls only the predicates that are not in {@code facts}
+     * and has the same result as the current one when they return the given results
+     * @since 0.10.0
+     */
+    public LazyLogicalExpression specialize(Map<NoArgsPredicate, Boolean> facts) {
+        Objects.requireNonNull(facts);
+        ExpressionNode specialized = PartialEvaluator.specialize(root, facts);
+        return specialized == root ? this : new LazyLogicalExpression(specialized, name);
+    }
+
+    /**
+     * Calculates the result of the expression in three-valued logic, without calling any predicate.
+     * <br> The predicates in {@code facts} have the given results, the others are unknown. The result is known
+     * when the known predicates decide it by themselves, for example a {@code false} operand of AND.
+     * Each occurrence of an unknown predicate is treated on its own, so {@code a || !a} is unknown
+     * when {@code a} is; {@link #decisionDiagram()} of the specialized expression can prove such cases.
+     *
+     * @param facts the known results of predicates of the expression
+     * @return {@link TruthValue#TRUE} or {@link TruthValue#FALSE} if the result does not depend on
+     * the unknown predicates, otherwise {@link TruthValue#UNKNOWN}
+     * @see #specialize(Map)
+     * @since 0.10.0
+     */
+    public TruthValue partialResult(Map<NoArgsPredicate, Boolean> facts) {
+        Objects.requireNonNull(facts);
+        return PartialEvaluator.evaluate(root, facts);
+    }
+
+    /**
+     * Creates a reactive copy of the expression, which keeps its result up to date as its signals change
+     * and publishes the result each time it flips.
+     * <br> The expression must consist of {@link BooleanSignal BooleanSignals} and constants only.
+     * Subscribers are notified in {@link ForkJoinPool#commonPool()}.
+     * <blockquote>
+     * <pre>
+     *      {@code ReactiveExpression admission = expr(not(maintenance)).and(capacityAvailable).reactive();}
+     *      {@code admission.subscribe(subscriber);}
+     *     </pre>
+     * </blockquote>
+     * Polling {@link #result()} costs a walk over the expression each time, while a reactive expression
+     * does work only when a signal changes, and only on the paths from that signal to the root.
+     *
+     * @return a reactive expression that is equivalent to the current one
+     * @throws IllegalArgumentException if the expression has a predicate which is not a {@link BooleanSignal}
+     * @see ReactiveExpression
+     * @since 0.10.0
+     */
+    public ReactiveExpression reactive() {
+        return reactive(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #reactive()}, but notifies the subscribers in the given executor.
+     *
+     * @param executor executor in which the subscribers are notified
+     * @return a reactive expression that is equivalent to the current one
+     * @throws IllegalArgumentException if the expression has a predicate which is not a {@link BooleanSignal}
+     * @see ReactiveExpression
+     * @since 0.10.0
+     */
+    public ReactiveExpression reactive(Executor executor) {
+        return new ReactiveExpression(root, executor);
+    }
+
+    /**
+     * Creates a copy of the expression which reports its evaluations to the given listener.
+     * <br> Every 64th evaluation on average is also timed.
+     * <blockquote>
+     * <pre>
+     *      {@code EvaluationMetrics metrics = new EvaluationMetrics();}
+     *      {@code MonitoredExpression rule = expr(a).and(b).monitored(metrics);}
+     *     </pre>
+     * </blockquote>
+     * The current expression is not affected and keeps being evaluated without any overhead.
+     *
+     * @param listener the listener of the evaluations
+     * @return a monitored expression that is equivalent to the current one
+     * @see MonitoredExpression
+     * @since 0.10.0
+     */
+    public MonitoredExpression monitored(EvaluationListener listener) {
+        return monitored(listener, MonitoredExpression.DEFAULT_SAMPLING_RATE);
+    }
+
+    /**
+     * Creates a copy of the expression which reports its evaluations to the given listener.
+     *
+     * @param listener     the listener of the evaluations
+     * @param samplingRate one of {@code samplingRate} evaluations on average is timed
+     * @return a monitored expression that is equivalent to the current one
+     * @see MonitoredExpression
+     * @since 0.10.0
+     */
+    public MonitoredExpression monitored(EvaluationListener listener, int samplingRate) {
+        return new MonitoredExpression(root, listener, samplingRate);
+    }
+
+    /**
+     * Calculates the result of the expression and explains it: which predicates determined the result,
+     * which ones were skipped by short-circuiting and how long each call took.
+     * <br> Explaining costs more than {@link #result()}, it is meant for debugging and for a sampled
+     * fraction of the evaluations in production, the other evaluations are not affected:
+     * <blockquote>
+     * <pre>
+     *      {@code if (ThreadLocalRandom.current().nextInt(10_000) == 0) {}
+     *      {@code     Explanation explanation = rule.explain();}
+     *      {@code     log.debug("rule: {}", explanation);}
+     *      {@code     return explanation.result();}
+     *      {@code }}
+     *      {@code return rule.result();}
+     *     </pre>
+     * </blockquote>
+     *
+     * @return the result of the expression with its explanation
+     * @see Explanation
+     * @since 0.10.0
+     */
+    public Explanation explain() {
+        return Explanation.of(root);
+    }
+
+    /**
+     * Creates a copy of the expression with the given name.
+     * <br> The name identifies the expression in the {@link ExpressionEvaluationEvent} and
+     * {@link LeafEvaluationEvent} Flight Recorder events. Expressions combined from a named one
+     * do not inherit its name.
+     *
+     * @param name the name of the expression
+     * @return an expression that is equivalent to the current one and has the given name
+     * @since 0.10.0
+     */
+    public LazyLogicalExpression named(String name) {
+        Objects.requireNonNull(name);
+        return new LazyLogicalExpression(root, name);
+    }
+
+    /**
+     * @return the name of the expression, or {@code null} if it is not named
+     * @see #named(String)
+     * @since 0.10.0
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Calculates the result of an expression.
+     * <br> Chains of the same operator and predicates aggregated by {@code allOf/anyOf}
+     * are evaluated in a loop, so the stack depth does not depend on the length of a chain.
+     * <br> While a Flight Recorder recording is running, the evaluation emits the
+     * {@link ExpressionEvaluationEvent} and {@link LeafEvaluationEvent} events enabled in it.
+     * @return the logical result of an expression
+     */
+    public boolean result() {
+        if (FlightRecorderSupport.recording && FlightRecorderEvaluator.isEnabled()) {
+            return FlightRecorderEvaluator.evaluate(root, name);
+        }
+        return root.evaluate();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.github.evseevda.utils.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The Flight Recorder event of one call of a predicate during {@link LazyLogicalExpression#result()}.
+ * <br> Predicates are called far more often than expressions are evaluated, so the event is disabled
+ * by default and has no stack trace. It is enabled in the settings of a recording under the name
+ * {@code com.github.evseevda.utils.logic.LeafEvaluation}, usually together with a threshold.
+ *
+ * @author EvseevDA
+ * @see ExpressionEvaluationEvent
+ * @since 0.10.0
+ */
+@Name("com.github.evseevda.utils.logic.LeafEvaluation")
+@Label("Leaf Evaluation")
+@Category({"Logical Expressions"})
+@Description("Call of a predicate of a lazy logical expression")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public final class LeafEvaluationEvent extends jdk.jfr.Event {
+
+    @Label("Expression")
+    @Description("Name of the expression, see LazyLogicalExpression.named")
+    String expression;
+
+    @Label("Predicate")
+    String predicate;
+
+    @Label("Result")
+    boolean result;
+
+    LeafEvaluationEvent() {
+    }
+
+}
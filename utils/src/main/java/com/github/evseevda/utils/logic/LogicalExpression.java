@@ -0,0 +1,298 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The main goal of this class is to provide the ability to create logical expressions
+ * which are built once and then calculated against many contexts.
+ * <br>Unlike {@link LazyLogicalExpression}, whose predicates take no arguments and therefore have to capture
+ * the data they check, the predicates of this class receive a context of type {@code C}
+ * during the call of the {@link #result(Object)} method. A single expression, for example a rule
+ * built at startup, can be shared by all requests: calculating it does not allocate.
+ * <blockquote>
+ * <pre>
+ *      {@code LogicalExpression<User> canBuy = expr(User::isNotLocked).and(user -> user.balance() >= PRICE);}
+ *      {@code canBuy.result(user)}
+ *     </pre>
+ * </blockquote>
+ * is equals to
+ * <blockquote><pre>
+ *      {@code user.isNotLocked() && user.balance() >= PRICE}
+ * </pre></blockquote>
+ * <br>Instances of this class are immutable, every combining method returns a new expression.
+ *
+ * @param <C> the type of the context the predicates are tested against
+ * @since 0.10.0
+ * @see LazyLogicalExpression
+ * @author EvseevDA
+ */
+public final class LogicalExpression<C> {
+
+    private final ExpressionNode root;
+
+    LogicalExpression(ExpressionNode root) {
+        this.root = root;
+    }
+
+    /**
+     * Creates a new logical expression.
+     * <br> Calling this method is equivalent to natively putting
+     * parentheses around the expression.
+     *
+     * @param predicate the first expression in a chain of expressions
+     * @param <C>       the type of the context
+     * @return a LogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions
+     */
+    public static <C> LogicalExpression<C> expr(Predicate<? super C> predicate) {
+        return new LogicalExpression<>(ExpressionNode.contextLeaf(predicate));
+    }
+
+    /**
+     * In general, it is similar to expr with a Predicate parameter, but now the main expression is another expression.
+     * <br> This method is needed to create nested expressions.
+     *
+     * @param expression the first expression in a chain of expressions
+     * @param <C>        the type of the context
+     * @return a LogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions
+     */
+    public static <C> LogicalExpression<C> expr(LogicalExpression<C> expression) {
+        Objects.requireNonNull(expression);
+        return expression;
+    }
+
+    /**
+     * Aggregates all passed predicates with logical AND.
+     *
+     * @param predicates which will be aggregated
+     * @param <C>        the type of the context
+     * @return a LogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code true}.</h3>
+     */
+    public static <C> LogicalExpression<C> allOf(Iterable<? extends Predicate<? super C>> predicates) {
+        return new LogicalExpression<>(ExpressionNode.allOf(toLeaves(predicates)));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical AND.
+     *
+     * @param predicates which will be aggregated
+     * @param <C>        the type of the context
+     * @return a LogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code true}.</h3>
+     */
+    @SafeVarargs
+    public static <C> LogicalExpression<C> allOf(Predicate<? super C>... predicates) {
+        // the array is only read here, handing it to another method would trip -Xlint:varargs
+        ExpressionNode[] leaves = new ExpressionNode[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            leaves[i] = ExpressionNode.contextLeaf(predicates[i]);
+        }
+        return new LogicalExpression<>(ExpressionNode.allOf(leaves));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical OR.
+     *
+     * @param predicates which will be aggregated
+     * @param <C>        the type of the context
+     * @return a LogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code false}.</h3>
+     */
+    public static <C> LogicalExpression<C> anyOf(Iterable<? extends Predicate<? super C>> predicates) {
+        return new LogicalExpression<>(ExpressionNode.anyOf(toLeaves(predicates)));
+    }
+
+    /**
+     * Aggregates all passed predicates with logical OR.
+     *
+     * @param predicates which will be aggregated
+     * @param <C>        the type of the context
+     * @return a LogicalExpression object that serves as the
+     * basis for constructing the subsequent chain of expressions.
+     * <b><h3>If {@code predicates} is empty
+     * then returned expression will contain {@code false}.</h3>
+     */
+    @SafeVarargs
+    public static <C> LogicalExpression<C> anyOf(Predicate<? super C>... predicates) {
+        // the array is only read here, handing it to another method would trip -Xlint:varargs
+        ExpressionNode[] leaves = new ExpressionNode[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            leaves[i] = ExpressionNode.contextLeaf(predicates[i]);
+        }
+        return new LogicalExpression<>(ExpressionNode.anyOf(leaves));
+    }
+
+    private static ExpressionNode[] toLeaves(Iterable<? extends Predicate<?>> predicates) {
+        Objects.requireNonNull(predicates);
+
+        List<ExpressionNode> leaves = new ArrayList<>();
+        for (Predicate<?> predicate : predicates) {
+            leaves.add(ExpressionNode.contextLeaf(predicate));
+        }
+        return leaves.toArray(new ExpressionNode[0]);
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using logical AND.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LogicalExpression<C> and(Predicate<? super C> predicate) {
+        return new LogicalExpression<>(ExpressionNode.and(root, ExpressionNode.contextLeaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using logical AND.
+     *
+     * @param expression that will be merged with the current one
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LogicalExpression<C> and(LogicalExpression<? super C> expression) {
+        Objects.requireNonNull(expression);
+        return new LogicalExpression<>(ExpressionNode.and(root, expression.root));
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using logical OR.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LogicalExpression<C> or(Predicate<? super C> predicate) {
+        return new LogicalExpression<>(ExpressionNode.or(root, ExpressionNode.contextLeaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using logical OR.
+     *
+     * @param expression that will be merged with the current one
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LogicalExpression<C> or(LogicalExpression<? super C> expression) {
+        Objects.requireNonNull(expression);
+        return new LogicalExpression<>(ExpressionNode.or(root, expression.root));
+    }
+
+    /**
+     * Combines the current expression with the passed predicate using XOR.
+     *
+     * @param predicate that will be merged with the current expression
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LogicalExpression<C> xor(Predicate<? super C> predicate) {
+        return new LogicalExpression<>(ExpressionNode.xor(root, ExpressionNode.contextLeaf(predicate)));
+    }
+
+    /**
+     * Combines the current expression with the passed one using XOR.
+     *
+     * @param expression that will be merged with the current one
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public LogicalExpression<C> xor(LogicalExpression<? super C> expression) {
+        Objects.requireNonNull(expression);
+        return new LogicalExpression<>(ExpressionNode.xor(root, expression.root));
+    }
+
+    /**
+     * Applies logical NOT to the given predicate.
+     *
+     * @param predicate to which the operation will be applied
+     * @param <C>       the type of the context
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public static <C> LogicalExpression<C> not(Predicate<? super C> predicate) {
+        return new LogicalExpression<>(ExpressionNode.not(ExpressionNode.contextLeaf(predicate)));
+    }
+
+    /**
+     * Applies logical NOT to the given expression.
+     *
+     * @param expression to which the operation will be applied
+     * @param <C>        the type of the context
+     * @return a LogicalExpression object that can be used to further construct a chain of expressions.
+     */
+    public static <C> LogicalExpression<C> not(LogicalExpression<C> expression) {
+        Objects.requireNonNull(expression);
+        return new LogicalExpression<>(ExpressionNode.not(expression.root));
+    }
+
+    /**
+     * Returns the tree of the expression.
+     *
+     * @return the root node of the expression tree
+     * @see ExpressionNode
+     */
+    public ExpressionNode tree() {
+        return root;
+    }
+
+    /**
+     * Creates a simplified copy of the expression, see {@link LazyLogicalExpression#optimize()}.
+     *
+     * @return a new expression that is equivalent to the current one
+     * @see ExpressionOptimizer
+     */
+    public LogicalExpression<C> optimize() {
+        return new LogicalExpression<>(ExpressionOptimizer.optimize(root));
+    }
+
+    /**
+     * @return a predicate that calculates the result of the expression for its argument
+     */
+    public Predicate<C> asPredicate() {
+        return this::result;
+    }
+
+    /**
+     * Calculates the result of an expression against the given context.
+     * <br> The calculation does not allocate, the same expression can be calculated
+     * by many threads at the same time.
+     *
+     * @param context the value the predicates of the expression are tested against
+     * @return the logical result of an expression
+     */
+    public boolean result(C context) {
+        return root.evaluate(context);
+    }
+
+    /**
+     * Calculates the result of an expression against each of the given contexts.
+     * <br> The expression is evaluated a column at a time: every predicate is called in one loop
+     * over the contexts which are not yet decided by the AND and OR nodes above it.
+     * A predicate is called for the same contexts as by calling {@link #result(Object)} for each of them,
+     * but in a different order.
+     *
+     * @param contexts the values the predicates of the expression are tested against
+     * @return a bit set in which bit {@code i} is set if the expression is {@code true} for the context at index {@code i}
+     */
+    public BitSet results(List<? extends C> contexts) {
+        Objects.requireNonNull(contexts);
+        return BatchEvaluator.evaluate(root, contexts.toArray());
+    }
+
+    /**
+     * Same as {@link #results(List)}.
+     *
+     * @param contexts the values the predicates of the expression are tested against
+     * @return a bit set in which bit {@code i} is set if the expression is {@code true} for the context at index {@code i}
+     */
+    public BitSet results(C[] contexts) {
+        Objects.requireNonNull(contexts);
+        return BatchEvaluator.evaluate(root, contexts);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Objects;
+
+/**
+ * A predicate which calls its target once and then always returns the remembered result.
+ * <br> Reading the remembered result is a single volatile read, only the first calls synchronize.
+ * If the target throws an exception, nothing is remembered and the next call tries again.
+ *
+ * @author EvseevDA
+ * @see NoArgsPredicate#memoize(NoArgsPredicate)
+ * @since 0.10.0
+ */
+final class MemoizingPredicate implements NoArgsPredicate {
+
+    private NoArgsPredicate target;
+    private volatile Boolean result;
+
+    MemoizingPredicate(NoArgsPredicate target) {
+        this.target = Objects.requireNonNull(target);
+    }
+
+    @Override
+    public boolean test() {
+        Boolean result = this.result;
+        return result != null ? result : compute();
+    }
+
+    /**
+     * @return the remembered result, or {@code null} if the target has not been called yet
+     */
+    Boolean knownResult() {
+        return result;
+    }
+
+    private synchronized boolean compute() {
+        Boolean result = this.result;
+        if (result == null) {
+            result = target.test();
+            this.result = result;
+            target = null;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.github.evseevda.utils.logic;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Compiles an {@link ExpressionNode} tree into a single {@link MethodHandle} of type {@code ()boolean}.
+ * <br> The handle is assembled from {@code guardWithTest}, {@code filterReturnValue} and constant handles only,
+ * no classes are generated. When the handle is a constant for the JIT (a {@code static final} field or
+ * the target of a {@link java.lang.invoke.ConstantCallSite}) the whole tree is inlined and folded
+ * into the calling code.
+ * <br> N-ary operators are split into balanced trees of binary guards, so the depth of the handle
+ * grows logarithmically with the length of a chain.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#toMethodHandle()
+ * @since 0.10.0
+ */
+final class MethodHandleCompiler {
+
+    private static final MethodHandle TEST;
+    private static final MethodHandle NOT;
+    private static final MethodHandle TRUE = MethodHandles.constant(boolean.class, true);
+    private static final MethodHandle FALSE = MethodHandles.constant(boolean.class, false);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TEST = lookup.findVirtual(NoArgsPredicate.class, "test", MethodType.methodType(boolean.class));
+            NOT = lookup.findStatic(LogicalPredicates.class, "not", MethodType.methodType(boolean.class, boolean.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private MethodHandleCompiler() {
+    }
+
+    /**
+     * @param root the tree to compile
+     * @return a handle of type {@code ()boolean} which evaluates {@code root}
+     */
+    static MethodHandle toMethodHandle(ExpressionNode root) {
+        if (root instanceof ExpressionNode.Leaf) {
+            return TEST.bindTo(((ExpressionNode.Leaf) root).predicate);
+        }
+        if (root instanceof ExpressionNode.Const) {
+            return ((ExpressionNode.Const) root).value ? TRUE : FALSE;
+        }
+        if (root instanceof ExpressionNode.Not) {
+            return MethodHandles.filterReturnValue(toMethodHandle(((ExpressionNode.Not) root).operand), NOT);
+        }
+        if (!(root instanceof ExpressionNode.Junction)) {
+            throw ExpressionNode.unsupported(root);
+        }
+        ExpressionNode.Junction junction = (ExpressionNode.Junction) root;
+        if (junction.size == 0) {
+            return junction instanceof ExpressionNode.And ? TRUE : FALSE;
+        }
+        return combine(junction, 0, junction.size);
+    }
+
+    /**
+     * @param root the tree to compile
+     * @return a predicate which invokes the handle of {@code root}
+     */
+    static NoArgsPredicate compile(ExpressionNode root) {
+        return new MethodHandlePredicate(toMethodHandle(root));
+    }
+
+    private static MethodHandle combine(ExpressionNode.Junction junction, int from, int to) {
+        if (to - from == 1) {
+            return toMethodHandle(junction.operands[from]);
+        }
+        int middle = (from + to) >>> 1;
+        MethodHandle left = combine(junction, from, middle);
+        MethodHandle right = combine(junction, middle, to);
+        if (junction instanceof ExpressionNode.And) {
+            return MethodHandles.guardWithTest(left, right, FALSE);
+        }
+        if (junction instanceof ExpressionNode.Or) {
+            return MethodHandles.guardWithTest(left, TRUE, right);
+        }
+        return MethodHandles.guardWithTest(left, MethodHandles.filterReturnValue(right, NOT), right);
+    }
+
+    private static final class MethodHandlePredicate implements NoArgsPredicate {
+
+        private final MethodHandle handle;
+
+        private MethodHandlePredicate(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public boolean test() {
+            try {
+                return (boolean) handle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An expression which reports its evaluations to an {@link EvaluationListener}.
+ * <br> Every evaluation reports its result, each call of a predicate and each short-circuited AND or OR node.
+ * Every {@code samplingRate}-th evaluation on average is also timed, together with each of its predicates.
+ * <br> Monitoring is opt-in: the expression this one was created from and its other forms are not
+ * instrumented in any way and do not pay for it.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#monitored(EvaluationListener)
+ * @see EvaluationMetrics
+ * @since 0.10.0
+ */
+public final class MonitoredExpression implements NoArgsPredicate {
+
+    static final int DEFAULT_SAMPLING_RATE = 64;
+
+    private final Node root;
+    private final List<NoArgsPredicate> leaves;
+    private final EvaluationListener listener;
+    private final int samplingRate;
+
+    MonitoredExpression(ExpressionNode tree, EvaluationListener listener, int samplingRate) {
+        Objects.requireNonNull(tree);
+        Objects.requireNonNull(listener);
+        if (samplingRate < 1) {
+            throw new IllegalArgumentException("Sampling rate must be positive: " + samplingRate);
+        }
+        Map<ExpressionNode, Integer> leafIndexes = new LinkedHashMap<>();
+        this.root = build(tree, leafIndexes);
+        List<NoArgsPredicate> leaves = new ArrayList<>(leafIndexes.size());
+        for (ExpressionNode leaf : leafIndexes.keySet()) {
+            leaves.add(((ExpressionNode.Leaf) leaf).predicate);
+        }
+        this.leaves = Collections.unmodifiableList(leaves);
+        this.listener = listener;
+        this.samplingRate = samplingRate;
+        listener.onAttach(this.leaves);
+    }
+
+    private static Node build(ExpressionNode node, Map<ExpressionNode, Integer> leafIndexes) {
+        if (node instanceof ExpressionNode.Leaf) {
+            Integer index = leafIndexes.get(node);
+            if (index == null) {
+                index = leafIndexes.size();
+                leafIndexes.put(node, index);
+            }
+            return new Leaf(((ExpressionNode.Leaf) node).predicate, index);
+        }
+        if (node instanceof ExpressionNode.Not) {
+            return new Not(build(((ExpressionNode.Not) node).operand, leafIndexes));
+        }
+        if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            Node[] operands = new Node[junction.size];
+            for (int i = 0; i < operands.length; i++) {
+                operands[i] = build(junction.operands[i], leafIndexes);
+            }
+            return new Junction(junction, operands);
+        }
+        return new Constant(node.evaluate());
+    }
+
+    /**
+     * Calculates the result of the expression and reports the evaluation to the listener.
+     *
+     * @return the logical result of the expression
+     */
+    public boolean result() {
+        if (samplingRate > 1 && ThreadLocalRandom.current().nextInt(samplingRate) != 0) {
+            boolean result = root.evaluate(listener, false);
+            listener.onEvaluation(result, EvaluationListener.NOT_MEASURED);
+            return result;
+        }
+        long start = System.nanoTime();
+        boolean result = root.evaluate(listener, true);
+        listener.onEvaluation(result, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Same as {@link #result()}.
+     */
+    @Override
+    public boolean test() {
+        return result();
+    }
+
+    /**
+     * @return the distinct predicates of the expression, the index of a predicate in this list identifies it
+     * in {@link EvaluationListener#onLeaf(int, boolean, long)}
+     */
+    public List<NoArgsPredicate> leaves() {
+        return leaves;
+    }
+
+    private abstract static class Node {
+
+        abstract boolean evaluate(EvaluationListener listener, boolean measured);
+
+    }
+
+    private static final class Leaf extends Node {
+
+        private final NoArgsPredicate predicate;
+        private final int index;
+
+        Leaf(NoArgsPredicate predicate, int index) {
+            this.predicate = predicate;
+            this.index = index;
+        }
+
+        @Override
+        boolean evaluate(EvaluationListener listener, boolean measured) {
+            if (!measured) {
+                boolean result = predicate.test();
+                listener.onLeaf(index, result, EvaluationListener.NOT_MEASURED);
+                return result;
+            }
+            long start = System.nanoTime();
+            boolean result = predicate.test();
+            listener.onLeaf(index, result, System.nanoTime() - start);
+            return result;
+        }
+
+    }
+
+    private static final class Constant extends Node {
+
+        private final boolean value;
+
+        Constant(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        boolean evaluate(EvaluationListener listener, boolean measured) {
+            return value;
+        }
+
+    }
+
+    private static final class Not extends Node {
+
+        private final Node operand;
+
+        Not(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        boolean evaluate(EvaluationListener listener, boolean measured) {
+            return !operand.evaluate(listener, measured);
+        }
+
+    }
+
+    private static final class Junction extends Node {
+
+        private final boolean xor;
+        private final boolean decisive;
+        private final Node[] operands;
+
+        Junction(ExpressionNode.Junction node, Node[] operands) {
+            this.xor = node instanceof ExpressionNode.Xor;
+            this.decisive = node instanceof ExpressionNode.Or;
+            this.operands = operands;
+        }
+
+        @Override
+        boolean evaluate(EvaluationListener listener, boolean measured) {
+            if (xor) {
+                boolean result = false;
+                for (Node operand : operands) {
+                    result ^= operand.evaluate(listener, measured);
+                }
+                return result;
+            }
+            for (int i = 0; i < operands.length; i++) {
+                if (operands[i].evaluate(listener, measured) == decisive) {
+                    int skipped = operands.length - i - 1;
+                    if (skipped > 0) {
+                        listener.onShortCircuit(skipped);
+                    }
+                    return decisive;
+                }
+            }
+            return !decisive;
+        }
+
+    }
+
+}
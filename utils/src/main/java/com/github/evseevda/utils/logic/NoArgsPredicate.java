@@ -0,0 +1,267 @@
+package com.github.evseevda.utils.logic;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents a predicate (boolean-valued function) of zero arguments.
+ *
+ * <p>This is a <a href="package-summary.html">functional interface</a>
+ * whose functional method is {@link #test()}.
+ *
+ * @see LazyLogicalExpression
+ * @since 0.9.0
+ * @author EvseevDA
+ */
+@FunctionalInterface
+public interface NoArgsPredicate {
+
+    /**
+     * Evaluates this predicate.
+     *
+     * @return {@code true} if the result of this predicate is {@code true},
+     * otherwise {@code false}
+     */
+    boolean test();
+
+    /**
+     * Returns a composed predicate that represents a short-circuiting logical
+     * AND of this predicate and another.  When evaluating the composed
+     * predicate, if this predicate is {@code false}, then the {@code other}
+     * predicate is not evaluated.
+     *
+     * <p>Any exceptions thrown during evaluation of either predicate are relayed
+     * to the caller; if evaluation of this predicate throws an exception, the
+     * {@code other} predicate will not be evaluated.
+     *
+     * @param other a predicate that will be logically-ANDed with this
+     *              predicate
+     * @return a composed predicate that represents the short-circuiting logical
+     * AND of this predicate and the {@code other} predicate
+     * @throws NullPointerException if other is null
+     */
+    default NoArgsPredicate and(NoArgsPredicate other) {
+        Objects.requireNonNull(other);
+        return () -> this.test() && other.test();
+    }
+
+    /**
+     * Returns a composed predicate that represents a short-circuiting logical
+     * OR of this predicate and another.  When evaluating the composed
+     * predicate, if this predicate is {@code true}, then the {@code other}
+     * predicate is not evaluated.
+     *
+     * <p>Any exceptions thrown during evaluation of either predicate are relayed
+     * to the caller; if evaluation of this predicate throws an exception, the
+     * {@code other} predicate will not be evaluated.
+     *
+     * @param other a predicate that will be logically-ORed with this
+     *              predicate
+     * @return a composed predicate that represents the short-circuiting logical
+     * OR of this predicate and the {@code other} predicate
+     * @throws NullPointerException if other is null
+     */
+    default NoArgsPredicate or(NoArgsPredicate other) {
+        Objects.requireNonNull(other);
+        return () -> this.test() || other.test();
+    }
+
+    /**
+     * Returns a composed predicate that represents the XOR of this predicate and another.
+     *
+     * <p>Any exceptions thrown during evaluation of either predicate are relayed
+     * to the caller; if evaluation of this predicate throws an exception, the
+     * {@code other} predicate will not be evaluated.
+     *
+     * @param other a predicate that will be XORed with this
+     *              predicate
+     * @return a composed predicate that represents the
+     * XOR of this predicate and the {@code other} predicate
+     * @throws NullPointerException if other is null
+     */
+    default NoArgsPredicate xor(NoArgsPredicate other) {
+        Objects.requireNonNull(other);
+        return () -> this.test() ^ other.test();
+    }
+
+    /**
+     * Returns a predicate that is the negation of the supplied predicate.
+     *
+     * @param target  predicate to negate
+     *
+     * @return a predicate that negates the results of the supplied
+     *         predicate
+     *
+     * @throws NullPointerException if target is null
+     *
+     */
+    static NoArgsPredicate not(NoArgsPredicate target) {
+        Objects.requireNonNull(target);
+        return () -> !target.test();
+    }
+
+    /**
+     * Returns a predicate that must keep its position in an expression.
+     * <br> Use it for predicates that depend on the predicates written before them,
+     * for example a null check followed by a predicate that dereferences the checked value.
+     * Adaptive expressions never move such a predicate and never move other predicates across it.
+     *
+     * @param target predicate to mark
+     *
+     * @return a predicate that delegates to the supplied predicate
+     *
+     * @throws NullPointerException if target is null
+     *
+     * @see AdaptiveExpression
+     * @since 0.10.0
+     */
+    static NoArgsPredicate orderSensitive(NoArgsPredicate target) {
+        Objects.requireNonNull(target);
+        return target instanceof OrderSensitivePredicate ? target : new OrderSensitivePredicate(target);
+    }
+
+    /**
+     * Returns a predicate that calls the supplied predicate once and then always returns the same result.
+     * <br> The supplied predicate is called at most once even if the returned predicate is called
+     * by many threads at the same time, unless it throws an exception.
+     * After the result is known, calling the returned predicate costs a single volatile read.
+     *
+     * @param target  predicate to remember the result of
+     *
+     * @return a predicate that remembers the result of the supplied predicate
+     *
+     * @throws NullPointerException if target is null
+     *
+     * @since 0.10.0
+     */
+    static NoArgsPredicate memoize(NoArgsPredicate target) {
+        Objects.requireNonNull(target);
+        return new MemoizingPredicate(target);
+    }
+
+    /**
+     * Returns a predicate that remembers the result of the supplied predicate for the given time.
+     * <br> When the time expires, the next call of the returned predicate calls the supplied predicate again.
+     * While the result is fresh, calling the returned predicate does not take locks and does not query the clock.
+     *
+     * @param target  predicate to remember the result of
+     * @param ttl     how long the result is remembered
+     *
+     * @return a predicate that remembers the result of the supplied predicate
+     *
+     * @throws NullPointerException if target or ttl is null
+     * @throws IllegalArgumentException if ttl is not positive
+     *
+     * @since 0.10.0
+     */
+    static NoArgsPredicate cached(NoArgsPredicate target, Duration ttl) {
+        Objects.requireNonNull(target);
+        return new CachingPredicate(target, toPositiveNanos(ttl), null);
+    }
+
+    /**
+     * Returns a predicate that remembers the result of the supplied predicate and refreshes it
+     * in the background after the given time.
+     * <br> Only the first call waits for the supplied predicate. When the time expires, the next call
+     * returns the expired result and starts recalculating it in {@link ForkJoinPool#commonPool()},
+     * calls made during the recalculation keep returning the expired result.
+     *
+     * @param target  predicate to remember the result of
+     * @param ttl     how long the result is considered fresh
+     *
+     * @return a predicate that remembers the result of the supplied predicate
+     *
+     * @throws NullPointerException if target or ttl is null
+     * @throws IllegalArgumentException if ttl is not positive
+     *
+     * @since 0.10.0
+     */
+    static NoArgsPredicate refreshAhead(NoArgsPredicate target, Duration ttl) {
+        return refreshAhead(target, ttl, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #refreshAhead(NoArgsPredicate, Duration)}, but recalculates the result
+     * in the given executor.
+     *
+     * @param target    predicate to remember the result of
+     * @param ttl       how long the result is considered fresh
+     * @param executor  executor in which the result is recalculated
+     *
+     * @return a predicate that remembers the result of the supplied predicate
+     *
+     * @throws NullPointerException if target, ttl or executor is null
+     * @throws IllegalArgumentException if ttl is not positive
+     *
+     * @since 0.10.0
+     */
+    static NoArgsPredicate refreshAhead(NoArgsPredicate target, Duration ttl, Executor executor) {
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(executor);
+        return new CachingPredicate(target, toPositiveNanos(ttl), executor);
+    }
+
+    /**
+     * Returns a predicate that waits for the supplied predicate at most for the given time.
+     * <br> The supplied predicate is called in a shared bounded pool of daemon threads. When it does not complete
+     * in time, the fallback is applied at once and the call is cancelled with interruption, so a predicate which
+     * ignores interruption does not delay the caller. When all threads of the pool are busy, the fallback
+     * is applied without calling the predicate.
+     * Inside {@link LazyLogicalExpression#result(Duration)} the timeout is shortened to the remaining budget
+     * of the expression.
+     *
+     * @param target    predicate to wait for
+     * @param timeout   how long to wait for the supplied predicate
+     * @param fallback  what to do when the supplied predicate does not complete in time
+     *
+     * @return a predicate that delegates to the supplied predicate with a timeout
+     *
+     * @throws NullPointerException if target, timeout or fallback is null
+     * @throws IllegalArgumentException if timeout is not positive
+     *
+     * @since 0.10.0
+     */
+    static NoArgsPredicate withTimeout(NoArgsPredicate target, Duration timeout, TimeoutFallback fallback) {
+        return withTimeout(target, timeout, fallback, TimeoutPredicate.DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Same as {@link #withTimeout(NoArgsPredicate, Duration, TimeoutFallback)}, but calls the supplied predicate
+     * in the given executor. If the executor rejects the call, the fallback is applied.
+     *
+     * @param target    predicate to wait for
+     * @param timeout   how long to wait for the supplied predicate
+     * @param fallback  what to do when the supplied predicate does not complete in time
+     * @param executor  executor in which the supplied predicate is called
+     *
+     * @return a predicate that delegates to the supplied predicate with a timeout
+     *
+     * @throws NullPointerException if target, timeout, fallback or executor is null
+     * @throws IllegalArgumentException if timeout is not positive
+     *
+     * @since 0.10.0
+     */
+    static NoArgsPredicate withTimeout(NoArgsPredicate target, Duration timeout, TimeoutFallback fallback,
+                                       ExecutorService executor) {
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(fallback);
+        Objects.requireNonNull(executor);
+        return new TimeoutPredicate(target, toPositiveNanos(timeout), fallback, executor);
+    }
+
+    private static long toPositiveNanos(Duration duration) {
+        Objects.requireNonNull(duration);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Objects;
+
+/**
+ * Marks a predicate whose position in an expression must not be changed.
+ *
+ * @author EvseevDA
+ * @see NoArgsPredicate#orderSensitive(NoArgsPredicate)
+ * @since 0.10.0
+ */
+final class OrderSensitivePredicate implements NoArgsPredicate {
+
+    private final NoArgsPredicate target;
+
+    OrderSensitivePredicate(NoArgsPredicate target) {
+        this.target = Objects.requireNonNull(target);
+    }
+
+    @Override
+    public boolean test() {
+        return target.test();
+    }
+
+    @Override
+    public String toString() {
+        return "orderSensitive(" + target + ")";
+    }
+
+}
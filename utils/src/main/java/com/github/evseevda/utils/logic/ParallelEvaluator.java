@@ -0,0 +1,93 @@
+package com.github.evseevda.utils.logic;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates the operands of the top AND, OR or XOR node of a tree concurrently.
+ * <br> The evaluation returns as soon as the result is known: on the first {@code false} operand of AND
+ * and on the first {@code true} operand of OR. The remaining operands are cancelled with interruption.
+ * Each operand is evaluated sequentially by a single task, so the caller is the only thread that waits
+ * for other tasks and a bounded executor cannot deadlock.
+ * <br> If an operand throws an exception, it is rethrown only when no other operand decides the result.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#result(ExecutorService)
+ * @since 0.10.0
+ */
+final class ParallelEvaluator {
+
+    private ParallelEvaluator() {
+    }
+
+    static boolean evaluate(ExpressionNode root, ExecutorService executor) {
+        boolean negate = false;
+        ExpressionNode node = root;
+        while (node instanceof ExpressionNode.Not) {
+            negate = !negate;
+            node = ((ExpressionNode.Not) node).operand;
+        }
+        if (!(node instanceof ExpressionNode.Junction) || ((ExpressionNode.Junction) node).size < 2) {
+            return negate ^ node.evaluate();
+        }
+        return negate ^ evaluate((ExpressionNode.Junction) node, executor);
+    }
+
+    private static boolean evaluate(ExpressionNode.Junction junction, ExecutorService executor) {
+        boolean xor = junction instanceof ExpressionNode.Xor;
+        boolean decisive = junction instanceof ExpressionNode.Or;
+
+        ExecutorCompletionService<Boolean> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> futures = new ArrayList<>(junction.size);
+        try {
+            for (int i = 0; i < junction.size; i++) {
+                futures.add(completion.submit(junction.operands[i]::evaluate));
+            }
+
+            boolean parity = false;
+            Throwable failure = null;
+            for (int i = 0; i < junction.size; i++) {
+                try {
+                    boolean value = completion.take().get();
+                    if (xor) {
+                        parity ^= value;
+                    } else if (value == decisive) {
+                        return decisive;
+                    }
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failure != null) {
+                throw rethrow(failure);
+            }
+            return xor ? parity : !decisive;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while evaluating the expression");
+        } finally {
+            for (Future<Boolean> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new UndeclaredThrowableException(failure);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates a tree against the known results of some of its predicates, without calling any predicate.
+ * <br> {@link #specialize} replaces the known predicates with constants and folds the constants away,
+ * leaving the rest of the tree as it was, so the remaining predicates are called in the same order as before.
+ * {@link #evaluate} computes the result in Kleene's three-valued logic: an AND node is {@code false}
+ * as soon as one operand is {@code false}, an OR node is {@code true} as soon as one operand is {@code true},
+ * and any other node with an unknown operand is unknown.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#specialize(Map)
+ * @see LazyLogicalExpression#partialResult(Map)
+ * @since 0.10.0
+ */
+final class PartialEvaluator {
+
+    private PartialEvaluator() {
+    }
+
+    static ExpressionNode specialize(ExpressionNode node, Map<NoArgsPredicate, Boolean> facts) {
+        if (node instanceof ExpressionNode.Leaf) {
+            Boolean fact = facts.get(((ExpressionNode.Leaf) node).predicate);
+            return fact == null ? node : ExpressionNode.constant(fact);
+        }
+        if (node instanceof ExpressionNode.Not) {
+            ExpressionNode operand = ((ExpressionNode.Not) node).operand;
+            ExpressionNode specialized = specialize(operand, facts);
+            if (specialized instanceof ExpressionNode.Const) {
+                return ExpressionNode.constant(!((ExpressionNode.Const) specialized).value);
+            }
+            return specialized == operand ? node : ExpressionNode.not(specialized);
+        }
+        if (node instanceof ExpressionNode.Junction) {
+            return specialize((ExpressionNode.Junction) node, facts);
+        }
+        return node;
+    }
+
+    private static ExpressionNode specialize(ExpressionNode.Junction junction, Map<NoArgsPredicate, Boolean> facts) {
+        boolean xor = junction instanceof ExpressionNode.Xor;
+        boolean decisive = junction instanceof ExpressionNode.Or;
+        boolean parity = false;
+        boolean changed = false;
+        List<ExpressionNode> operands = new ArrayList<>(junction.size);
+        for (int i = 0; i < junction.size; i++) {
+            ExpressionNode operand = junction.operands[i];
+            ExpressionNode specialized = specialize(operand, facts);
+            changed |= specialized != operand;
+            if (!(specialized instanceof ExpressionNode.Const)) {
+                operands.add(specialized);
+                continue;
+            }
+            boolean value = ((ExpressionNode.Const) specialized).value;
+            if (xor) {
+                parity ^= value;
+            } else if (value == decisive) {
+                return ExpressionNode.constant(decisive);
+            }
+        }
+        if (!changed) {
+            return junction;
+        }
+        if (xor) {
+            if (operands.isEmpty()) {
+                return ExpressionNode.constant(parity);
+            }
+            ExpressionNode result = operands.get(0);
+            for (int i = 1; i < operands.size(); i++) {
+                result = ExpressionNode.xor(result, operands.get(i));
+            }
+            return parity ? ExpressionNode.not(result) : result;
+        }
+        if (operands.isEmpty()) {
+            return ExpressionNode.constant(!decisive);
+        }
+        if (operands.size() == 1) {
+            return operands.get(0);
+        }
+        ExpressionNode[] array = operands.toArray(new ExpressionNode[0]);
+        return decisive ? ExpressionNode.anyOf(array) : ExpressionNode.allOf(array);
+    }
+
+    static TruthValue evaluate(ExpressionNode node, Map<NoArgsPredicate, Boolean> facts) {
+        if (node instanceof ExpressionNode.Leaf) {
+            Boolean fact = facts.get(((ExpressionNode.Leaf) node).predicate);
+            return fact == null ? TruthValue.UNKNOWN : TruthValue.of(fact);
+        }
+        if (node instanceof ExpressionNode.Const) {
+            return TruthValue.of(((ExpressionNode.Const) node).value);
+        }
+        if (node instanceof ExpressionNode.Not) {
+            TruthValue operand = evaluate(((ExpressionNode.Not) node).operand, facts);
+            return operand.isKnown() ? TruthValue.of(!operand.toBoolean()) : operand;
+        }
+        if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            boolean xor = junction instanceof ExpressionNode.Xor;
+            boolean decisive = junction instanceof ExpressionNode.Or;
+            boolean parity = false;
+            boolean unknown = false;
+            for (int i = 0; i < junction.size; i++) {
+                TruthValue operand = evaluate(junction.operands[i], facts);
+                if (!operand.isKnown()) {
+                    if (xor) {
+                        return TruthValue.UNKNOWN;
+                    }
+                    unknown = true;
+                } else if (xor) {
+                    parity ^= operand.toBoolean();
+                } else if (operand.toBoolean() == decisive) {
+                    return TruthValue.of(decisive);
+                }
+            }
+            if (unknown) {
+                return TruthValue.UNKNOWN;
+            }
+            return TruthValue.of(xor ? parity : !decisive);
+        }
+        return TruthValue.UNKNOWN;
+    }
+
+}
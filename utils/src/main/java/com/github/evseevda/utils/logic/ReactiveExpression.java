@@ -0,0 +1,194 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * An expression over {@link BooleanSignal BooleanSignals} which keeps its result up to date
+ * and publishes it every time it flips.
+ * <br> The expression is kept as a graph in which every distinct subexpression is a single node that knows
+ * its parents, and every AND, OR and XOR node counts its {@code true} operands. When a signal changes,
+ * only the nodes on the paths from it to the root are updated, each in constant time, and the update stops
+ * at the first node whose result did not change. Reading the result costs a single volatile read.
+ * <br> Subscribers receive the new result each time the result of the whole expression flips,
+ * but not its current result: read it with {@link #result()} after subscribing. The items are delivered
+ * in the executor of the expression; a subscriber that falls far behind slows down the threads
+ * changing the signals.
+ * <br> The signals keep a reference to the expressions using them, {@link #close()} an expression
+ * which is not needed any more.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#reactive()
+ * @since 0.10.0
+ */
+public final class ReactiveExpression implements NoArgsPredicate, Flow.Publisher<Boolean>, AutoCloseable {
+
+    private final Node root;
+    private final Map<BooleanSignal, Runnable> listeners = new HashMap<>();
+    private final SubmissionPublisher<Boolean> publisher;
+    private volatile boolean result;
+    private boolean closed;
+
+    ReactiveExpression(ExpressionNode tree, Executor executor) {
+        Objects.requireNonNull(tree);
+        Objects.requireNonNull(executor);
+        Map<ExpressionNode, Node> nodes = new HashMap<>();
+        Map<BooleanSignal, Node> signals = new HashMap<>();
+        this.root = build(tree, nodes, signals);
+        this.result = root.value;
+        this.publisher = new SubmissionPublisher<>(executor, Flow.defaultBufferSize());
+        signals.forEach((signal, node) -> {
+            Runnable listener = () -> signalChanged(signal, node);
+            listeners.put(signal, listener);
+            signal.addListener(listener);
+        });
+        // a signal changed while the listeners were being added would be missed otherwise
+        signals.forEach(this::signalChanged);
+    }
+
+    private static Node build(ExpressionNode node, Map<ExpressionNode, Node> nodes, Map<BooleanSignal, Node> signals) {
+        Node existing = nodes.get(node);
+        if (existing != null) {
+            return existing;
+        }
+        Node result;
+        if (node instanceof ExpressionNode.Leaf) {
+            NoArgsPredicate predicate = ((ExpressionNode.Leaf) node).predicate;
+            if (!(predicate instanceof BooleanSignal)) {
+                throw new IllegalArgumentException("Reactive expressions support only BooleanSignal predicates: "
+                        + predicate);
+            }
+            result = new Node(Node.LEAF, predicate.test(), 0);
+            signals.put((BooleanSignal) predicate, result);
+        } else if (node instanceof ExpressionNode.Const) {
+            result = new Node(Node.LEAF, ((ExpressionNode.Const) node).value, 0);
+        } else if (node instanceof ExpressionNode.Not) {
+            Node operand = build(((ExpressionNode.Not) node).operand, nodes, signals);
+            result = new Node(Node.NOT, !operand.value, 1);
+            operand.parents.add(result);
+        } else if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            int kind = junction instanceof ExpressionNode.And ? Node.AND
+                    : junction instanceof ExpressionNode.Or ? Node.OR
+                    : Node.XOR;
+            result = new Node(kind, false, junction.size);
+            for (int i = 0; i < junction.size; i++) {
+                Node operand = build(junction.operands[i], nodes, signals);
+                if (operand.value) {
+                    result.trueOperands++;
+                }
+                operand.parents.add(result);
+            }
+            result.value = result.compute();
+        } else {
+            throw new IllegalArgumentException("Unsupported node: " + node);
+        }
+        nodes.put(node, result);
+        return result;
+    }
+
+    private synchronized void signalChanged(BooleanSignal signal, Node leaf) {
+        boolean value = signal.test();
+        if (closed || value == leaf.value) {
+            return;
+        }
+        leaf.value = value;
+        propagate(leaf);
+        if (root.value != result) {
+            result = root.value;
+            publisher.submit(root.value);
+        }
+    }
+
+    private static void propagate(Node node) {
+        for (Node parent : node.parents) {
+            boolean old = parent.value;
+            if (parent.kind != Node.NOT) {
+                parent.trueOperands += node.value ? 1 : -1;
+            }
+            parent.value = parent.kind == Node.NOT ? !node.value : parent.compute();
+            if (parent.value != old) {
+                propagate(parent);
+            }
+        }
+    }
+
+    /**
+     * @return the current result of the expression, no predicate is called
+     */
+    public boolean result() {
+        return result;
+    }
+
+    /**
+     * Same as {@link #result()}.
+     */
+    @Override
+    public boolean test() {
+        return result;
+    }
+
+    /**
+     * Subscribes to the flips of the result of the expression.
+     *
+     * @param subscriber the subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Boolean> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Detaches the expression from its signals and completes its subscribers.
+     * The result of the expression does not change any more.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        listeners.forEach(BooleanSignal::removeListener);
+        publisher.close();
+    }
+
+    private static final class Node {
+
+        static final int LEAF = 0;
+        static final int NOT = 1;
+        static final int AND = 2;
+        static final int OR = 3;
+        static final int XOR = 4;
+
+        final int kind;
+        final int size;
+        final List<Node> parents = new ArrayList<>(1);
+        int trueOperands;
+        boolean value;
+
+        Node(int kind, boolean value, int size) {
+            this.kind = kind;
+            this.value = value;
+            this.size = size;
+        }
+
+        boolean compute() {
+            switch (kind) {
+                case AND:
+                    return trueOperands == size;
+                case OR:
+                    return trueOperands > 0;
+                default:
+                    return (trueOperands & 1) != 0;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,690 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * An index of rules over {@link Attribute} conditions, which finds the rules matching an event
+ * without testing every rule.
+ * <br> Each rule is converted to a disjunction of conjunctions, and every conjunction is filed under one of
+ * its attribute conditions, the one expected to be the most selective: a condition on the values of an attribute
+ * is filed under each of the values, a range is filed in an interval tree of the attribute. An event looks up
+ * only the conjunctions filed under the values of its attributes and under the ranges containing them,
+ * so it meets a small part of the rules; these candidates are then evaluated exactly. An attribute value
+ * which cannot be compared with the bounds of a range does not satisfy the range.
+ * <blockquote>
+ * <pre>
+ *      {@code RuleIndex<Request> index = new RuleIndex<>();}
+ *      {@code index.add("young-germans", expr(country.eq("DE")).and(age.between(18, 30)));}
+ *      {@code index.add("mobile-austrians", expr(country.eq("AT")).and(device.in("ios", "android")));}
+ *      {@code Set<String> matching = index.matches(request);}
+ *     </pre>
+ * </blockquote>
+ * A rule may use any predicates. Other predicates and negated attribute conditions are not indexed, they are
+ * only tested when the rule is evaluated. A rule with a conjunction that has no attribute condition,
+ * or with too many conjunctions to index, is evaluated for every event.
+ * <br> Rules can be added and removed at any time, each change costs time proportional to the size of the rule
+ * and to the logarithm of the number of ranges on its attributes.
+ * The index can be used by many threads at once.
+ *
+ * @param <C> the type of the events the rules are matched against
+ * @author EvseevDA
+ * @see Attribute
+ * @see RuleNetwork
+ * @since 0.10.0
+ */
+public final class RuleIndex<C> {
+
+    /**
+     * The largest number of conjunctions a rule is split into, a larger rule is evaluated for every event.
+     */
+    private static final int MAX_CONJUNCTIONS = 64;
+
+    private static final List<List<AttributeCondition<?>>> TRUE = List.of(List.of());
+    private static final List<List<AttributeCondition<?>>> FALSE = List.of();
+
+    /**
+     * The selectivity of a range, which is unknown, so a range is a key only if there is nothing better.
+     */
+    private static final double RANGE_SELECTIVITY = 2.0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Rule> rules = new HashMap<>();
+    private final Map<Attribute<?, ?>, AttributeIndex> attributes = new LinkedHashMap<>();
+    private final PostingList unindexed = new PostingList(() -> {
+    });
+    private final SlotAllocator slots = new SlotAllocator();
+    private final ThreadLocal<Stamps> stamps = ThreadLocal.withInitial(Stamps::new);
+
+    /**
+     * Adds a rule.
+     *
+     * @param id   the id of the rule
+     * @param rule the expression of the rule
+     * @throws IllegalArgumentException if a rule with the same id is already added, or if the bounds
+     *                                  of a range cannot be compared with the bounds of the other ranges
+     *                                  of the same attribute
+     */
+    public void add(String id, LogicalExpression<? super C> rule) {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(rule);
+        ExpressionNode tree = rule.tree();
+        List<List<AttributeCondition<?>>> conjunctions = disjunctiveNormalForm(tree, false);
+        lock.writeLock().lock();
+        try {
+            if (rules.containsKey(id)) {
+                throw new IllegalArgumentException("Duplicate rule id: " + id);
+            }
+            List<AttributeCondition<?>> conditions = distinct(conjunctions);
+            // nothing is changed until the bounds are known to fit the trees, so a failed add leaves no trace
+            checkBounds(conditions);
+            Rule added = new Rule(id, tree, slots.acquire(), conditions);
+            for (AttributeCondition<?> condition : added.conditions) {
+                attributes.computeIfAbsent(condition.attribute, AttributeIndex::new).register(condition);
+            }
+            for (List<AttributeCondition<?>> conjunction : conjunctions) {
+                file(added, conjunction);
+            }
+            rules.put(id, added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a rule.
+     *
+     * @param id the id of the rule
+     * @return {@code true} if the rule was in the index
+     */
+    public boolean remove(String id) {
+        Objects.requireNonNull(id);
+        lock.writeLock().lock();
+        try {
+            Rule removed = rules.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            for (Posting posting : removed.postings) {
+                posting.list.remove(posting);
+            }
+            for (AttributeCondition<?> condition : removed.conditions) {
+                if (attributes.get(condition.attribute).unregister(condition)) {
+                    attributes.remove(condition.attribute);
+                }
+            }
+            slots.release(removed.slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the rules matching the given event.
+     *
+     * @param event the event the rules are matched against
+     * @return the ids of the matching rules, in no particular order
+     */
+    public Set<String> matches(C event) {
+        List<Rule> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Stamps stamps = this.stamps.get().start(slots.capacity());
+            collect(unindexed, stamps, candidates);
+            for (AttributeIndex index : attributes.values()) {
+                index.collect(index.attribute.valueOf(event), stamps, candidates);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // the rules are immutable, so they are evaluated without blocking the changes of the index
+        Set<String> result = null;
+        for (Rule candidate : candidates) {
+            if (candidate.tree.evaluate(event)) {
+                if (result == null) {
+                    result = new HashSet<>();
+                }
+                result.add(candidate.id);
+            }
+        }
+        return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * @return the number of rules in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rules.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks that the bounds of the ranges can be put into the trees of their attributes.
+     * <br> The bounds already in a tree are comparable with each other, so comparing the new ones
+     * with any of them is enough.
+     */
+    private void checkBounds(List<AttributeCondition<?>> conditions) {
+        Map<Attribute<?, ?>, Object> samples = null;
+        for (AttributeCondition<?> condition : conditions) {
+            if (!(condition instanceof AttributeCondition.Range)) {
+                continue;
+            }
+            AttributeCondition.Range<?> range = (AttributeCondition.Range<?>) condition;
+            if (samples == null) {
+                samples = new HashMap<>();
+            }
+            Object sample = samples.computeIfAbsent(range.attribute, attribute -> {
+                AttributeIndex index = attributes.get(attribute);
+                return index == null || index.ranges.isEmpty() ? range.min : index.ranges.root.min;
+            });
+            try {
+                AttributeCondition.compare(sample, range.min);
+                AttributeCondition.compare(range.min, sample);
+                AttributeCondition.compare(sample, range.max);
+                AttributeCondition.compare(range.max, sample);
+            } catch (ClassCastException e) {
+                throw new IllegalArgumentException(
+                        "Range bounds of " + range + " cannot be compared with " + sample, e);
+            }
+        }
+    }
+
+    private void file(Rule rule, List<AttributeCondition<?>> conjunction) {
+        AttributeCondition<?> key = null;
+        double keySelectivity = Double.MAX_VALUE;
+        for (AttributeCondition<?> condition : conjunction) {
+            double selectivity = attributes.get(condition.attribute).selectivity(condition);
+            if (selectivity < keySelectivity) {
+                key = condition;
+                keySelectivity = selectivity;
+            }
+        }
+        if (key == null) {
+            rule.postings.add(unindexed.add(rule));
+            return;
+        }
+        for (PostingList list : attributes.get(key.attribute).lists(key)) {
+            rule.postings.add(list.add(rule));
+        }
+    }
+
+    private static void collect(PostingList list, Stamps stamps, List<Rule> candidates) {
+        Posting[] postings = list.postings;
+        for (int i = 0; i < list.size; i++) {
+            Rule rule = postings[i].rule;
+            // a rule is filed once per conjunction, but evaluated once per event
+            if (stamps.stamps[rule.slot] != stamps.event) {
+                stamps.stamps[rule.slot] = stamps.event;
+                candidates.add(rule);
+            }
+        }
+    }
+
+    private static List<AttributeCondition<?>> distinct(List<List<AttributeCondition<?>>> conjunctions) {
+        Map<AttributeCondition<?>, Boolean> distinct = new IdentityHashMap<>();
+        for (List<AttributeCondition<?>> conjunction : conjunctions) {
+            for (AttributeCondition<?> condition : conjunction) {
+                distinct.put(condition, Boolean.TRUE);
+            }
+        }
+        return new ArrayList<>(distinct.keySet());
+    }
+
+    /**
+     * Converts a tree to a disjunction of conjunctions of the attribute conditions it is made of.
+     * <br> The other leaves and the negated attribute conditions are replaced with {@code true},
+     * so the result may be {@code true} where the tree is not, but never the other way round.
+     * A result with more than {@link #MAX_CONJUNCTIONS} conjunctions is replaced with {@code true} as well.
+     *
+     * @param negated whether the negation of the tree is converted
+     */
+    private static List<List<AttributeCondition<?>>> disjunctiveNormalForm(ExpressionNode node, boolean negated) {
+        if (node instanceof ExpressionNode.ContextLeaf) {
+            Predicate<?> predicate = ((ExpressionNode.ContextLeaf) node).predicate;
+            return !negated && predicate instanceof AttributeCondition
+                    ? List.of(List.of((AttributeCondition<?>) predicate))
+                    : TRUE;
+        }
+        if (node instanceof ExpressionNode.Const) {
+            return ((ExpressionNode.Const) node).value != negated ? TRUE : FALSE;
+        }
+        if (node instanceof ExpressionNode.Not) {
+            return disjunctiveNormalForm(((ExpressionNode.Not) node).operand, !negated);
+        }
+        if (node instanceof ExpressionNode.Xor) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            List<List<AttributeCondition<?>>> odd = FALSE;
+            List<List<AttributeCondition<?>>> even = TRUE;
+            for (int i = 0; i < junction.size; i++) {
+                List<List<AttributeCondition<?>>> operand = disjunctiveNormalForm(junction.operands[i], false);
+                List<List<AttributeCondition<?>>> negatedOperand = disjunctiveNormalForm(junction.operands[i], true);
+                List<List<AttributeCondition<?>>> nextOdd = or(and(odd, negatedOperand), and(even, operand));
+                even = or(and(odd, operand), and(even, negatedOperand));
+                odd = nextOdd;
+            }
+            return negated ? even : odd;
+        }
+        if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            boolean conjunctive = node instanceof ExpressionNode.And != negated;
+            List<List<AttributeCondition<?>>> result = conjunctive ? TRUE : FALSE;
+            for (int i = 0; i < junction.size; i++) {
+                List<List<AttributeCondition<?>>> operand = disjunctiveNormalForm(junction.operands[i], negated);
+                result = conjunctive ? and(result, operand) : or(result, operand);
+            }
+            return result;
+        }
+        return TRUE;
+    }
+
+    private static List<List<AttributeCondition<?>>> and(List<List<AttributeCondition<?>>> left,
+                                                         List<List<AttributeCondition<?>>> right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return FALSE;
+        }
+        if ((long) left.size() * right.size() > MAX_CONJUNCTIONS) {
+            return TRUE;
+        }
+        List<List<AttributeCondition<?>>> result = new ArrayList<>(left.size() * right.size());
+        for (List<AttributeCondition<?>> leftConjunction : left) {
+            for (List<AttributeCondition<?>> rightConjunction : right) {
+                List<AttributeCondition<?>> conjunction =
+                        new ArrayList<>(leftConjunction.size() + rightConjunction.size());
+                conjunction.addAll(leftConjunction);
+                conjunction.addAll(rightConjunction);
+                result.add(conjunction);
+            }
+        }
+        return result;
+    }
+
+    private static List<List<AttributeCondition<?>>> or(List<List<AttributeCondition<?>>> left,
+                                                        List<List<AttributeCondition<?>>> right) {
+        if (left.size() + right.size() > MAX_CONJUNCTIONS
+                || left.stream().anyMatch(List::isEmpty) || right.stream().anyMatch(List::isEmpty)) {
+            return TRUE;
+        }
+        List<List<AttributeCondition<?>>> result = new ArrayList<>(left.size() + right.size());
+        result.addAll(left);
+        result.addAll(right);
+        return result;
+    }
+
+    private static final class Rule {
+
+        private final String id;
+        private final ExpressionNode tree;
+        private final int slot;
+        private final List<AttributeCondition<?>> conditions;
+        private final List<Posting> postings = new ArrayList<>(1);
+
+        Rule(String id, ExpressionNode tree, int slot, List<AttributeCondition<?>> conditions) {
+            this.id = id;
+            this.tree = tree;
+            this.slot = slot;
+            this.conditions = conditions;
+        }
+
+    }
+
+    private static final class Posting {
+
+        private final Rule rule;
+        private final PostingList list;
+        private int position;
+
+        Posting(Rule rule, PostingList list, int position) {
+            this.rule = rule;
+            this.list = list;
+            this.position = position;
+        }
+
+    }
+
+    /**
+     * The rules filed under a value or a range; a rule is removed by moving the last one into its place.
+     */
+    private static final class PostingList {
+
+        private final Runnable onEmpty;
+        private Posting[] postings = new Posting[2];
+        private int size;
+
+        PostingList(Runnable onEmpty) {
+            this.onEmpty = onEmpty;
+        }
+
+        Posting add(Rule rule) {
+            if (size == postings.length) {
+                postings = Arrays.copyOf(postings, size * 2);
+            }
+            Posting posting = new Posting(rule, this, size);
+            postings[size++] = posting;
+            return posting;
+        }
+
+        void remove(Posting posting) {
+            Posting last = postings[--size];
+            postings[posting.position] = last;
+            last.position = posting.position;
+            postings[size] = null;
+            if (size == 0) {
+                onEmpty.run();
+            }
+        }
+
+    }
+
+    private static final class AttributeIndex {
+
+        private final Attribute<Object, ?> attribute;
+        private final Map<Object, PostingList> values = new HashMap<>();
+        private final RangeTree ranges = new RangeTree();
+        /**
+         * The number of conditions mentioning each value, filed or not, used to estimate selectivity.
+         */
+        private final Map<Object, int[]> mentions = new HashMap<>();
+        private int conditions;
+
+        @SuppressWarnings("unchecked")
+        AttributeIndex(Attribute<?, ?> attribute) {
+            this.attribute = (Attribute<Object, ?>) attribute;
+        }
+
+        void register(AttributeCondition<?> condition) {
+            conditions++;
+            if (condition instanceof AttributeCondition.Membership) {
+                for (Object value : ((AttributeCondition.Membership<?>) condition).values) {
+                    mentions.computeIfAbsent(value, ignored -> new int[1])[0]++;
+                }
+            }
+        }
+
+        /**
+         * @return {@code true} if no condition on the attribute is left
+         */
+        boolean unregister(AttributeCondition<?> condition) {
+            if (condition instanceof AttributeCondition.Membership) {
+                for (Object value : ((AttributeCondition.Membership<?>) condition).values) {
+                    if (--mentions.get(value)[0] == 0) {
+                        mentions.remove(value);
+                    }
+                }
+            }
+            return --conditions == 0;
+        }
+
+        /**
+         * @return the expected share of the events satisfying the condition, assuming the values
+         * of the attribute mentioned by the rules are equally frequent
+         */
+        double selectivity(AttributeCondition<?> condition) {
+            if (condition instanceof AttributeCondition.Membership) {
+                Set<?> values = ((AttributeCondition.Membership<?>) condition).values;
+                // a condition without values is never satisfied, its conjunction is filed nowhere
+                return values.isEmpty() ? 0 : values.size() / (double) mentions.size();
+            }
+            return RANGE_SELECTIVITY;
+        }
+
+        List<PostingList> lists(AttributeCondition<?> condition) {
+            if (condition instanceof AttributeCondition.Membership) {
+                Set<?> keys = ((AttributeCondition.Membership<?>) condition).values;
+                List<PostingList> lists = new ArrayList<>(keys.size());
+                for (Object key : keys) {
+                    lists.add(values.computeIfAbsent(key, ignored -> new PostingList(() -> values.remove(key))));
+                }
+                return lists;
+            }
+            AttributeCondition.Range<?> range = (AttributeCondition.Range<?>) condition;
+            PostingList list = ranges.get(range.min, range.max);
+            if (list == null) {
+                list = new PostingList(() -> ranges.remove(range.min, range.max));
+                ranges.put(range.min, range.max, list);
+            }
+            return List.of(list);
+        }
+
+        void collect(Object value, Stamps stamps, List<Rule> candidates) {
+            if (value == null) {
+                return;
+            }
+            PostingList list = values.get(value);
+            if (list != null) {
+                RuleIndex.collect(list, stamps, candidates);
+            }
+            if (ranges.isEmpty() || !(value instanceof Comparable)) {
+                return;
+            }
+            try {
+                ranges.collect(value, stamps, candidates);
+            } catch (ClassCastException e) {
+                // the value is of another type than the bounds, so it is in none of the ranges
+            }
+        }
+
+    }
+
+    /**
+     * The ranges of an attribute, in a treap ordered by the lower and then by the upper bound.
+     * <br> Every node knows the largest upper bound in its subtree, so looking up the ranges containing a value
+     * skips the subtrees which end before the value and the ranges which start after it: a lookup costs time
+     * proportional to the logarithm of the number of ranges and to the number of the ranges found.
+     */
+    private static final class RangeTree {
+
+        private RangeNode root;
+
+        boolean isEmpty() {
+            return root == null;
+        }
+
+        PostingList get(Object min, Object max) {
+            RangeNode node = root;
+            while (node != null) {
+                int order = node.compareTo(min, max);
+                if (order == 0) {
+                    return node.list;
+                }
+                node = order > 0 ? node.left : node.right;
+            }
+            return null;
+        }
+
+        void put(Object min, Object max, PostingList list) {
+            root = insert(root, new RangeNode(min, max, list));
+        }
+
+        void remove(Object min, Object max) {
+            root = remove(root, min, max);
+        }
+
+        void collect(Object value, Stamps stamps, List<Rule> candidates) {
+            collect(root, value, stamps, candidates);
+        }
+
+        private static void collect(RangeNode node, Object value, Stamps stamps, List<Rule> candidates) {
+            while (node != null && AttributeCondition.compare(value, node.maxOfSubtree) <= 0) {
+                collect(node.left, value, stamps, candidates);
+                if (AttributeCondition.compare(node.min, value) > 0) {
+                    // the right subtree starts even later
+                    return;
+                }
+                if (AttributeCondition.compare(value, node.max) <= 0) {
+                    RuleIndex.collect(node.list, stamps, candidates);
+                }
+                node = node.right;
+            }
+        }
+
+        private static RangeNode insert(RangeNode node, RangeNode added) {
+            if (node == null) {
+                return added;
+            }
+            if (node.compareTo(added.min, added.max) > 0) {
+                node.left = insert(node.left, added);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, added);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            node.update();
+            return node;
+        }
+
+        private static RangeNode remove(RangeNode node, Object min, Object max) {
+            if (node == null) {
+                return null;
+            }
+            int order = node.compareTo(min, max);
+            if (order == 0) {
+                return merge(node.left, node.right);
+            }
+            if (order > 0) {
+                node.left = remove(node.left, min, max);
+            } else {
+                node.right = remove(node.right, min, max);
+            }
+            node.update();
+            return node;
+        }
+
+        private static RangeNode merge(RangeNode left, RangeNode right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                left.update();
+                return left;
+            }
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+
+        private static RangeNode rotateRight(RangeNode node) {
+            RangeNode left = node.left;
+            node.left = left.right;
+            node.update();
+            left.right = node;
+            left.update();
+            return left;
+        }
+
+        private static RangeNode rotateLeft(RangeNode node) {
+            RangeNode right = node.right;
+            node.right = right.left;
+            node.update();
+            right.left = node;
+            right.update();
+            return right;
+        }
+
+    }
+
+    private static final class RangeNode {
+
+        private final Object min;
+        private final Object max;
+        private final PostingList list;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private RangeNode left;
+        private RangeNode right;
+        private Object maxOfSubtree;
+
+        RangeNode(Object min, Object max, PostingList list) {
+            this.min = min;
+            this.max = max;
+            this.list = list;
+            this.maxOfSubtree = max;
+        }
+
+        int compareTo(Object otherMin, Object otherMax) {
+            int order = AttributeCondition.compare(min, otherMin);
+            return order != 0 ? order : AttributeCondition.compare(max, otherMax);
+        }
+
+        void update() {
+            maxOfSubtree = max;
+            if (left != null && AttributeCondition.compare(left.maxOfSubtree, maxOfSubtree) > 0) {
+                maxOfSubtree = left.maxOfSubtree;
+            }
+            if (right != null && AttributeCondition.compare(right.maxOfSubtree, maxOfSubtree) > 0) {
+                maxOfSubtree = right.maxOfSubtree;
+            }
+        }
+
+    }
+
+    /**
+     * Numbers the rules densely, reusing the numbers of the removed ones.
+     */
+    private static final class SlotAllocator {
+
+        private int[] free = new int[0];
+        private int freeCount;
+        private int capacity;
+
+        int acquire() {
+            return freeCount > 0 ? free[--freeCount] : capacity++;
+        }
+
+        void release(int slot) {
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, Math.max(4, freeCount * 2));
+            }
+            free[freeCount++] = slot;
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+    }
+
+    private static final class Stamps {
+
+        private int[] stamps = new int[0];
+        private int event;
+
+        Stamps start(int capacity) {
+            if (stamps.length < capacity) {
+                stamps = Arrays.copyOf(stamps, Math.max(capacity, stamps.length * 2));
+            }
+            if (++event == 0) {
+                // the stamps of 2^32 events ago could be taken for current ones
+                Arrays.fill(stamps, 0);
+                event = 1;
+            }
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,407 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A set of rules merged into one network, which finds all rules matching an event.
+ * <br> Every distinct predicate and every distinct subexpression of all the rules becomes a single node
+ * of the network, and rules with the same expression share their root. Every node knows its value for an event
+ * in which no predicate holds, and the rules matching such an event are known in advance.
+ * <br> When an event is matched, every distinct predicate is tested exactly once, in the order of their first
+ * occurrence, and only the predicates which hold are propagated: each of them updates the count of true operands
+ * of the nodes containing it, and a node whose value changes because of that propagates further up to the roots.
+ * The nodes and rules which no holding predicate reaches are not visited at all, so the cost of an event depends
+ * on the number of distinct predicates and on the part of the network they activate, not on the number of rules.
+ * Unlike a separate evaluation of the rules, the predicates are not short-circuited.
+ * <blockquote>
+ * <pre>
+ *      {@code RuleNetwork<Order> network = RuleNetwork.<Order>builder()}
+ *      {@code         .add("large-foreign", expr(isLarge).and(isForeign))}
+ *      {@code         .add("large-new-customer", expr(isLarge).and(isNewCustomer))}
+ *      {@code         .build();}
+ *      {@code Set<String> matching = network.matches(order);  // isLarge is tested once}
+ *     </pre>
+ * </blockquote>
+ * Predicates and subexpressions are shared when they are equal: predicates are identified by reference,
+ * subexpressions are equal if they consist of the same predicates combined in the same way and order.
+ * <br> A network is immutable and can be used by many threads at once. Each thread keeps its own
+ * counts of the nodes, stamped with the number of the event in {@link EvaluationSlots}.
+ *
+ * @param <C> the type of the events the rules are matched against
+ * @author EvseevDA
+ * @see LogicalExpression
+ * @since 0.10.0
+ */
+public final class RuleNetwork<C> {
+
+    private static final byte CONDITION = 0;
+    private static final byte CONSTANT = 1;
+    private static final byte NOT = 2;
+    private static final byte AND = 3;
+    private static final byte OR = 4;
+    private static final byte XOR = 5;
+
+    private final String[] ids;
+    private final int nodeCount;
+
+    // the nodes are numbered bottom up, every array below is indexed by the number of a node
+    private final byte[] kinds;
+    /**
+     * The number of operands of a node, counting an operand that occurs several times each time.
+     */
+    private final int[] sizes;
+    /**
+     * The value of a node, and the number of its true operands, for an event in which no predicate holds.
+     */
+    private final boolean[] defaults;
+    private final int[] defaultCounts;
+    /**
+     * The length of the longest path from a node down to a predicate; operands are always lower than their nodes.
+     */
+    private final int[] heights;
+    private final int[][] parents;
+    private final int[][] rulesByNode;
+    private final int[] nodesPerHeight;
+
+    private final int[] conditions;
+    private final ExpressionNode[] predicates;
+    private final int[] defaultRoots;
+
+    private final ThreadLocal<Memory> memory;
+
+    private RuleNetwork(Map<String, ExpressionNode> rules) {
+        Map<ExpressionNode, Integer> numbers = new HashMap<>();
+        List<ExpressionNode> nodes = new ArrayList<>();
+        List<Integer> roots = new ArrayList<>();
+        for (ExpressionNode tree : rules.values()) {
+            roots.add(number(tree, numbers, nodes));
+        }
+        this.ids = rules.keySet().toArray(new String[0]);
+        this.nodeCount = nodes.size();
+        this.kinds = new byte[nodeCount];
+        this.sizes = new int[nodeCount];
+        this.defaults = new boolean[nodeCount];
+        this.defaultCounts = new int[nodeCount];
+        this.heights = new int[nodeCount];
+        this.predicates = new ExpressionNode[nodeCount];
+        List<List<Integer>> parents = new ArrayList<>(nodeCount);
+        List<Integer> conditions = new ArrayList<>();
+        int maxHeight = 0;
+        for (int number = 0; number < nodeCount; number++) {
+            parents.add(new ArrayList<>(1));
+            ExpressionNode node = nodes.get(number);
+            if (node instanceof ExpressionNode.Const) {
+                kinds[number] = CONSTANT;
+                defaults[number] = ((ExpressionNode.Const) node).value;
+            } else if (node instanceof ExpressionNode.Not) {
+                kinds[number] = NOT;
+                link(number, numbers.get(((ExpressionNode.Not) node).operand), parents);
+                defaults[number] = defaultCounts[number] == 0;
+            } else if (node instanceof ExpressionNode.Junction) {
+                ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+                kinds[number] = junction instanceof ExpressionNode.And ? AND
+                        : junction instanceof ExpressionNode.Or ? OR
+                        : XOR;
+                for (int i = 0; i < junction.size; i++) {
+                    link(number, numbers.get(junction.operands[i]), parents);
+                }
+                defaults[number] = valueOf(kinds[number], defaultCounts[number], sizes[number]);
+            } else {
+                kinds[number] = CONDITION;
+                predicates[number] = node;
+                conditions.add(number);
+            }
+            maxHeight = Math.max(maxHeight, heights[number]);
+        }
+        this.parents = parents.stream()
+                .map(numbersOfParents -> numbersOfParents.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+        this.conditions = conditions.stream().mapToInt(Integer::intValue).toArray();
+        this.nodesPerHeight = new int[maxHeight + 1];
+        for (int height : heights) {
+            nodesPerHeight[height]++;
+        }
+        this.rulesByNode = new int[nodeCount][];
+        Set<Integer> defaultRoots = new LinkedHashSet<>();
+        for (int rule = 0; rule < roots.size(); rule++) {
+            int root = roots.get(rule);
+            int[] byRoot = rulesByNode[root];
+            byRoot = byRoot == null ? new int[1] : Arrays.copyOf(byRoot, byRoot.length + 1);
+            byRoot[byRoot.length - 1] = rule;
+            rulesByNode[root] = byRoot;
+            if (defaults[root]) {
+                defaultRoots.add(root);
+            }
+        }
+        this.defaultRoots = defaultRoots.stream().mapToInt(Integer::intValue).toArray();
+        this.memory = ThreadLocal.withInitial(this::newMemory);
+    }
+
+    private static int number(ExpressionNode node, Map<ExpressionNode, Integer> numbers, List<ExpressionNode> nodes) {
+        Integer existing = numbers.get(node);
+        if (existing != null) {
+            return existing;
+        }
+        if (node instanceof ExpressionNode.Not) {
+            number(((ExpressionNode.Not) node).operand, numbers, nodes);
+        } else if (node instanceof ExpressionNode.Junction) {
+            ExpressionNode.Junction junction = (ExpressionNode.Junction) node;
+            for (int i = 0; i < junction.size; i++) {
+                number(junction.operands[i], numbers, nodes);
+            }
+        }
+        // operands are numbered first, so the nodes are numbered bottom up
+        int number = nodes.size();
+        numbers.put(node, number);
+        nodes.add(node);
+        return number;
+    }
+
+    private void link(int node, int operand, List<List<Integer>> parents) {
+        parents.get(operand).add(node);
+        sizes[node]++;
+        if (defaults[operand]) {
+            defaultCounts[node]++;
+        }
+        heights[node] = Math.max(heights[node], heights[operand] + 1);
+    }
+
+    private static boolean valueOf(byte kind, int trueOperands, int size) {
+        switch (kind) {
+            case NOT:
+                return trueOperands == 0;
+            case AND:
+                return trueOperands == size;
+            case OR:
+                return trueOperands > 0;
+            default:
+                return (trueOperands & 1) == 1;
+        }
+    }
+
+    /**
+     * @param <C> the type of the events the rules are matched against
+     * @return a builder of a new network
+     */
+    public static <C> Builder<C> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Finds the rules matching the given event.
+     *
+     * @param event the event the rules are matched against
+     * @return the ids of the matching rules, in the order the rules were added
+     */
+    public Set<String> matches(C event) {
+        Memory memory = this.memory.get();
+        if (memory.slots.busy) {
+            // a predicate matches another event against the network
+            return matches(event, newMemory());
+        }
+        memory.slots.busy = true;
+        try {
+            return matches(event, memory);
+        } finally {
+            memory.slots.busy = false;
+        }
+    }
+
+    private Set<String> matches(C event, Memory memory) {
+        memory.start();
+        for (int condition : conditions) {
+            if (predicates[condition].evaluate(event)) {
+                change(condition, true, memory);
+            }
+        }
+        for (int height = 1; height < nodesPerHeight.length; height++) {
+            int[] queue = memory.queues[height];
+            for (int i = 0, size = memory.queueSizes[height]; i < size; i++) {
+                int node = queue[i];
+                boolean value = valueOf(kinds[node], memory.counts[node], sizes[node]);
+                if (value != defaults[node]) {
+                    change(node, value, memory);
+                }
+            }
+        }
+        return collect(memory);
+    }
+
+    /**
+     * Propagates the change of a node from its default value to the nodes containing it.
+     */
+    private void change(int node, boolean value, Memory memory) {
+        EvaluationSlots slots = memory.slots;
+        slots.set(node, true);
+        if (rulesByNode[node] != null && !defaults[node]) {
+            memory.addMatchingRoot(node);
+        }
+        int delta = value ? 1 : -1;
+        for (int parent : parents[node]) {
+            if (!slots.isSet(parent)) {
+                // the first operand of the parent that changed, the parent is evaluated once all its operands are
+                slots.set(parent, false);
+                memory.counts[parent] = defaultCounts[parent];
+                int height = heights[parent];
+                memory.queues[height][memory.queueSizes[height]++] = parent;
+            }
+            memory.counts[parent] += delta;
+        }
+    }
+
+    private Set<String> collect(Memory memory) {
+        EvaluationSlots slots = memory.slots;
+        int count = 0;
+        for (int root : defaultRoots) {
+            // a root is set if one of its operands changed, and true if its value changed
+            if (!slots.isSet(root) || !slots.get(root)) {
+                count = memory.addRules(rulesByNode[root], count);
+            }
+        }
+        for (int i = 0; i < memory.matchingRootCount; i++) {
+            count = memory.addRules(rulesByNode[memory.matchingRoots[i]], count);
+        }
+        if (count == 0) {
+            return Collections.emptySet();
+        }
+        int[] matching = memory.matchingRules;
+        Arrays.sort(matching, 0, count);
+        Set<String> result = new LinkedHashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            result.add(ids[matching[i]]);
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    private Memory newMemory() {
+        return new Memory(nodeCount, nodesPerHeight);
+    }
+
+    /**
+     * @return the number of rules in the network
+     */
+    public int ruleCount() {
+        return ids.length;
+    }
+
+    /**
+     * @return the number of distinct predicates and subexpressions in the network
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Collects the rules of a {@link RuleNetwork}.
+     *
+     * @param <C> the type of the events the rules are matched against
+     */
+    public static final class Builder<C> {
+
+        private final Map<String, ExpressionNode> rules = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule whose predicates are tested against the events.
+         *
+         * @param id   the id of the rule
+         * @param rule the expression of the rule
+         * @return this builder
+         * @throws IllegalArgumentException if a rule with the same id is already added
+         */
+        public Builder<C> add(String id, LogicalExpression<? super C> rule) {
+            Objects.requireNonNull(rule);
+            return add(id, rule.tree());
+        }
+
+        /**
+         * Adds a rule whose predicates take no arguments, for example because they read
+         * the current event from elsewhere.
+         *
+         * @param id   the id of the rule
+         * @param rule the expression of the rule
+         * @return this builder
+         * @throws IllegalArgumentException if a rule with the same id is already added
+         */
+        public Builder<C> add(String id, LazyLogicalExpression rule) {
+            Objects.requireNonNull(rule);
+            return add(id, rule.tree());
+        }
+
+        private Builder<C> add(String id, ExpressionNode tree) {
+            Objects.requireNonNull(id);
+            if (rules.putIfAbsent(id, tree) != null) {
+                throw new IllegalArgumentException("Duplicate rule id: " + id);
+            }
+            return this;
+        }
+
+        /**
+         * @return a network of the added rules
+         */
+        public RuleNetwork<C> build() {
+            return new RuleNetwork<>(rules);
+        }
+
+    }
+
+    /**
+     * The state of the nodes during an event, kept by a thread between events.
+     * <br> A node is set in the slots once one of its operands changes, its count of true operands is valid
+     * from then on, and its value in the slots tells whether it changed itself.
+     */
+    private static final class Memory {
+
+        private final EvaluationSlots slots;
+        private final int[] counts;
+        private final int[][] queues;
+        private final int[] queueSizes;
+        private int[] matchingRoots = new int[8];
+        private int matchingRootCount;
+        private int[] matchingRules = new int[8];
+
+        Memory(int nodeCount, int[] nodesPerHeight) {
+            this.slots = new EvaluationSlots(nodeCount);
+            this.counts = new int[nodeCount];
+            this.queues = new int[nodesPerHeight.length][];
+            for (int height = 0; height < queues.length; height++) {
+                queues[height] = new int[nodesPerHeight[height]];
+            }
+            this.queueSizes = new int[nodesPerHeight.length];
+        }
+
+        void start() {
+            slots.start();
+            Arrays.fill(queueSizes, 0);
+            matchingRootCount = 0;
+        }
+
+        void addMatchingRoot(int root) {
+            if (matchingRootCount == matchingRoots.length) {
+                matchingRoots = Arrays.copyOf(matchingRoots, matchingRootCount * 2);
+            }
+            matchingRoots[matchingRootCount++] = root;
+        }
+
+        int addRules(int[] rules, int count) {
+            if (count + rules.length > matchingRules.length) {
+                matchingRules = Arrays.copyOf(matchingRules, Math.max(count + rules.length, count * 2));
+            }
+            System.arraycopy(rules, 0, matchingRules, count, rules.length);
+            return count + rules.length;
+        }
+
+    }
+
+}
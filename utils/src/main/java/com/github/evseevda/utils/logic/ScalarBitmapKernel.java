@@ -0,0 +1,56 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * Processes one word per iteration, the JIT compiler may still auto-vectorize these loops.
+ *
+ * @author EvseevDA
+ * @since 0.10.0
+ */
+final class ScalarBitmapKernel extends BitmapKernel {
+
+    @Override
+    void and(long[] left, long[] right, long[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = left[i] & right[i];
+        }
+    }
+
+    @Override
+    void or(long[] left, long[] right, long[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = left[i] | right[i];
+        }
+    }
+
+    @Override
+    void xor(long[] left, long[] right, long[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = left[i] ^ right[i];
+        }
+    }
+
+    @Override
+    void andNot(long[] left, long[] right, long[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = left[i] & ~right[i];
+        }
+    }
+
+    @Override
+    void not(long[] words, long[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = ~words[i];
+        }
+    }
+
+    @Override
+    int nextNonZeroWord(long[] words, int from) {
+        for (int i = from; i < words.length; i++) {
+            if (words[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
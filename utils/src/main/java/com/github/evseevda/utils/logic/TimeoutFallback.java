@@ -0,0 +1,27 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * Defines what a predicate with a timeout returns when its target does not complete in time.
+ *
+ * @author EvseevDA
+ * @see NoArgsPredicate#withTimeout(NoArgsPredicate, java.time.Duration, TimeoutFallback)
+ * @since 0.10.0
+ */
+public enum TimeoutFallback {
+
+    /**
+     * The predicate returns {@code true}.
+     */
+    TRUE,
+
+    /**
+     * The predicate returns {@code false}.
+     */
+    FALSE,
+
+    /**
+     * The predicate throws an {@link EvaluationTimeoutException}.
+     */
+    FAIL
+
+}
@@ -0,0 +1,131 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A predicate which waits for its target at most for a fixed time.
+ * <br> The target is called in an executor, and a shared timer thread completes the wait when the timeout
+ * is reached. The fallback is then applied at once, without waiting for the target: its call is cancelled
+ * with interruption and left to the executor, so a target which ignores interruption holds a thread
+ * of the executor, never the caller. If the executor rejects the call, the fallback is applied as well.
+ * During {@link LazyLogicalExpression#result(java.time.Duration)} the timeout is shortened
+ * to the remaining budget of the expression.
+ * <br> By default the targets are called in a shared bounded pool of daemon threads, which does not queue
+ * the calls: when all of its threads are busy, the fallback is applied.
+ *
+ * @author EvseevDA
+ * @see NoArgsPredicate#withTimeout(NoArgsPredicate, java.time.Duration, TimeoutFallback)
+ * @since 0.10.0
+ */
+final class TimeoutPredicate implements NoArgsPredicate {
+
+    /**
+     * The largest number of targets called by the default executor at once.
+     */
+    static final int MAX_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    static final ExecutorService DEFAULT_EXECUTOR = createExecutor();
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private final NoArgsPredicate target;
+    private final long timeoutNanos;
+    private final TimeoutFallback fallback;
+    private final ExecutorService executor;
+
+    TimeoutPredicate(NoArgsPredicate target, long timeoutNanos, TimeoutFallback fallback, ExecutorService executor) {
+        this.target = Objects.requireNonNull(target);
+        this.timeoutNanos = timeoutNanos;
+        this.fallback = Objects.requireNonNull(fallback);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public boolean test() {
+        long timeout = Math.min(timeoutNanos, DeadlineEvaluator.remainingNanos());
+        if (timeout <= 0) {
+            return fallback();
+        }
+        // completed with the result of the target, or with null by the timer
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Future<?> call;
+        try {
+            call = executor.submit(() -> {
+                try {
+                    result.complete(target.test());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the executor is saturated or shut down, which is no different from the target not completing in time
+            return fallback();
+        }
+        Future<?> timeoutTask = TIMER.schedule(() -> result.complete(null), timeout, TimeUnit.NANOSECONDS);
+        Boolean value;
+        try {
+            value = result.get();
+        } catch (ExecutionException e) {
+            timeoutTask.cancel(false);
+            throw ParallelEvaluator.rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            timeoutTask.cancel(false);
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for " + target);
+        }
+        if (value == null) {
+            call.cancel(true);
+            return fallback();
+        }
+        timeoutTask.cancel(false);
+        return value;
+    }
+
+    private boolean fallback() {
+        switch (fallback) {
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            default:
+                throw new EvaluationTimeoutException(target + " did not complete in time");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "withTimeout(" + target + ")";
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(0, MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "no-args-predicate-timeout-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "no-args-predicate-timeout-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.evseevda.utils.logic;
+
+/**
+ * The result of an expression evaluated in three-valued logic, where the results of some predicates are unknown.
+ *
+ * @author EvseevDA
+ * @see LazyLogicalExpression#partialResult(java.util.Map)
+ * @since 0.10.0
+ */
+public enum TruthValue {
+
+    /**
+     * The expression is {@code true} whatever the unknown predicates return.
+     */
+    TRUE,
+
+    /**
+     * The expression is {@code false} whatever the unknown predicates return.
+     */
+    FALSE,
+
+    /**
+     * The result depends on the unknown predicates, or could not be proven not to.
+     */
+    UNKNOWN;
+
+    /**
+     * @param value a known result
+     * @return {@link #TRUE} or {@link #FALSE}
+     */
+    public static TruthValue of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * @return {@code true} unless this is {@link #UNKNOWN}
+     */
+    public boolean isKnown() {
+        return this != UNKNOWN;
+    }
+
+    /**
+     * @return the known result
+     * @throws IllegalStateException if this is {@link #UNKNOWN}
+     */
+    public boolean toBoolean() {
+        if (this == UNKNOWN) {
+            throw new IllegalStateException("The result is unknown");
+        }
+        return this == TRUE;
+    }
+
+}
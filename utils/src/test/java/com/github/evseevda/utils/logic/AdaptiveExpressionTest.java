@@ -0,0 +1,138 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveExpressionTest {
+
+    private static final NoArgsPredicate CHEAP_FALSE = () -> false;
+    private static final NoArgsPredicate CHEAP_TRUE = () -> true;
+    private static final NoArgsPredicate EXPENSIVE_TRUE = () -> spin(true);
+    private static final NoArgsPredicate EXPENSIVE_FALSE = () -> spin(false);
+
+    @Test
+    void whenExpensivePredicateIsWrittenFirstInAnd_ThenCheapFalsePredicateIsMovedBeforeIt() {
+        // arrange
+        AdaptiveExpression expression = allOf(EXPENSIVE_TRUE, CHEAP_FALSE).adaptive(1, 100);
+
+        // action
+        for (int i = 0; i < 200; i++) {
+            assertFalse(expression.result());
+        }
+
+        // assertion
+        assertEquals(allOf(CHEAP_FALSE, EXPENSIVE_TRUE).tree(), expression.tree());
+    }
+
+    @Test
+    void whenExpensivePredicateIsWrittenFirstInOr_ThenCheapTruePredicateIsMovedBeforeIt() {
+        // arrange
+        AdaptiveExpression expression = anyOf(EXPENSIVE_FALSE, CHEAP_TRUE).adaptive(1, 100);
+
+        // action
+        for (int i = 0; i < 200; i++) {
+            assertTrue(expression.result());
+        }
+
+        // assertion
+        assertEquals(anyOf(CHEAP_TRUE, EXPENSIVE_FALSE).tree(), expression.tree());
+    }
+
+    @Test
+    void whenPredicateIsOrderSensitive_ThenNoPredicateIsMovedAcrossIt() {
+        // arrange
+        NoArgsPredicate barrier = NoArgsPredicate.orderSensitive(() -> true);
+        AdaptiveExpression expression = allOf(EXPENSIVE_TRUE, barrier, EXPENSIVE_TRUE, CHEAP_FALSE).adaptive(1, 100);
+
+        // action
+        for (int i = 0; i < 200; i++) {
+            assertFalse(expression.result());
+        }
+
+        // assertion
+        assertEquals(allOf(EXPENSIVE_TRUE, barrier, CHEAP_FALSE, EXPENSIVE_TRUE).tree(), expression.tree());
+    }
+
+    @Test
+    void whenExpressionIsXor_ThenOperandsAreNotReordered() {
+        // arrange
+        LazyLogicalExpression xor = expr(EXPENSIVE_TRUE).xor(CHEAP_FALSE);
+        AdaptiveExpression expression = xor.adaptive(1, 100);
+
+        // action
+        for (int i = 0; i < 200; i++) {
+            assertTrue(expression.result());
+        }
+
+        // assertion
+        assertEquals(xor.tree(), expression.tree());
+    }
+
+    @Test
+    void whenExpressionIsEvaluatedConcurrentlyWithReordering_ThenResultsAreAlwaysCorrect() throws Exception {
+        // arrange
+        RandomExpressions expressions = new RandomExpressions(3, 6);
+        expressions.randomizeValues();
+        expressions.recordCalls = false;
+        List<LazyLogicalExpression> sources = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sources.add(expressions.randomExpression(4));
+        }
+        List<Boolean> expected = new ArrayList<>();
+        for (LazyLogicalExpression source : sources) {
+            expected.add(source.result());
+        }
+        List<AdaptiveExpression> adaptive = new ArrayList<>();
+        for (LazyLogicalExpression source : sources) {
+            adaptive.add(source.adaptive(2, 10));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // action
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    for (int j = 0; j < adaptive.size(); j++) {
+                        if (adaptive.get(j).result() != expected.get(j)) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }));
+        }
+
+        // assertion
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void whenTreeHasPredicateNeedingContext_ThenExceptionIsThrown() {
+        // arrange
+        ExpressionNode tree = ExpressionNode.and(ExpressionNode.leaf(() -> true), ExpressionNode.contextLeaf(context -> true));
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveExpression(tree, 1, 1));
+    }
+
+    private static boolean spin(boolean result) {
+        long end = System.nanoTime() + 20_000;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static com.github.evseevda.utils.logic.AsyncLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogicalExpressionTest {
+
+    private static final AsyncPredicate TRUE = () -> CompletableFuture.completedFuture(true);
+    private static final AsyncPredicate FALSE = () -> CompletableFuture.completedFuture(false);
+
+    @Test
+    void whenNativeLogicalExpressionWithAndResultIsReturned_ThenExpressionResultIsSame() {
+        // arrange
+        boolean expression = (true && false);
+        boolean expected = expression;
+
+        // action
+        boolean actual = expr(TRUE).and(FALSE).result().join();
+
+        // assertion
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenComplexComposedNativeLogicalExpressionResultIsReturned_ThenExpressionResultIsSame() {
+        // arrange
+        boolean expression = !(
+                (true && false)
+                        || (true && true)
+                        && !(
+                        (true && false)
+                                || (true ^ false)
+                )
+        );
+        boolean expected = expression;
+
+        // action
+        boolean actual =
+                not(
+                        (expr(TRUE).and(FALSE))
+                                .or(expr(TRUE).and(TRUE))
+                                .and(
+                                        not(
+                                                expr(
+                                                        expr(TRUE).and(FALSE)
+                                                ).or(expr(TRUE).xor(FALSE))
+                                        )
+                                )
+                ).result().join();
+
+        // assertion
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenEmptyAllOfAndAnyOfAreCalculated_ThenResultsAreTrueAndFalse() {
+        // arrange && action
+        boolean actualAllOf = allOf().result().join();
+        boolean actualAnyOf = anyOf().result().join();
+
+        // assertion
+        assertTrue(actualAllOf);
+        assertFalse(actualAnyOf);
+    }
+
+    @Test
+    void whenAllOfOperandCompletesWithFalse_ThenResultCompletesBeforePendingOperands() {
+        // arrange
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        CompletableFuture<Boolean> deciding = new CompletableFuture<>();
+        CompletableFuture<Boolean> result = allOf(() -> pending, () -> deciding, TRUE).result();
+
+        // action
+        boolean doneBeforeDecision = result.isDone();
+        deciding.complete(false);
+
+        // assertion
+        assertFalse(doneBeforeDecision);
+        assertTrue(result.isDone());
+        assertFalse(result.join());
+        assertFalse(pending.isDone());
+    }
+
+    @Test
+    void whenAnyOfOperandCompletesWithTrue_ThenResultCompletesBeforePendingOperands() {
+        // arrange
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        CompletableFuture<Boolean> result = anyOf(() -> pending, TRUE).result();
+
+        // action && assertion
+        assertTrue(result.isDone());
+        assertTrue(result.join());
+    }
+
+    @Test
+    void whenNoOperandDecidesResult_ThenResultWaitsForAllOperands() {
+        // arrange
+        CompletableFuture<Boolean> first = new CompletableFuture<>();
+        CompletableFuture<Boolean> second = new CompletableFuture<>();
+        CompletableFuture<Boolean> result = allOf(() -> first, () -> second).result();
+
+        // action
+        first.complete(true);
+        boolean doneAfterFirst = result.isDone();
+        second.complete(true);
+
+        // assertion
+        assertFalse(doneAfterFirst);
+        assertTrue(result.join());
+    }
+
+    @Test
+    void whenOperandCompletesWithNull_ThenResultFails() {
+        // arrange
+        CompletableFuture<Boolean> completedWithNull = CompletableFuture.completedFuture(null);
+
+        // action
+        CompletableFuture<Boolean> result = allOf(() -> completedWithNull, TRUE).result();
+
+        // assertion
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(NullPointerException.class, exception.getCause());
+    }
+
+    @Test
+    void whenOperandFailsAndResultIsNotDecided_ThenResultFails() {
+        // arrange
+        CompletableFuture<Boolean> failed = CompletableFuture.failedFuture(new IllegalStateException());
+
+        // action
+        CompletableFuture<Boolean> result = allOf(() -> failed, TRUE).result();
+
+        // assertion
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void whenOperandFailsButAnotherDecidesResult_ThenResultIsReturned() {
+        // arrange
+        AsyncPredicate throwing = () -> {
+            throw new IllegalStateException();
+        };
+
+        // action
+        boolean actual = anyOf(throwing, TRUE).result().join();
+
+        // assertion
+        assertTrue(actual);
+    }
+
+    @Test
+    void whenResultIsNotCalled_ThenPredicatesAreNotStarted() {
+        // arrange
+        int[] calls = new int[1];
+        AsyncPredicate counting = () -> {
+            calls[0]++;
+            return CompletableFuture.completedFuture(true);
+        };
+
+        // action
+        AsyncLogicalExpression expression = expr(counting).and(counting).or(not(counting)).xor(counting);
+
+        // assertion
+        assertEquals(0, calls[0]);
+        assertFalse(expression.result().join());
+        assertEquals(3, calls[0]); // not(counting) is skipped, the OR is already decided
+    }
+
+    @Test
+    void whenLeftOperandOfAndIsPending_ThenRightOperandIsStartedAnyway() {
+        // arrange
+        CompletableFuture<Boolean> guard = new CompletableFuture<>();
+        boolean[] started = new boolean[1];
+        AsyncPredicate guarded = () -> {
+            started[0] = true;
+            return CompletableFuture.completedFuture(true);
+        };
+
+        // action
+        CompletableFuture<Boolean> result = expr(() -> guard).and(guarded).result();
+        guard.complete(false);
+
+        // assertion
+        assertTrue(started[0]);
+        assertFalse(result.join());
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEvaluatorTest {
+
+    private static final int LEAVES = 6;
+
+    @Test
+    void whenRandomExpressionsAreEvaluatedInBatch_ThenResultsAndCallsMatchRowByRowEvaluation() {
+        // arrange
+        Random random = new Random(42);
+        List<boolean[]> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            boolean[] row = new boolean[LEAVES];
+            for (int leaf = 0; leaf < LEAVES; leaf++) {
+                row[leaf] = random.nextBoolean();
+            }
+            rows.add(row);
+        }
+        int[] calls = new int[LEAVES];
+        List<Predicate<boolean[]>> leaves = new ArrayList<>();
+        for (int i = 0; i < LEAVES; i++) {
+            int index = i;
+            leaves.add(row -> {
+                calls[index]++;
+                return row[index];
+            });
+        }
+
+        for (int expressionIndex = 0; expressionIndex < 200; expressionIndex++) {
+            LogicalExpression<boolean[]> expression = randomExpression(random, leaves, 4);
+            BitSet expected = new BitSet();
+            for (int row = 0; row < rows.size(); row++) {
+                if (expression.result(rows.get(row))) {
+                    expected.set(row);
+                }
+            }
+            int[] expectedCalls = calls.clone();
+            Arrays.fill(calls, 0);
+
+            // action
+            BitSet actual = expression.results(rows);
+
+            // assertion
+            assertEquals(expected, actual);
+            assertArrayEquals(expectedCalls, calls);
+            Arrays.fill(calls, 0);
+        }
+    }
+
+    @Test
+    void whenEarlierOperandDecidesRow_ThenLaterOperandIsNotCalledForIt() {
+        // arrange
+        List<Integer> tested = new ArrayList<>();
+        LogicalExpression<Integer> expression = LogicalExpression.<Integer>expr(value -> value % 2 == 0)
+                .and(value -> tested.add(value));
+        Integer[] values = {1, 2, 3, 4, 5, 6};
+
+        // action
+        BitSet actual = expression.results(values);
+
+        // assertion
+        assertEquals(List.of(2, 4, 6), tested);
+        assertEquals(BitSet.valueOf(new long[]{0b101010}), actual);
+    }
+
+    @Test
+    void whenXorNodesAreNestedAndSiblings_ThenEachGetsItsOwnOperandResults() {
+        // arrange
+        Predicate<Integer> first = value -> (value & 1) != 0;
+        Predicate<Integer> second = value -> (value & 2) != 0;
+        Predicate<Integer> third = value -> (value & 4) != 0;
+        LogicalExpression<Integer> expression = LogicalExpression.not(LogicalExpression.expr(first).xor(second))
+                .xor(LogicalExpression.not(LogicalExpression.expr(second).xor(third)))
+                .xor(LogicalExpression.expr(first)
+                        .and(LogicalExpression.not(LogicalExpression.expr(first).xor(third))));
+        Integer[] values = {0, 1, 2, 3, 4, 5, 6, 7};
+        BitSet expected = new BitSet();
+        for (int i = 0; i < values.length; i++) {
+            if (expression.result(values[i])) {
+                expected.set(i);
+            }
+        }
+
+        // action
+        BitSet actual = expression.results(values);
+
+        // assertion
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenContextsAreEmpty_ThenResultIsEmpty() {
+        // arrange
+        LogicalExpression<Integer> expression = LogicalExpression.<Integer>expr(value -> true).or(value -> true);
+
+        // action
+        BitSet actual = expression.results(List.of());
+
+        // assertion
+        assertTrue(actual.isEmpty());
+    }
+
+    private static LogicalExpression<boolean[]> randomExpression(Random random, List<Predicate<boolean[]>> leaves,
+                                                                 int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            Predicate<boolean[]> leaf = leaves.get(random.nextInt(leaves.size()));
+            return random.nextBoolean() ? LogicalExpression.expr(leaf) : LogicalExpression.not(leaf);
+        }
+        LogicalExpression<boolean[]> expression = randomExpression(random, leaves, depth - 1);
+        int operands = 1 + random.nextInt(3);
+        for (int i = 0; i < operands; i++) {
+            LogicalExpression<boolean[]> operand = randomExpression(random, leaves, depth - 1);
+            switch (random.nextInt(3)) {
+                case 0:
+                    expression = expression.and(operand);
+                    break;
+                case 1:
+                    expression = expression.or(operand);
+                    break;
+                default:
+                    expression = expression.xor(operand);
+                    break;
+            }
+        }
+        return random.nextInt(5) == 0 ? LogicalExpression.not(expression) : expression;
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryDecisionDiagramTest {
+
+    private static final NoArgsPredicate A = () -> true;
+    private static final NoArgsPredicate B = () -> false;
+    private static final NoArgsPredicate C = () -> true;
+
+    @Test
+    void whenRandomExpressionsAreEvaluated_ThenDiagramResultIsSameAndPredicatesAreCalledAtMostOnce() {
+        // arrange
+        RandomExpressions random = new RandomExpressions(15, 6);
+        for (int expressionIndex = 0; expressionIndex < 300; expressionIndex++) {
+            LazyLogicalExpression expression = random.randomExpression(4);
+            BinaryDecisionDiagram diagram = expression.decisionDiagram();
+
+            for (int valuesIndex = 0; valuesIndex < 16; valuesIndex++) {
+                random.randomizeValues();
+                random.recordCalls = false;
+                boolean expected = expression.result();
+                random.recordCalls = true;
+                random.calls.clear();
+
+                // action
+                boolean actual = diagram.result();
+
+                // assertion
+                assertEquals(expected, actual);
+                assertEquals(random.calls.size(), new HashSet<>(random.calls).size(), "calls " + random.calls);
+            }
+        }
+    }
+
+    @Test
+    void whenExpressionIsAlwaysTrueOrFalse_ThenDiagramIsTerminalAndCallsNoPredicates() {
+        // arrange
+        NoArgsPredicate failing = () -> {
+            throw new AssertionError("must not be called");
+        };
+
+        // action
+        BinaryDecisionDiagram tautology = expr(failing).or(not(failing)).and(expr(A).xor(not(A))).decisionDiagram();
+        BinaryDecisionDiagram contradiction = expr(failing).and(B).and(not(expr(B).or(failing))).decisionDiagram();
+
+        // assertion
+        assertTrue(tautology.isTautology());
+        assertFalse(tautology.isContradiction());
+        assertTrue(tautology.result());
+        assertTrue(contradiction.isContradiction());
+        assertFalse(contradiction.result());
+        assertEquals(2, tautology.size());
+        assertTrue(tautology.predicates().isEmpty());
+    }
+
+    @Test
+    void whenExpressionsAreLogicallyEqual_ThenTheyAreEquivalent() {
+        // arrange
+        LazyLogicalExpression deMorgan = not(expr(A).and(B));
+        LazyLogicalExpression pushedDown = not(A).or(not(B));
+        LazyLogicalExpression distributed = expr(A).and(expr(B).or(C));
+        LazyLogicalExpression expanded = expr(A).and(B).or(expr(C).and(A));
+
+        // action && assertion
+        assertTrue(deMorgan.isEquivalentTo(pushedDown));
+        assertTrue(distributed.isEquivalentTo(expanded));
+        assertTrue(expr(A).xor(B).isEquivalentTo(expr(A).and(not(B)).or(expr(B).and(not(A)))));
+        assertFalse(distributed.isEquivalentTo(expr(A).and(B)));
+        assertFalse(expr(A).isEquivalentTo(expr(() -> true)));
+    }
+
+    @Test
+    void whenLeafIsRepeatedInManyBranches_ThenDiagramTestsItOnce() {
+        // arrange
+        List<Integer> calls = new ArrayList<>();
+        NoArgsPredicate shared = () -> calls.add(0) && false;
+        NoArgsPredicate other = () -> calls.add(1);
+        LazyLogicalExpression expression = constant(false);
+        for (int i = 0; i < 100; i++) {
+            expression = expression.or(expr(shared).and(other));
+        }
+
+        // action
+        BinaryDecisionDiagram diagram = expression.decisionDiagram();
+        boolean actual = diagram.result();
+
+        // assertion
+        assertFalse(actual);
+        assertEquals(List.of(0), calls);
+        assertEquals(4, diagram.size());
+        assertEquals(List.of(shared, other), diagram.predicates());
+    }
+
+    @Test
+    void whenAllOfHasManyPredicates_ThenDiagramIsLinear() {
+        // arrange
+        List<NoArgsPredicate> predicates = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int index = i;
+            predicates.add(() -> index >= 0);
+        }
+
+        // action
+        BinaryDecisionDiagram diagram = allOf(predicates).decisionDiagram();
+
+        // assertion
+        assertEquals(100_002, diagram.size());
+        assertTrue(diagram.result());
+    }
+
+    @Test
+    void whenTreeHasPredicateNeedingContext_ThenExceptionIsThrown() {
+        // arrange
+        ExpressionNode tree = ExpressionNode.and(ExpressionNode.leaf(() -> true), ExpressionNode.contextLeaf(context -> true));
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> BinaryDecisionDiagram.of(tree));
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BooleanColumnTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 63, 64, 65, 1000, 4099})
+    void whenColumnsAreCombined_ThenValuesMatchNativeOperators(int size) {
+        // arrange
+        Random random = new Random(size);
+        boolean[] a = randomValues(random, size);
+        boolean[] b = randomValues(random, size);
+        boolean[] c = randomValues(random, size);
+        BooleanColumn columnA = BooleanColumn.of(a);
+        BooleanColumn columnB = BooleanColumn.of(b);
+        BooleanColumn columnC = BooleanColumn.of(c);
+
+        // action
+        BooleanColumn allOf = BooleanColumn.allOf(columnA, columnB, columnC);
+        BooleanColumn anyOf = BooleanColumn.anyOf(columnA, columnB, columnC);
+        BooleanColumn combined = columnA.and(columnB).or(columnC.not()).xor(columnB).andNot(columnC);
+
+        // assertion
+        for (int i = 0; i < size; i++) {
+            assertEquals(a[i] && b[i] && c[i], allOf.get(i));
+            assertEquals(a[i] || b[i] || c[i], anyOf.get(i));
+            assertEquals((((a[i] && b[i]) || !c[i]) ^ b[i]) && !c[i], combined.get(i));
+        }
+    }
+
+    @Test
+    void whenColumnIsNegatedTwice_ThenItIsEqualToOriginal() {
+        // arrange
+        BooleanColumn column = BooleanColumn.of(randomValues(new Random(1), 70));
+
+        // action
+        BooleanColumn negated = column.not();
+
+        // assertion
+        assertEquals(column, negated.not());
+        assertEquals(70, column.cardinality() + negated.cardinality());
+    }
+
+    @Test
+    void whenSetBitsAreSearched_ThenTheyMatchBitSet() {
+        // arrange
+        boolean[] values = new boolean[1000];
+        values[3] = true;
+        values[64] = true;
+        values[700] = true;
+        BooleanColumn column = BooleanColumn.of(values);
+
+        // action && assertion
+        assertEquals(3, column.firstSetBit());
+        assertEquals(64, column.nextSetBit(4));
+        assertEquals(700, column.nextSetBit(65));
+        assertEquals(-1, column.nextSetBit(701));
+        assertEquals(-1, BooleanColumn.of(new boolean[1000]).firstSetBit());
+        assertEquals(3, column.cardinality());
+        assertEquals(column.toBitSet(), BooleanColumn.of(column.toBitSet(), 1000).toBitSet());
+        assertEquals("{3, 64, 700}", column.toBitSet().toString());
+        assertArrayEquals(values, column.toArray());
+    }
+
+    @Test
+    void whenColumnIsCreatedFromBitSet_ThenBitsAfterSizeAreIgnored() {
+        // arrange
+        BitSet bits = new BitSet();
+        bits.set(1);
+        bits.set(10);
+
+        // action
+        BooleanColumn column = BooleanColumn.of(bits, 5);
+
+        // assertion
+        assertEquals(BooleanColumn.of(false, true, false, false, false), column);
+        assertEquals(1, column.cardinality());
+    }
+
+    @Test
+    void whenColumnsHaveDifferentSizes_ThenExceptionIsThrown() {
+        // arrange
+        BooleanColumn column = BooleanColumn.of(true, false);
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> column.and(BooleanColumn.of(true)));
+        assertThrows(IllegalArgumentException.class, () -> BooleanColumn.anyOf(column, BooleanColumn.of()));
+    }
+
+    @Test
+    void whenVectorAndScalarKernelsAreUsed_ThenResultsAreSame() {
+        // arrange
+        Random random = new Random(7);
+        BitmapKernel scalar = new ScalarBitmapKernel();
+        BitmapKernel vector = BitmapKernel.vector();
+        // the SIMD kernel is built and tested with the vector profile only
+        assumeTrue(vector != null);
+
+        for (int length : List.of(0, 1, 3, 8, 17, 1025)) {
+            long[] left = random.longs(length).toArray();
+            long[] right = random.longs(length).toArray();
+            long[] expected = new long[length];
+            long[] actual = new long[length];
+
+            // action && assertion
+            scalar.and(left, right, expected);
+            vector.and(left, right, actual);
+            assertArrayEquals(expected, actual);
+            scalar.or(left, right, expected);
+            vector.or(left, right, actual);
+            assertArrayEquals(expected, actual);
+            scalar.xor(left, right, expected);
+            vector.xor(left, right, actual);
+            assertArrayEquals(expected, actual);
+            scalar.andNot(left, right, expected);
+            vector.andNot(left, right, actual);
+            assertArrayEquals(expected, actual);
+            scalar.not(left, expected);
+            vector.not(left, actual);
+            assertArrayEquals(expected, actual);
+
+            long[] sparse = new long[length];
+            if (length > 0) {
+                sparse[length - 1] = 1;
+            }
+            for (int from = 0; from <= length; from++) {
+                assertEquals(scalar.nextNonZeroWord(sparse, from), vector.nextNonZeroWord(sparse, from));
+            }
+        }
+    }
+
+    private static boolean[] randomValues(Random random, int size) {
+        boolean[] values = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextBoolean();
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommonSubexpressionEvaluatorTest {
+
+    @Test
+    void whenLeafIsRepeated_ThenItIsCalledOncePerEvaluation() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate a = () -> calls.add("a");
+        NoArgsPredicate b = () -> !calls.add("b");
+        NoArgsPredicate c = () -> calls.add("c");
+        NoArgsPredicate predicate = expr(a).and(b).or(expr(a).and(c)).eliminateCommonSubexpressions();
+
+        // action
+        boolean first = predicate.test();
+        boolean second = predicate.test();
+
+        // assertion
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(List.of("a", "b", "c", "a", "b", "c"), calls);
+    }
+
+    @Test
+    void whenSubtreeIsRepeated_ThenItIsCalculatedOncePerEvaluation() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate a = () -> calls.add("a");
+        NoArgsPredicate b = () -> !calls.add("b");
+        LazyLogicalExpression shared = expr(a).xor(b);
+        CommonSubexpressionEvaluator evaluator = new CommonSubexpressionEvaluator(
+                expr(shared).and(not(expr(shared).and(b))).xor(shared).tree());
+
+        // action
+        boolean actual = evaluator.test();
+
+        // assertion
+        assertFalse(actual);
+        assertEquals(List.of("a", "b"), calls);
+    }
+
+    @Test
+    void whenRandomExpressionsAreEvaluated_ThenResultIsSameAndPredicatesAreCalledAtMostOnce() {
+        // arrange
+        RandomExpressions random = new RandomExpressions(16, 5);
+        for (int expressionIndex = 0; expressionIndex < 300; expressionIndex++) {
+            LazyLogicalExpression expression = random.randomExpression(4);
+            NoArgsPredicate predicate = expression.eliminateCommonSubexpressions();
+
+            for (int valuesIndex = 0; valuesIndex < 16; valuesIndex++) {
+                random.randomizeValues();
+                random.recordCalls = false;
+                boolean expected = expression.result();
+                random.recordCalls = true;
+                random.calls.clear();
+
+                // action
+                boolean actual = predicate.test();
+
+                // assertion
+                assertEquals(expected, actual);
+                assertEquals(random.calls.size(), new HashSet<>(random.calls).size(), "calls " + random.calls);
+            }
+        }
+    }
+
+    @Test
+    void whenExpressionIsEvaluatedFromItsOwnPredicate_ThenNestedEvaluationHasOwnSlots() {
+        // arrange
+        boolean[] value = {false};
+        int[] depth = {0};
+        NoArgsPredicate[] self = new NoArgsPredicate[1];
+        NoArgsPredicate leaf = () -> value[0];
+        NoArgsPredicate nested = () -> {
+            if (depth[0]++ == 0) {
+                value[0] = true;
+                assertTrue(self[0].test());
+                value[0] = false;
+            }
+            return false;
+        };
+        self[0] = expr(nested).or(leaf).or(leaf).eliminateCommonSubexpressions();
+
+        // action
+        boolean actual = self[0].test();
+
+        // assertion
+        assertFalse(actual);
+        assertEquals(2, depth[0]);
+    }
+
+}
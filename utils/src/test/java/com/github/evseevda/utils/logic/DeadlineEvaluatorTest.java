@@ -0,0 +1,215 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineEvaluatorTest {
+
+    @Test
+    void whenBudgetIsEnough_ThenResultIsSameAsWithoutBudget() {
+        // arrange
+        RandomExpressions random = new RandomExpressions(20, 5);
+        random.recordCalls = false;
+        for (int expressionIndex = 0; expressionIndex < 200; expressionIndex++) {
+            LazyLogicalExpression expression = random.randomExpression(4);
+            random.randomizeValues();
+            boolean expected = expression.result();
+
+            // action
+            boolean actual = expression.result(Duration.ofMinutes(1));
+
+            // assertion
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void whenLeafBlocks_ThenTimeoutFallbackIsApplied() {
+        // arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        NoArgsPredicate blocking = () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        };
+
+        // action
+        boolean asTrue = NoArgsPredicate.withTimeout(blocking, Duration.ofMillis(20), TimeoutFallback.TRUE).test();
+        boolean asFalse = NoArgsPredicate.withTimeout(blocking, Duration.ofMillis(20), TimeoutFallback.FALSE).test();
+
+        // assertion
+        assertTrue(asTrue);
+        assertFalse(asFalse);
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(10, TimeUnit.SECONDS)));
+        assertThrows(EvaluationTimeoutException.class,
+                () -> NoArgsPredicate.withTimeout(blocking, Duration.ofMillis(20), TimeoutFallback.FAIL).test());
+    }
+
+    @Test
+    void whenLeafIgnoresInterruption_ThenFallbackIsAppliedWithoutWaitingForIt() {
+        // arrange
+        NoArgsPredicate busy = () -> {
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+            return true;
+        };
+
+        // action
+        long start = System.nanoTime();
+        boolean actual = NoArgsPredicate.withTimeout(busy, Duration.ofMillis(10), TimeoutFallback.FALSE).test();
+        long elapsed = System.nanoTime() - start;
+
+        // assertion
+        assertFalse(actual);
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "elapsed " + elapsed);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void whenCallerIsInterrupted_ThenInterruptStatusIsKept() {
+        // arrange
+        NoArgsPredicate timed = NoArgsPredicate.withTimeout(() -> {
+            sleep(60_000);
+            return true;
+        }, Duration.ofSeconds(10), TimeoutFallback.TRUE);
+        Thread.currentThread().interrupt();
+
+        // action && assertion
+        try {
+            assertThrows(CancellationException.class, timed::test);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void whenExecutorRejectsLeaf_ThenTimeoutFallbackIsApplied() {
+        // arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        NoArgsPredicate rejected = NoArgsPredicate.withTimeout(() -> false, Duration.ofSeconds(10),
+                TimeoutFallback.TRUE, executor);
+
+        // action
+        boolean actual = rejected.test();
+
+        // assertion
+        assertTrue(actual);
+    }
+
+    @Test
+    void whenLeafCompletesInTime_ThenItsResultAndExceptionsAreRelayed() {
+        // arrange
+        NoArgsPredicate fast = NoArgsPredicate.withTimeout(() -> false, Duration.ofSeconds(10), TimeoutFallback.TRUE);
+        NoArgsPredicate failing = NoArgsPredicate.withTimeout(() -> {
+            throw new IllegalStateException("failure");
+        }, Duration.ofSeconds(10), TimeoutFallback.TRUE);
+
+        // action && assertion
+        assertFalse(fast.test());
+        assertThrows(IllegalStateException.class, failing::test);
+    }
+
+    @Test
+    void whenBudgetIsShorterThanLeafTimeout_ThenBudgetBoundsTheLeaf() {
+        // arrange
+        NoArgsPredicate slow = NoArgsPredicate.withTimeout(() -> {
+            sleep(60_000);
+            return true;
+        }, Duration.ofMinutes(1), TimeoutFallback.FALSE);
+        LazyLogicalExpression expression = expr(() -> true).and(slow);
+
+        // action
+        long start = System.nanoTime();
+        boolean actual = expression.result(Duration.ofMillis(50));
+        long elapsed = System.nanoTime() - start;
+
+        // assertion
+        assertFalse(actual);
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(30), "elapsed " + elapsed);
+    }
+
+    @Test
+    void whenBudgetIsSpent_ThenNextLeafIsNotCalled() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate slow = () -> {
+            calls.add("slow");
+            sleep(30);
+            return true;
+        };
+        NoArgsPredicate next = () -> calls.add("next");
+
+        // action && assertion
+        assertThrows(EvaluationTimeoutException.class, () -> expr(slow).and(next).result(Duration.ofMillis(10)));
+        assertEquals(List.of("slow"), calls);
+    }
+
+    @Test
+    void whenBudgetIsNearlySpent_ThenKnownOperandDecidesBeforeSlowOnes() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate known = NoArgsPredicate.memoize(() -> false);
+        known.test();
+        NoArgsPredicate slow = () -> {
+            calls.add("slow");
+            sleep(320);
+            return true;
+        };
+        NoArgsPredicate unknown = () -> calls.add("unknown");
+
+        // action
+        boolean actual = expr(slow).and(expr(unknown).and(known)).result(Duration.ofMillis(400));
+
+        // assertion
+        assertFalse(actual);
+        assertEquals(List.of("slow"), calls);
+    }
+
+    @Test
+    void whenOrderSensitiveOperandPrecedesKnownOne_ThenItIsNotSkipped() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate known = NoArgsPredicate.memoize(() -> false);
+        known.test();
+        NoArgsPredicate slow = () -> {
+            calls.add("slow");
+            sleep(320);
+            return true;
+        };
+        NoArgsPredicate guard = NoArgsPredicate.orderSensitive(() -> calls.add("guard"));
+
+        // action
+        boolean actual = expr(slow).and(expr(guard).and(known)).result(Duration.ofMillis(400));
+
+        // assertion
+        assertFalse(actual);
+        assertEquals(List.of("slow", "guard"), calls);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -2,8 +2,12 @@ package com.github.evseevda.utils.logic;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+
 import static com.github.evseevda.utils.logic.EagerLogicalExpression.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EagerLogicalExpressionTest {
 
@@ -373,4 +377,68 @@ public class EagerLogicalExpressionTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void whenExpressionIsCombined_ThenOperandsAreNotChanged() {
+        // arrange
+        EagerLogicalExpression expression = expr(true);
+
+        // action
+        EagerLogicalExpression combined = expression.and(false);
+
+        // assertion
+        assertEquals(true, expression.result());
+        assertEquals(false, combined.result());
+        assertSame(expr(false), combined);
+    }
+
+    @Test
+    void whenFixedArityAllOfAndAnyOfAreCalled_ThenResultsMatchVarargsOverloads() {
+        boolean[] values = {true, false};
+        for (boolean a : values) {
+            for (boolean b : values) {
+                for (boolean c : values) {
+                    for (boolean d : values) {
+                        // action && assertion
+                        assertSame(allOf(new boolean[]{a, b}), allOf(a, b));
+                        assertSame(allOf(new boolean[]{a, b, c}), allOf(a, b, c));
+                        assertSame(allOf(new boolean[]{a, b, c, d}), allOf(a, b, c, d));
+                        assertSame(anyOf(new boolean[]{a, b}), anyOf(a, b));
+                        assertSame(anyOf(new boolean[]{a, b, c}), anyOf(a, b, c));
+                        assertSame(anyOf(new boolean[]{a, b, c, d}), anyOf(a, b, c, d));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void whenTypicalChainIsCalculated_ThenNothingIsAllocated() {
+        // arrange
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        boolean[] values = {true, false, true, true};
+        int trueResults = 0;
+        for (int i = 0; i < 100_000; i++) {
+            trueResults += chain(values, i) ? 1 : 0;
+        }
+
+        // action
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            trueResults += chain(values, i) ? 1 : 0;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // assertion
+        assertTrue(trueResults > 0);
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+    private static boolean chain(boolean[] values, int i) {
+        boolean a = values[i & 3];
+        boolean b = values[(i + 1) & 3];
+        boolean c = values[(i + 2) & 3];
+        return expr(allOf(a, b, c)).or(not(anyOf(a, c))).xor(expr(b).and(a)).result();
+    }
+
 }
@@ -0,0 +1,109 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExplanationTest {
+
+    @Test
+    void whenOrIsFalse_ThenAllOperandsDecideAndShortCircuitedAndIsExplained() {
+        // arrange
+        NoArgsPredicate isAdmin = named("isAdmin", false);
+        NoArgsPredicate isOwner = named("isOwner", false);
+        NoArgsPredicate isActive = named("isActive", true);
+
+        // action
+        Explanation explanation = expr(isAdmin).or(expr(isOwner).and(isActive)).explain();
+
+        // assertion
+        assertFalse(explanation.result());
+        assertEquals(List.of(isAdmin, isOwner), explanation.decidingPredicates());
+        assertEquals(List.of(isActive), explanation.skippedPredicates());
+        assertEquals("false because [isAdmin, isOwner], skipped [isActive]", explanation.toString());
+    }
+
+    @Test
+    void whenOrIsTrue_ThenOnlyTrueOperandDecides() {
+        // arrange
+        NoArgsPredicate a = named("a", true);
+        NoArgsPredicate b = named("b", false);
+        NoArgsPredicate c = named("c", true);
+        NoArgsPredicate d = named("d", true);
+
+        // action
+        Explanation explanation = expr(a).and(b).or(expr(c).and(not(b))).or(d).explain();
+
+        // assertion
+        assertTrue(explanation.result());
+        assertEquals(List.of(c, b), explanation.decidingPredicates());
+        assertEquals(List.of(d), explanation.skippedPredicates());
+        List<String> calls = explanation.calls().stream()
+                .map(call -> call.predicate() + "=" + call.result())
+                .collect(Collectors.toList());
+        assertEquals(List.of("a=true", "b=false", "c=true", "b=false"), calls);
+        assertTrue(explanation.calls().stream().allMatch(call -> call.nanos() >= 0));
+    }
+
+    @Test
+    void whenXorIsExplained_ThenAllOperandsDecide() {
+        // arrange
+        NoArgsPredicate a = named("a", true);
+        NoArgsPredicate b = named("b", true);
+
+        // action
+        Explanation explanation = expr(a).xor(b).explain();
+
+        // assertion
+        assertFalse(explanation.result());
+        assertEquals(List.of(a, b), explanation.decidingPredicates());
+        assertTrue(explanation.skippedPredicates().isEmpty());
+    }
+
+    @Test
+    void whenRandomExpressionsAreExplained_ThenDecidingPredicatesAloneDetermineResult() {
+        // arrange
+        RandomExpressions random = new RandomExpressions(19, 6);
+        random.recordCalls = false;
+        for (int expressionIndex = 0; expressionIndex < 300; expressionIndex++) {
+            LazyLogicalExpression expression = random.randomExpression(4);
+            random.randomizeValues();
+            boolean expected = expression.result();
+
+            // action
+            Explanation explanation = expression.explain();
+
+            // assertion
+            assertEquals(expected, explanation.result());
+            boolean[] decidingValues = random.values.clone();
+            for (int attempt = 0; attempt < 8; attempt++) {
+                random.randomizeValues();
+                for (int i = 0; i < random.leaves.size(); i++) {
+                    if (explanation.decidingPredicates().contains(random.leaves.get(i))) {
+                        random.values[i] = decidingValues[i];
+                    }
+                }
+                assertEquals(expected, expression.result(), expression.tree() + " " + explanation);
+            }
+        }
+    }
+
+    private static NoArgsPredicate named(String name, boolean value) {
+        return new NoArgsPredicate() {
+            @Override
+            public boolean test() {
+                return value;
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionCodecTest {
+
+    private final NoArgsPredicate isLarge = () -> true;
+    private final NoArgsPredicate isForeign = () -> false;
+    private final NoArgsPredicate isNew = () -> true;
+    private final ExpressionCodec codec = new ExpressionCodec(Map.of(
+            "isLarge", isLarge,
+            "isForeign", isForeign,
+            "isNew", isNew));
+
+    @Test
+    void whenExpressionsAreEncodedAndDecoded_ThenStructureAndNamesArePreserved() throws IOException {
+        // arrange
+        List<LazyLogicalExpression> expressions = List.of(
+                LazyLogicalExpression.expr(isLarge).and(isForeign).named("large-foreign"),
+                LazyLogicalExpression.not(LazyLogicalExpression.expr(isLarge).or(isNew)).xor(isForeign),
+                LazyLogicalExpression.allOf(isNew, isLarge).and(LazyLogicalExpression.constant(false)),
+                LazyLogicalExpression.anyOf(new NoArgsPredicate[0]).named("Правило"));
+
+        // action
+        List<LazyLogicalExpression> decoded = decode(encode(expressions));
+
+        // assertion
+        assertEquals(expressions.size(), decoded.size());
+        for (int i = 0; i < expressions.size(); i++) {
+            assertEquals(expressions.get(i).tree(), decoded.get(i).tree());
+            assertEquals(expressions.get(i).name(), decoded.get(i).name());
+            assertEquals(expressions.get(i).result(), decoded.get(i).result());
+        }
+    }
+
+    @Test
+    void whenPredicateOccursManyTimes_ThenItsNameIsWrittenOnce() throws IOException {
+        // arrange
+        LazyLogicalExpression once = LazyLogicalExpression.expr(isLarge);
+        LazyLogicalExpression manyTimes = LazyLogicalExpression.expr(isLarge).and(isLarge).or(isLarge);
+
+        // action
+        byte[] first = encode(List.of(once));
+        byte[] second = encode(List.of(once, manyTimes));
+
+        // assertion
+        // a name, an OR of two operands, an AND of two operands and three references
+        assertEquals(first.length + 1 + 2 + 2 + 3 * 2, second.length);
+    }
+
+    @Test
+    void whenRandomExpressionsAreEncodedAndDecoded_ThenTreesAreEqual() throws IOException {
+        // arrange
+        RandomExpressions random = new RandomExpressions(25, 12);
+        Map<String, NoArgsPredicate> registry = new HashMap<>();
+        for (int i = 0; i < random.leaves.size(); i++) {
+            registry.put("leaf" + i, random.leaves.get(i));
+        }
+        ExpressionCodec codec = new ExpressionCodec(registry);
+        List<LazyLogicalExpression> expressions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expressions.add(random.randomExpression(5));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExpressionCodec.Encoder encoder = codec.encoder(out)) {
+            for (LazyLogicalExpression expression : expressions) {
+                encoder.write(expression);
+            }
+        }
+
+        // action
+        ExpressionCodec.Decoder decoder = codec.decoder(ByteBuffer.wrap(out.toByteArray()));
+        List<LazyLogicalExpression> decoded = new ArrayList<>();
+        while (decoder.hasNext()) {
+            decoded.add(decoder.next());
+        }
+
+        // assertion
+        assertEquals(expressions.size(), decoded.size());
+        for (int i = 0; i < expressions.size(); i++) {
+            assertEquals(expressions.get(i).tree(), decoded.get(i).tree());
+        }
+    }
+
+    @Test
+    void whenPredicateIsNotInRegistry_ThenExpressionIsNotWritten() throws IOException {
+        // arrange
+        NoArgsPredicate unknown = () -> true;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // action
+        try (ExpressionCodec.Encoder encoder = codec.encoder(out)) {
+            encoder.write(LazyLogicalExpression.expr(isLarge));
+            assertThrows(IllegalArgumentException.class,
+                    () -> encoder.write(LazyLogicalExpression.expr(isNew).and(unknown)));
+            encoder.write(LazyLogicalExpression.expr(isNew));
+        }
+        List<LazyLogicalExpression> decoded = decode(out.toByteArray());
+
+        // assertion
+        assertEquals(2, decoded.size());
+        assertEquals(LazyLogicalExpression.expr(isLarge).tree(), decoded.get(0).tree());
+        assertEquals(LazyLogicalExpression.expr(isNew).tree(), decoded.get(1).tree());
+    }
+
+    @Test
+    void whenNameIsNotInRegistry_ThenExceptionIsThrown() throws IOException {
+        // arrange
+        byte[] bytes = encode(List.of(LazyLogicalExpression.expr(isLarge)));
+        ExpressionCodec other = new ExpressionCodec(Map.of("isForeign", isForeign));
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> other.decoder(ByteBuffer.wrap(bytes)).next());
+    }
+
+    @Test
+    void whenStreamIsMalformed_ThenExceptionIsThrown() throws IOException {
+        // arrange
+        byte[] bytes = encode(List.of(LazyLogicalExpression.expr(isLarge).and(isForeign)));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        byte[] otherVersion = bytes.clone();
+        otherVersion[4] = ExpressionCodec.VERSION + 1;
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> codec.decoder(ByteBuffer.wrap(truncated)).next());
+        assertThrows(IllegalArgumentException.class, () -> codec.decoder(ByteBuffer.wrap(otherVersion)));
+        assertThrows(IllegalArgumentException.class, () -> codec.decoder(ByteBuffer.wrap(new byte[]{'L', 'E'})));
+    }
+
+    @Test
+    void whenBufferIsDirect_ThenItIsDecoded() throws IOException {
+        // arrange
+        LazyLogicalExpression expression = LazyLogicalExpression.expr(isForeign).or(isNew).named("foreign-or-new");
+        byte[] bytes = encode(List.of(expression));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        // action
+        LazyLogicalExpression decoded = codec.decoder(buffer).next();
+
+        // assertion
+        assertEquals(expression.tree(), decoded.tree());
+        assertEquals("foreign-or-new", decoded.name());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void whenStreamIsNestedTooDeeply_ThenExceptionIsThrown() {
+        // arrange
+        byte[] bytes = new byte[5 + 1 + 100_000 + 1];
+        System.arraycopy(new byte[]{'L', 'E', 'X', 'P', ExpressionCodec.VERSION}, 0, bytes, 0, 5);
+        // an unnamed expression of 100 000 nested NOT nodes around TRUE
+        Arrays.fill(bytes, 6, bytes.length - 1, (byte) 2);
+        bytes[bytes.length - 1] = 1;
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> codec.decoder(ByteBuffer.wrap(bytes)).next());
+    }
+
+    @Test
+    void whenExpressionIsNestedTooDeeply_ThenItIsNotWritten() throws IOException {
+        // arrange
+        LazyLogicalExpression deepest = LazyLogicalExpression.expr(isLarge);
+        for (int depth = 1; depth < ExpressionCodec.MAX_DEPTH; depth++) {
+            deepest = LazyLogicalExpression.not(deepest);
+        }
+        LazyLogicalExpression tooDeep = LazyLogicalExpression.not(deepest);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // action
+        try (ExpressionCodec.Encoder encoder = codec.encoder(out)) {
+            assertThrows(IllegalArgumentException.class, () -> encoder.write(tooDeep));
+            encoder.write(deepest);
+        }
+        List<LazyLogicalExpression> decoded = decode(out.toByteArray());
+
+        // assertion
+        assertEquals(1, decoded.size());
+        assertEquals(deepest.tree(), decoded.get(0).tree());
+    }
+
+    private byte[] encode(List<LazyLogicalExpression> expressions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExpressionCodec.Encoder encoder = codec.encoder(out)) {
+            for (LazyLogicalExpression expression : expressions) {
+                encoder.write(expression);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private List<LazyLogicalExpression> decode(byte[] bytes) {
+        ExpressionCodec.Decoder decoder = codec.decoder(ByteBuffer.wrap(bytes));
+        List<LazyLogicalExpression> decoded = new ArrayList<>();
+        while (decoder.hasNext()) {
+            decoded.add(decoder.next());
+        }
+        return decoded;
+    }
+
+}
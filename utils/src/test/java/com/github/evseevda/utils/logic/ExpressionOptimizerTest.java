@@ -0,0 +1,168 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionOptimizerTest {
+
+    private static final NoArgsPredicate A = () -> true;
+    private static final NoArgsPredicate B = () -> false;
+    private static final NoArgsPredicate C = () -> true;
+
+    @Test
+    void whenAllOfAndAnyOfAreEmpty_ThenTheyAreFoldedToConstants() {
+        // arrange && action
+        ExpressionNode allOf = allOf().optimize().tree();
+        ExpressionNode anyOf = anyOf().optimize().tree();
+
+        // assertion
+        assertEquals(constant(true).tree(), allOf);
+        assertEquals(constant(false).tree(), anyOf);
+    }
+
+    @Test
+    void whenExpressionContainsConstants_ThenConstantsAreFolded() {
+        // arrange
+        LazyLogicalExpression expression = expr(A).and(constant(true)).or(expr(B).and(constant(false)));
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        assertEquals(expr(A).tree(), actual);
+    }
+
+    @Test
+    void whenExpressionContainsDoubleNegation_ThenNegationsAreRemoved() {
+        // arrange
+        LazyLogicalExpression expression = not(not(A));
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        assertEquals(expr(A).tree(), actual);
+    }
+
+    @Test
+    void whenNegationIsAppliedToAnd_ThenItIsPushedDownWithDeMorganLaw() {
+        // arrange
+        LazyLogicalExpression expression = not(expr(A).and(B));
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        assertEquals(not(A).or(not(B)).tree(), actual);
+    }
+
+    @Test
+    void whenOrContainsAndWithSameOperand_ThenAndIsAbsorbed() {
+        // arrange
+        LazyLogicalExpression expression = expr(A).or(expr(A).and(B));
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        assertEquals(expr(A).tree(), actual);
+    }
+
+    @Test
+    void whenAndContainsOrWithSameOperand_ThenOrIsAbsorbed() {
+        // arrange
+        LazyLogicalExpression expression = expr(expr(B).or(A)).and(C).and(A);
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        assertEquals(expr(C).and(A).tree(), actual);
+    }
+
+    @Test
+    void whenOperandsAreRepeated_ThenDuplicatesAreRemovedAndOrderIsPreserved() {
+        // arrange
+        LazyLogicalExpression expression = allOf(B, A, B, C, A);
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        assertEquals(allOf(B, A, C).tree(), actual);
+    }
+
+    @Test
+    void whenXorContainsSameOperandTwice_ThenOperandsCancelOut() {
+        // arrange
+        LazyLogicalExpression expression = expr(A).xor(B).xor(A);
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        assertEquals(expr(B).tree(), actual);
+    }
+
+    @Test
+    void whenOperandAndItsNegationAreCombined_ThenResultIsConstant() {
+        // arrange && action
+        ExpressionNode and = expr(A).and(B).and(not(A)).optimize().tree();
+        ExpressionNode or = expr(A).or(B).or(not(A)).optimize().tree();
+
+        // assertion
+        assertEquals(constant(false).tree(), and);
+        assertEquals(constant(true).tree(), or);
+    }
+
+    @Test
+    void whenNestedChainsOfSameOperatorAreCombined_ThenTheyAreFlattened() {
+        // arrange
+        LazyLogicalExpression expression = expr(A).and(expr(not(expr(B).or(C))));
+
+        // action
+        ExpressionNode actual = expression.optimize().tree();
+
+        // assertion
+        ExpressionNode.And and = assertInstanceOf(ExpressionNode.And.class, actual);
+        assertEquals(List.of(expr(A).tree(), not(B).tree(), not(C).tree()), and.operands());
+    }
+
+    @Test
+    void whenRandomExpressionsAreOptimized_ThenResultsAreSameAndLeavesAreNotAdded() {
+        // arrange
+        RandomExpressions expressions = new RandomExpressions(11, 6);
+
+        for (int i = 0; i < 500; i++) {
+            LazyLogicalExpression expression = expressions.randomExpression(5);
+            LazyLogicalExpression optimized = expression.optimize();
+            assertTrue(leaves(optimized.tree()) <= leaves(expression.tree()));
+            assertEquals(optimized.tree(), optimized.optimize().tree());
+            for (int j = 0; j < 16; j++) {
+                expressions.randomizeValues();
+
+                // action
+                boolean expected = expression.result();
+                boolean actual = optimized.result();
+
+                // assertion
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private static int leaves(ExpressionNode node) {
+        if (node instanceof ExpressionNode.Not) {
+            return leaves(((ExpressionNode.Not) node).operand());
+        }
+        if (node instanceof ExpressionNode.Junction) {
+            return ((ExpressionNode.Junction) node).operands().stream().mapToInt(ExpressionOptimizerTest::leaves).sum();
+        }
+        return node instanceof ExpressionNode.Leaf ? 1 : 0;
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.github.evseevda.utils.logic;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEvaluatorTest {
+
+    private static final String EXPRESSION_EVENT = "com.github.evseevda.utils.logic.ExpressionEvaluation";
+    private static final String LEAF_EVENT = "com.github.evseevda.utils.logic.LeafEvaluation";
+
+    @Test
+    void whenEventsAreEnabled_ThenEvaluationAndLeavesAreRecorded() throws Exception {
+        // arrange
+        NoArgsPredicate a = named("a", false);
+        NoArgsPredicate b = named("b", true);
+        NoArgsPredicate c = named("c", true);
+        LazyLogicalExpression expression = expr(a).and(b).or(c).or(a).named("rule");
+
+        // action
+        List<RecordedEvent> events;
+        boolean actual;
+        try (Recording recording = new Recording()) {
+            recording.enable(EXPRESSION_EVENT).withThreshold(Duration.ZERO);
+            recording.enable(LEAF_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+            actual = expression.result();
+            recording.stop();
+            events = read(recording);
+        }
+
+        // assertion
+        assertTrue(actual);
+        List<RecordedEvent> evaluations = ofType(events, EXPRESSION_EVENT);
+        assertEquals(1, evaluations.size());
+        assertEquals("rule", evaluations.get(0).getString("expression"));
+        assertTrue(evaluations.get(0).getBoolean("result"));
+        assertEquals("c", evaluations.get(0).getString("decidingPredicate"));
+        assertEquals(2, evaluations.get(0).getInt("predicateCalls"));
+        List<String> leaves = ofType(events, LEAF_EVENT).stream()
+                .map(event -> event.getString("predicate") + "=" + event.getBoolean("result"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("a=false", "c=true"), leaves);
+    }
+
+    @Test
+    void whenEventsAreDisabled_ThenNothingIsRecordedAndResultIsSame() throws Exception {
+        // arrange
+        LazyLogicalExpression expression = expr(named("a", true)).xor(named("b", true)).named("rule");
+
+        // action
+        List<RecordedEvent> events;
+        boolean actual;
+        try (Recording recording = new Recording()) {
+            recording.disable(EXPRESSION_EVENT);
+            recording.disable(LEAF_EVENT);
+            recording.start();
+            actual = expression.result();
+            recording.stop();
+            events = read(recording);
+        }
+
+        // assertion
+        assertFalse(actual);
+        assertTrue(ofType(events, EXPRESSION_EVENT).isEmpty());
+        assertTrue(ofType(events, LEAF_EVENT).isEmpty());
+    }
+
+    @Test
+    void whenRecordingHasDefaultSettings_ThenNothingIsRecorded() throws Exception {
+        // arrange
+        LazyLogicalExpression expression = expr(named("a", true)).named("rule");
+
+        // action
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+            expression.result();
+            recording.stop();
+            events = read(recording);
+        }
+
+        // assertion
+        assertTrue(ofType(events, EXPRESSION_EVENT).isEmpty());
+        assertTrue(ofType(events, LEAF_EVENT).isEmpty());
+    }
+
+    @Test
+    void whenEvaluationIsFasterThanThreshold_ThenItIsNotRecorded() throws Exception {
+        // arrange
+        LazyLogicalExpression expression = expr(named("a", true)).named("rule");
+
+        // action
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(EXPRESSION_EVENT).withThreshold(Duration.ofSeconds(10));
+            recording.start();
+            expression.result();
+            recording.stop();
+            events = read(recording);
+        }
+
+        // assertion
+        assertTrue(ofType(events, EXPRESSION_EVENT).isEmpty());
+    }
+
+    @Test
+    void whenExpressionIsNamed_ThenCombinedOnesAreNot() {
+        // arrange
+        LazyLogicalExpression expression = expr(() -> true).named("rule");
+
+        // action
+        LazyLogicalExpression combined = expression.and(() -> false);
+
+        // assertion
+        assertEquals("rule", expression.name());
+        assertEquals("rule", expression.optimize().name());
+        assertNull(combined.name());
+    }
+
+    private static NoArgsPredicate named(String name, boolean value) {
+        return new NoArgsPredicate() {
+            @Override
+            public boolean test() {
+                return value;
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    private static List<RecordedEvent> read(Recording recording) throws Exception {
+        Path file = Files.createTempFile("expression", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String type) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiddenClassCompilerTest {
+
+    private static final NoArgsPredicate TRUE = () -> true;
+    private static final NoArgsPredicate FALSE = () -> false;
+
+    @Test
+    void whenExpressionIsCompiled_ThenCompiledPredicateIsGeneratedClass() {
+        // arrange
+        LazyLogicalExpression expression = expr(TRUE).and(FALSE).or(not(FALSE));
+
+        // action
+        NoArgsPredicate compiled = expression.compile();
+
+        // assertion
+        assertTrue(isCompiled(compiled));
+        assertTrue(compiled.test());
+    }
+
+    @Test
+    void whenComplexExpressionIsCompiled_ThenResultIsSameAsNative() {
+        // arrange
+        boolean expression = !(
+                (true && false)
+                        || (true && true)
+                        && !(
+                        (true && false)
+                                || (true ^ false)
+                )
+        );
+        boolean expected = expression;
+
+        // action
+        boolean actual =
+                not(
+                        (expr(TRUE).and(FALSE))
+                                .or(expr(TRUE).and(TRUE))
+                                .and(
+                                        not(
+                                                expr(
+                                                        expr(TRUE).and(FALSE)
+                                                ).or(expr(TRUE).xor(FALSE))
+                                        )
+                                )
+                ).compile().test();
+
+        // assertion
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenEmptyAllOfAndAnyOfAreCompiled_ThenResultsAreTrueAndFalse() {
+        // arrange && action
+        boolean actualAllOf = allOf().compile().test();
+        boolean actualAnyOf = anyOf().compile().test();
+
+        // assertion
+        assertTrue(actualAllOf);
+        assertFalse(actualAnyOf);
+    }
+
+    @Test
+    void whenRandomExpressionsAreCompiled_ThenResultsAndCalledPredicatesAreSameAsInterpreted() {
+        // arrange
+        RandomExpressions expressions = new RandomExpressions(42, 8);
+
+        for (int i = 0; i < 200; i++) {
+            LazyLogicalExpression expression = expressions.randomExpression(4);
+            NoArgsPredicate compiled = expression.compile();
+            for (int j = 0; j < 16; j++) {
+                expressions.randomizeValues();
+
+                // action
+                expressions.calls.clear();
+                boolean expected = expression.result();
+                List<Integer> expectedCalls = new ArrayList<>(expressions.calls);
+                expressions.calls.clear();
+                boolean actual = compiled.test();
+
+                // assertion
+                assertEquals(expected, actual);
+                assertEquals(expectedCalls, expressions.calls);
+            }
+        }
+    }
+
+    @Test
+    void whenExpressionIsTooLargeForOneMethod_ThenItIsEvaluatedWithoutCompilation() {
+        // arrange
+        List<NoArgsPredicate> predicates = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            predicates.add(() -> true);
+        }
+        LazyLogicalExpression expression = allOf(predicates);
+
+        // action
+        NoArgsPredicate compiled = expression.compile();
+
+        // assertion
+        assertFalse(isCompiled(compiled));
+        assertTrue(compiled.test());
+    }
+
+    @Test
+    void whenSamePredicateOccursManyTimes_ThenExpressionIsStillCompiled() {
+        // arrange
+        LazyLogicalExpression expression = anyOf(Collections.nCopies(2_000, FALSE)).or(TRUE);
+
+        // action
+        NoArgsPredicate compiled = expression.compile();
+
+        // assertion
+        assertTrue(isCompiled(compiled));
+        assertTrue(compiled.test());
+    }
+
+    @Test
+    void whenTreeHasPredicateNeedingContext_ThenExceptionIsThrown() {
+        // arrange
+        ExpressionNode tree = ExpressionNode.and(ExpressionNode.leaf(() -> true), ExpressionNode.contextLeaf(context -> true));
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> HiddenClassCompiler.compile(tree));
+    }
+
+    private static boolean isCompiled(NoArgsPredicate predicate) {
+        return predicate.getClass().isHidden()
+                && predicate.getClass().getName().startsWith("com.github.evseevda.utils.logic.CompiledExpression");
+    }
+
+}
@@ -3,8 +3,18 @@ package com.github.evseevda.utils.logic;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class LazyLogicalExpressionTest {
@@ -436,4 +446,154 @@ class LazyLogicalExpressionTest {
         verify(mockedPredicate, times(0)).test();
     }
 
-}
\ No newline at end of file
+    @Test
+    void whenAllOfContainsMillionPredicates_ThenResultIsCalculatedWithoutStackOverflow() {
+        // arrange
+        List<NoArgsPredicate> predicates = new ArrayList<>(Collections.nCopies(1_000_000, TRUE));
+        LazyLogicalExpression allTrue = allOf(predicates);
+        predicates.set(predicates.size() - 1, FALSE);
+        LazyLogicalExpression lastFalse = allOf(predicates);
+
+        // action
+        boolean actualAllTrue = allTrue.result();
+        boolean actualLastFalse = lastFalse.result();
+
+        // assertion
+        assertTrue(actualAllTrue);
+        assertFalse(actualLastFalse);
+    }
+
+    @Test
+    void whenAnyOfContainsMillionPredicates_ThenResultIsCalculatedWithoutStackOverflow() {
+        // arrange
+        List<NoArgsPredicate> predicates = new ArrayList<>(Collections.nCopies(1_000_000, FALSE));
+        LazyLogicalExpression allFalse = anyOf(predicates);
+        predicates.set(predicates.size() - 1, TRUE);
+        LazyLogicalExpression lastTrue = anyOf(predicates);
+
+        // action
+        boolean actualAllFalse = allFalse.result();
+        boolean actualLastTrue = lastTrue.result();
+
+        // assertion
+        assertFalse(actualAllFalse);
+        assertTrue(actualLastTrue);
+    }
+
+    @Test
+    void whenLongChainOfAndIsBuilt_ThenResultIsCalculatedWithoutStackOverflow() {
+        // arrange
+        LazyLogicalExpression expression = expr(TRUE);
+        for (int i = 0; i < 1_000_000; i++) {
+            expression = expression.and(TRUE);
+        }
+        LazyLogicalExpression chain = expr(expression);
+        LazyLogicalExpression extended = expression.or(FALSE);
+
+        // action
+        boolean actual = chain.and(FALSE).result();
+
+        // assertion
+        assertFalse(actual);
+        assertTrue(expression.result());
+        assertTrue(extended.result());
+    }
+
+    @Test
+    void whenAllOfIsFalseAtFirstPredicate_ThenRestPredicatesAreNotCalculated() {
+        // arrange
+        when(mockedPredicate.test()).thenReturn(true);
+
+        // action
+        boolean actual = allOf(FALSE, mockedPredicate, mockedPredicate).result();
+
+        // assertion
+        assertFalse(actual);
+        verify(mockedPredicate, times(0)).test();
+    }
+
+    @Test
+    void whenAnyOfIsTrueAtFirstPredicate_ThenRestPredicatesAreNotCalculated() {
+        // arrange
+        when(mockedPredicate.test()).thenReturn(false);
+
+        // action
+        boolean actual = anyOf(TRUE, mockedPredicate, mockedPredicate).result();
+
+        // assertion
+        assertTrue(actual);
+        verify(mockedPredicate, times(0)).test();
+    }
+
+    @Test
+    void whenSharedChainIsExtendedTwice_ThenBothExtensionsAreIndependent() {
+        // arrange
+        LazyLogicalExpression base = expr(TRUE).and(TRUE);
+        LazyLogicalExpression first = expr(base).and(FALSE);
+        LazyLogicalExpression second = expr(base).and(TRUE);
+
+        // action
+        boolean actualFirst = first.result();
+        boolean actualSecond = second.result();
+        boolean actualBase = base.result();
+
+        // assertion
+        assertFalse(actualFirst);
+        assertTrue(actualSecond);
+        assertTrue(actualBase);
+    }
+
+    @Test
+    void whenExpressionIsCombined_ThenOriginalIsNotChanged() {
+        // arrange
+        LazyLogicalExpression expression = expr(TRUE);
+
+        // action
+        LazyLogicalExpression combined = expression.and(FALSE);
+        LazyLogicalExpression xored = expression.xor(TRUE);
+
+        // assertion
+        assertTrue(expression.result());
+        assertFalse(combined.result());
+        assertFalse(xored.result());
+    }
+
+    @Test
+    void whenSharedExpressionIsExtendedConcurrently_ThenEveryExtensionHasItsOwnOperands() throws Exception {
+        // arrange
+        LazyLogicalExpression shared = expr(TRUE).and(TRUE);
+        int threads = 8;
+        int extensionsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                boolean last = thread % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    boolean consistent = true;
+                    for (int i = 0; i < extensionsPerThread; i++) {
+                        LazyLogicalExpression extended = shared.and(last ? TRUE : FALSE);
+                        consistent &= extended.result() == last
+                                && ((ExpressionNode.Junction) extended.tree()).operands().size() == 3;
+                    }
+                    return consistent;
+                }));
+            }
+
+            // action
+            start.countDown();
+
+            // assertion
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+            assertTrue(shared.result());
+            assertEquals(2, ((ExpressionNode.Junction) shared.tree()).operands().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.github.evseevda.utils.logic.LogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogicalExpressionTest {
+
+    private static final Predicate<Integer> POSITIVE = value -> value > 0;
+    private static final Predicate<Integer> EVEN = value -> value % 2 == 0;
+    private static final Predicate<Object> NON_NULL = value -> value != null;
+
+    @Test
+    void whenNativeLogicalExpressionResultIsReturned_ThenExpressionResultIsSame() {
+        // arrange
+        LogicalExpression<Integer> expression = not(expr(POSITIVE).and(EVEN)).or(NON_NULL.negate()).xor(EVEN);
+
+        for (int value = -5; value <= 5; value++) {
+            boolean expected = (!((value > 0) && (value % 2 == 0)) || false) ^ (value % 2 == 0);
+
+            // action
+            boolean actual = expression.result(value);
+
+            // assertion
+            assertEquals(expected, actual, "value " + value);
+        }
+    }
+
+    @Test
+    void whenEmptyAllOfAndAnyOfAreCalculated_ThenResultsAreTrueAndFalse() {
+        // arrange && action
+        boolean actualAllOf = LogicalExpression.<Integer>allOf(List.of()).result(1);
+        boolean actualAnyOf = LogicalExpression.<Integer>anyOf(List.of()).result(1);
+
+        // assertion
+        assertTrue(actualAllOf);
+        assertFalse(actualAnyOf);
+    }
+
+    @Test
+    void whenAllOfAndAnyOfAreCalculated_ThenResultsMatchStreams() {
+        // arrange
+        List<Predicate<Integer>> predicates = List.of(POSITIVE, EVEN, NON_NULL::test);
+        LogicalExpression<Integer> allOf = allOf(predicates);
+        LogicalExpression<Integer> anyOf = anyOf(predicates);
+
+        for (int value = -3; value <= 3; value++) {
+            int context = value;
+
+            // action && assertion
+            assertEquals(predicates.stream().allMatch(p -> p.test(context)), allOf.result(context));
+            assertEquals(predicates.stream().anyMatch(p -> p.test(context)), anyOf.result(context));
+        }
+    }
+
+    @Test
+    void whenExpressionIsCombined_ThenOriginalIsNotChanged() {
+        // arrange
+        LogicalExpression<Integer> positive = expr(POSITIVE);
+
+        // action
+        LogicalExpression<Integer> positiveAndEven = positive.and(EVEN);
+
+        // assertion
+        assertTrue(positive.result(3));
+        assertFalse(positiveAndEven.result(3));
+    }
+
+    @Test
+    void whenAsPredicateIsUsed_ThenItCalculatesExpression() {
+        // arrange
+        Predicate<Integer> predicate = expr(POSITIVE).and(EVEN).asPredicate();
+
+        // action && assertion
+        assertTrue(predicate.test(4));
+        assertFalse(predicate.test(3));
+    }
+
+    @Test
+    void whenExpressionIsOptimized_ThenResultIsSame() {
+        // arrange
+        LogicalExpression<Integer> expression = expr(POSITIVE).and(expr(POSITIVE).or(EVEN)).or(not(not(EVEN)));
+
+        // action
+        LogicalExpression<Integer> optimized = expression.optimize();
+
+        // assertion
+        assertEquals(2, ((ExpressionNode.Junction) optimized.tree()).operands().size());
+        for (int value = -3; value <= 3; value++) {
+            assertEquals(expression.result(value), optimized.result(value));
+        }
+    }
+
+    @Test
+    void whenExpressionIsCalculated_ThenNothingIsAllocated() {
+        // arrange
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LogicalExpression<int[]> expression = expr((int[] values) -> values[0] > 0)
+                .and(values -> values[1] > 0)
+                .or(not(values -> values[2] > 0))
+                .xor(values -> values[3] > 0);
+        int[] context = {1, 0, 1, 1};
+        boolean result = false;
+        for (int i = 0; i < 100_000; i++) {
+            result ^= expression.result(context);
+        }
+
+        // action
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            result ^= expression.result(context);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // assertion
+        assertFalse(result);
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+}
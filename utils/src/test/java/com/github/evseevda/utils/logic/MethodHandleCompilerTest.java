@@ -0,0 +1,93 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodHandleCompilerTest {
+
+    private static final NoArgsPredicate TRUE = () -> true;
+    private static final NoArgsPredicate FALSE = () -> false;
+
+    private static final MethodHandle RULE = expr(TRUE).and(not(FALSE)).xor(FALSE).toMethodHandle();
+
+    @Test
+    void whenExpressionIsConvertedToMethodHandle_ThenHandleReturnsExpressionResult() throws Throwable {
+        // arrange
+        boolean expression = true && !false ^ false;
+        boolean expected = expression;
+
+        // action
+        boolean actual = (boolean) RULE.invokeExact();
+
+        // assertion
+        assertEquals(MethodType.methodType(boolean.class), RULE.type());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenEmptyAllOfAndAnyOfAreCompiled_ThenResultsAreTrueAndFalse() {
+        // arrange && action
+        boolean actualAllOf = allOf().compile(CompilationStrategy.METHOD_HANDLE).test();
+        boolean actualAnyOf = anyOf().compile(CompilationStrategy.METHOD_HANDLE).test();
+
+        // assertion
+        assertTrue(actualAllOf);
+        assertFalse(actualAnyOf);
+    }
+
+    @Test
+    void whenLongChainIsCompiled_ThenResultIsCalculatedWithoutStackOverflow() {
+        // arrange
+        List<NoArgsPredicate> predicates = new ArrayList<>(Collections.nCopies(100_000, FALSE));
+        predicates.set(predicates.size() - 1, TRUE);
+
+        // action
+        boolean actual = anyOf(predicates).compile(CompilationStrategy.METHOD_HANDLE).test();
+
+        // assertion
+        assertTrue(actual);
+    }
+
+    @Test
+    void whenRandomExpressionsAreCompiled_ThenResultsAndCalledPredicatesAreSameAsInterpreted() {
+        // arrange
+        RandomExpressions expressions = new RandomExpressions(7, 8);
+
+        for (int i = 0; i < 200; i++) {
+            LazyLogicalExpression expression = expressions.randomExpression(4);
+            NoArgsPredicate compiled = expression.compile(CompilationStrategy.METHOD_HANDLE);
+            for (int j = 0; j < 16; j++) {
+                expressions.randomizeValues();
+
+                // action
+                expressions.calls.clear();
+                boolean expected = expression.result();
+                List<Integer> expectedCalls = new ArrayList<>(expressions.calls);
+                expressions.calls.clear();
+                boolean actual = compiled.test();
+
+                // assertion
+                assertEquals(expected, actual);
+                assertEquals(expectedCalls, expressions.calls);
+            }
+        }
+    }
+
+    @Test
+    void whenTreeHasPredicateNeedingContext_ThenExceptionIsThrown() {
+        // arrange
+        ExpressionNode tree = ExpressionNode.and(ExpressionNode.leaf(() -> true), ExpressionNode.contextLeaf(context -> true));
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> MethodHandleCompiler.toMethodHandle(tree));
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitoredExpressionTest {
+
+    @Test
+    void whenExpressionIsEvaluated_ThenMetricsCountEvaluationsAndLeaves() {
+        // arrange
+        boolean[] values = {true, false, true};
+        NoArgsPredicate a = () -> values[0];
+        NoArgsPredicate b = () -> values[1];
+        NoArgsPredicate c = () -> values[2];
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        MonitoredExpression expression = expr(a).and(b).or(c).monitored(metrics);
+
+        // action
+        boolean first = expression.result();
+        values[0] = false;
+        boolean second = expression.result();
+        values[2] = false;
+        boolean third = expression.result();
+
+        // assertion
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(List.of(a, b, c), expression.leaves());
+        assertEquals(3, metrics.evaluations());
+        assertEquals(2.0 / 3, metrics.trueRate());
+        assertEquals(3, metrics.leaves().get(0).invocations());
+        assertEquals(1.0 / 3, metrics.leaves().get(0).trueRate());
+        assertEquals(1, metrics.leaves().get(1).invocations());
+        assertEquals(0.0, metrics.leaves().get(1).trueRate());
+        assertEquals(3, metrics.leaves().get(2).invocations());
+    }
+
+    @Test
+    void whenJunctionIsDecidedEarly_ThenShortCircuitIsCounted() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate a = () -> !calls.add("a");
+        NoArgsPredicate b = () -> calls.add("b");
+        NoArgsPredicate c = () -> calls.add("c");
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        MonitoredExpression expression = allOf(a, b, c).or(c).monitored(metrics);
+
+        // action
+        boolean actual = expression.result();
+
+        // assertion
+        assertTrue(actual);
+        assertEquals(List.of("a", "c"), calls);
+        assertEquals(1, metrics.shortCircuits());
+        assertEquals(2, metrics.skippedOperands());
+        assertEquals(0, metrics.leaves().get(1).invocations());
+        assertEquals(1, metrics.leaves().get(2).invocations());
+    }
+
+    @Test
+    void whenLeafIsRepeated_ThenItIsReportedUnderOneIndex() {
+        // arrange
+        NoArgsPredicate a = () -> false;
+        NoArgsPredicate b = () -> true;
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        MonitoredExpression expression = expr(a).or(b).and(a).monitored(metrics);
+
+        // action
+        boolean actual = expression.result();
+
+        // assertion
+        assertFalse(actual);
+        assertEquals(List.of(a, b), expression.leaves());
+        assertEquals(2, metrics.leaves().get(0).invocations());
+        assertEquals(1, metrics.leaves().get(1).invocations());
+    }
+
+    @Test
+    void whenEveryEvaluationIsSampled_ThenLatenciesAreRecorded() {
+        // arrange
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        MonitoredExpression expression = expr(() -> true).and(() -> false).monitored(metrics, 1);
+
+        // action
+        for (int i = 0; i < 10; i++) {
+            expression.result();
+        }
+
+        // assertion
+        assertEquals(10, metrics.latency().count());
+        assertEquals(10, metrics.leaves().get(0).latency().count());
+        assertEquals(10, metrics.leaves().get(1).latency().count());
+        assertTrue(metrics.latency().percentile(100) >= metrics.latency().percentile(50));
+        assertFalse(Double.isNaN(metrics.latency().mean()));
+    }
+
+    @Test
+    void whenNotEvaluated_ThenRatesAreNaN() {
+        // arrange
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        expr(() -> true).monitored(metrics);
+
+        // action
+        double rate = metrics.trueRate();
+        double leafRate = metrics.leaves().get(0).trueRate();
+
+        // assertion
+        assertTrue(Double.isNaN(rate));
+        assertTrue(Double.isNaN(leafRate));
+        assertEquals(0, metrics.latency().count());
+        assertEquals(0, metrics.latency().percentile(99));
+    }
+
+    @Test
+    void whenMetricsAreAttachedTwice_ThenExceptionIsThrown() {
+        // arrange
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        expr(() -> true).monitored(metrics);
+
+        // action && assertion
+        assertThrows(IllegalStateException.class, () -> expr(() -> false).monitored(metrics));
+    }
+
+    @Test
+    void whenSamplingRateIsNotPositive_ThenExceptionIsThrown() {
+        // arrange
+        LazyLogicalExpression expression = expr(() -> true);
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> expression.monitored(new EvaluationListener() {
+        }, 0));
+    }
+
+    @Test
+    void whenEvaluatedConcurrently_ThenNoEventIsLost() throws Exception {
+        // arrange
+        EvaluationMetrics metrics = new EvaluationMetrics();
+        MonitoredExpression expression = expr(() -> true).and(() -> true).monitored(metrics, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // action
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    expression.result();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // assertion
+        assertEquals(40_000, metrics.evaluations());
+        assertEquals(1.0, metrics.trueRate());
+        assertEquals(40_000, metrics.leaves().get(1).invocations());
+        assertEquals(metrics.latency().count(), metrics.leaves().get(1).latency().count());
+    }
+
+    @Test
+    void whenPercentileIsOutOfRange_ThenExceptionIsThrown() {
+        // arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+
+    @Test
+    void whenLatenciesAreRecorded_ThenTheyFallIntoPowerOfTwoBuckets() {
+        // arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // action
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(5);
+        histogram.record(7);
+
+        // assertion
+        long[] counts = histogram.bucketCounts();
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[1]);
+        assertEquals(2, counts[3]);
+        assertEquals(4, histogram.count());
+        assertEquals(3.25, histogram.mean());
+        assertEquals(7, histogram.percentile(75));
+        assertEquals(1, histogram.percentile(50));
+    }
+
+}
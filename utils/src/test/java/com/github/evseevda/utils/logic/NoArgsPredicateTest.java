@@ -0,0 +1,188 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoArgsPredicateTest {
+
+    @Test
+    void whenMemoizedPredicateIsCalledManyTimes_ThenTargetIsCalledOnce() {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+        NoArgsPredicate memoized = NoArgsPredicate.memoize(() -> calls.incrementAndGet() > 0);
+
+        // action
+        for (int i = 0; i < 10; i++) {
+            assertTrue(memoized.test());
+        }
+
+        // assertion
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void whenMemoizedPredicateIsCalledConcurrently_ThenTargetIsCalledOnce() throws Exception {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        NoArgsPredicate memoized = NoArgsPredicate.memoize(() -> {
+            calls.incrementAndGet();
+            return false;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // action
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return memoized.test();
+            }));
+        }
+        start.countDown();
+
+        // assertion
+        for (Future<Boolean> result : results) {
+            assertFalse(result.get());
+        }
+        assertEquals(1, calls.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void whenMemoizedPredicateThrows_ThenNextCallCallsTargetAgain() {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+        NoArgsPredicate memoized = NoArgsPredicate.memoize(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return true;
+        });
+
+        // action && assertion
+        assertThrows(IllegalStateException.class, memoized::test);
+        assertTrue(memoized.test());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void whenCachedResultIsFresh_ThenTargetIsNotCalledAgain() {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+        NoArgsPredicate cached = NoArgsPredicate.cached(() -> calls.incrementAndGet() > 0, Duration.ofHours(1));
+
+        // action
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cached.test());
+        }
+
+        // assertion
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void whenCachedResultExpires_ThenTargetIsCalledAgain() throws InterruptedException {
+        // arrange
+        AtomicBoolean value = new AtomicBoolean(true);
+        NoArgsPredicate cached = NoArgsPredicate.cached(value::get, Duration.ofMillis(20));
+        assertTrue(cached.test());
+        value.set(false);
+
+        // action
+        boolean beforeExpiration = cached.test();
+        TimeUnit.MILLISECONDS.sleep(200);
+        boolean afterExpiration = cached.test();
+
+        // assertion
+        assertTrue(beforeExpiration);
+        assertFalse(afterExpiration);
+    }
+
+    @Test
+    void whenRefreshAheadResultExpires_ThenStaleResultIsReturnedAndRefreshedInBackground() throws Exception {
+        // arrange
+        AtomicBoolean value = new AtomicBoolean(true);
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch refreshAllowed = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        NoArgsPredicate refreshing = NoArgsPredicate.refreshAhead(() -> {
+            if (calls.incrementAndGet() > 1) {
+                refreshStarted.countDown();
+                awaitUninterruptibly(refreshAllowed);
+            }
+            return value.get();
+        }, Duration.ofMillis(20), runnable -> new Thread(runnable).start());
+        assertTrue(refreshing.test());
+        value.set(false);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        // action
+        boolean stale = refreshing.test();
+        assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+        boolean staleDuringRefresh = refreshing.test();
+        refreshAllowed.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (refreshing.test() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        // assertion
+        assertTrue(stale);
+        assertTrue(staleDuringRefresh);
+        assertFalse(refreshing.test());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void whenRefreshIsRejected_ThenStaleResultIsReturnedAndRefreshIsRetried() throws InterruptedException {
+        // arrange
+        AtomicBoolean value = new AtomicBoolean(true);
+        AtomicInteger rejections = new AtomicInteger();
+        NoArgsPredicate refreshing = NoArgsPredicate.refreshAhead(value::get, Duration.ofMillis(20), runnable -> {
+            rejections.incrementAndGet();
+            throw new RejectedExecutionException();
+        });
+        assertTrue(refreshing.test());
+        value.set(false);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        // action
+        boolean stale = refreshing.test();
+        boolean staleAgain = refreshing.test();
+
+        // assertion
+        assertTrue(stale);
+        assertTrue(staleAgain);
+        assertEquals(2, rejections.get());
+    }
+
+    @Test
+    void whenTtlIsNotPositive_ThenExceptionIsThrown() {
+        // arrange && action && assertion
+        assertThrows(IllegalArgumentException.class, () -> NoArgsPredicate.cached(() -> true, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> NoArgsPredicate.refreshAhead(() -> true, Duration.ofSeconds(-1)));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelEvaluatorTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void whenAllOfHasFastFalsePredicate_ThenResultIsReturnedWithoutWaitingForSlowPredicates() throws InterruptedException {
+        // arrange
+        LazyLogicalExpression expression = allOf(blocking(true), () -> sleep(50, false), blocking(true));
+
+        // action
+        long start = System.nanoTime();
+        boolean actual = expression.result(executor);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // assertion
+        assertFalse(actual);
+        assertTrue(elapsedMillis < 5_000);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void whenAnyOfHasFastTruePredicate_ThenResultIsReturnedWithoutWaitingForSlowPredicates() throws InterruptedException {
+        // arrange
+        LazyLogicalExpression expression = anyOf(blocking(false), () -> sleep(50, true));
+
+        // action
+        boolean actual = expression.result(executor);
+
+        // assertion
+        assertTrue(actual);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void whenSlowPredicatesAreEvaluatedInParallel_ThenLatencyIsCloseToSlowestPredicate() {
+        // arrange
+        LazyLogicalExpression expression = allOf(
+                () -> sleep(200, true), () -> sleep(200, true), () -> sleep(200, true), () -> sleep(200, true));
+
+        // action
+        long start = System.nanoTime();
+        boolean actual = expression.result(executor);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // assertion
+        assertTrue(actual);
+        assertTrue(elapsedMillis < 600, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void whenExpressionIsNegatedOrXor_ThenResultIsSameAsSequential() {
+        // arrange
+        RandomExpressions expressions = new RandomExpressions(5, 6);
+        expressions.recordCalls = false;
+
+        for (int i = 0; i < 200; i++) {
+            LazyLogicalExpression expression = expressions.randomExpression(3);
+            expressions.randomizeValues();
+
+            // action
+            boolean expected = expression.result();
+            boolean actual = expression.result(executor);
+            boolean actualNegated = not(expression).result(executor);
+
+            // assertion
+            assertEquals(expected, actual);
+            assertEquals(!expected, actualNegated);
+        }
+    }
+
+    @Test
+    void whenPredicateFailsButAnotherDecidesResult_ThenResultIsReturned() {
+        // arrange
+        LazyLogicalExpression expression = allOf(() -> {
+            throw new IllegalStateException();
+        }, () -> sleep(50, false));
+
+        // action
+        boolean actual = expression.result(executor);
+
+        // assertion
+        assertFalse(actual);
+    }
+
+    @Test
+    void whenPredicateFailsAndResultIsNotDecided_ThenExceptionIsRelayed() {
+        // arrange
+        LazyLogicalExpression expression = allOf(() -> true, () -> {
+            throw new IllegalStateException();
+        });
+
+        // action && assertion
+        assertThrows(IllegalStateException.class, () -> expression.result(executor));
+    }
+
+    private NoArgsPredicate blocking(boolean result) {
+        return () -> {
+            try {
+                TimeUnit.MINUTES.sleep(1);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return result;
+        };
+    }
+
+    private static boolean sleep(long millis, boolean result) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartialEvaluatorTest {
+
+    @Test
+    void whenFactsAreGiven_ThenKnownPredicatesAreFoldedAway() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate isHoliday = () -> calls.add("isHoliday");
+        NoArgsPredicate isPremium = () -> calls.add("isPremium");
+        NoArgsPredicate isActive = () -> calls.add("isActive");
+        LazyLogicalExpression rule = expr(isHoliday).and(isPremium).or(isActive).named("rule");
+
+        // action
+        LazyLogicalExpression specialized = rule.specialize(Map.of(isHoliday, false));
+        boolean actual = specialized.result();
+
+        // assertion
+        assertTrue(actual);
+        assertEquals(List.of("isActive"), calls);
+        assertEquals(expr(isActive).tree(), specialized.tree());
+        assertEquals("rule", specialized.name());
+    }
+
+    @Test
+    void whenFactsDecideExpression_ThenItBecomesConstant() {
+        // arrange
+        NoArgsPredicate a = () -> true;
+        NoArgsPredicate b = () -> true;
+        LazyLogicalExpression rule = not(expr(a).and(b)).xor(a);
+
+        // action
+        LazyLogicalExpression specialized = rule.specialize(Map.of(a, true, b, false));
+
+        // assertion
+        assertEquals(constant(false).tree(), specialized.tree());
+    }
+
+    @Test
+    void whenNoFactMatches_ThenSameExpressionIsReturned() {
+        // arrange
+        LazyLogicalExpression rule = expr(() -> true).and(() -> false);
+
+        // action
+        LazyLogicalExpression specialized = rule.specialize(Map.of(() -> true, true));
+
+        // assertion
+        assertSame(rule, specialized);
+    }
+
+    @Test
+    void whenPartialResultIsCalculated_ThenNoPredicateIsCalled() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        NoArgsPredicate a = () -> calls.add("a");
+        NoArgsPredicate b = () -> calls.add("b");
+        NoArgsPredicate c = () -> calls.add("c");
+        LazyLogicalExpression rule = expr(a).and(b).or(c);
+
+        // action
+        TruthValue unknown = rule.partialResult(Map.of(a, true));
+        TruthValue decidedByOr = rule.partialResult(Map.of(c, true));
+        TruthValue decidedByAnd = rule.partialResult(Map.of(a, false, c, false));
+        TruthValue xorWithUnknown = expr(a).xor(b).partialResult(Map.of(a, true));
+
+        // assertion
+        assertEquals(TruthValue.UNKNOWN, unknown);
+        assertEquals(TruthValue.TRUE, decidedByOr);
+        assertEquals(TruthValue.FALSE, decidedByAnd);
+        assertEquals(TruthValue.UNKNOWN, xorWithUnknown);
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void whenRandomExpressionsAreSpecialized_ThenResultsAgreeWithFullEvaluation() {
+        // arrange
+        RandomExpressions random = new RandomExpressions(21, 6);
+        random.recordCalls = false;
+        for (int expressionIndex = 0; expressionIndex < 300; expressionIndex++) {
+            LazyLogicalExpression expression = random.randomExpression(4);
+            random.randomizeValues();
+            Map<NoArgsPredicate, Boolean> facts = new HashMap<>();
+            for (int i = 0; i < random.leaves.size(); i += 2) {
+                facts.put(random.leaves.get(i), random.values[i]);
+            }
+            boolean expected = expression.result();
+
+            // action
+            LazyLogicalExpression specialized = expression.specialize(facts);
+            TruthValue partial = expression.partialResult(facts);
+
+            // assertion
+            assertEquals(expected, specialized.result());
+            if (partial.isKnown()) {
+                assertEquals(expected, partial.toBoolean());
+            }
+            assertEquals(specialized.tree() instanceof ExpressionNode.Const, partial.isKnown(),
+                    expression.tree() + " -> " + specialized.tree());
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.evseevda.utils.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.expr;
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.not;
+
+/**
+ * Builds random expressions over a fixed set of leaves whose values and calls are controlled by the test.
+ */
+final class RandomExpressions {
+
+    final boolean[] values;
+    final List<Integer> calls = new ArrayList<>();
+    final List<NoArgsPredicate> leaves = new ArrayList<>();
+    volatile boolean recordCalls = true;
+
+    private final Random random;
+
+    RandomExpressions(long seed, int leafCount) {
+        this.random = new Random(seed);
+        this.values = new boolean[leafCount];
+        for (int i = 0; i < leafCount; i++) {
+            int index = i;
+            leaves.add(() -> {
+                if (recordCalls) {
+                    calls.add(index);
+                }
+                return values[index];
+            });
+        }
+    }
+
+    void randomizeValues() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextBoolean();
+        }
+    }
+
+    LazyLogicalExpression randomExpression(int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            if (random.nextInt(16) == 0) {
+                return LazyLogicalExpression.constant(random.nextBoolean());
+            }
+            NoArgsPredicate leaf = leaves.get(random.nextInt(leaves.size()));
+            return random.nextBoolean() ? expr(leaf) : not(leaf);
+        }
+        LazyLogicalExpression expression = randomExpression(depth - 1);
+        int operands = 1 + random.nextInt(3);
+        for (int i = 0; i < operands; i++) {
+            LazyLogicalExpression operand = randomExpression(depth - 1);
+            switch (random.nextInt(4)) {
+                case 0:
+                    expression = expression.and(operand);
+                    break;
+                case 1:
+                    expression = expression.or(operand);
+                    break;
+                case 2:
+                    expression = expression.xor(operand);
+                    break;
+                default:
+                    expression = not(expression).and(operand);
+            }
+        }
+        return expression;
+    }
+
+}
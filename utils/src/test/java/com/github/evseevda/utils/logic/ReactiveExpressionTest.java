@@ -0,0 +1,165 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Flow;
+
+import static com.github.evseevda.utils.logic.LazyLogicalExpression.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveExpressionTest {
+
+    @Test
+    void whenSignalChanges_ThenResultIsUpdatedAndOnlyFlipsArePublished() {
+        // arrange
+        BooleanSignal maintenance = BooleanSignal.of(false);
+        BooleanSignal capacity = BooleanSignal.of(true);
+        BooleanSignal override = BooleanSignal.of(false);
+        ReactiveExpression admission = expr(not(maintenance)).and(capacity).or(override).reactive(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        admission.subscribe(subscriber);
+
+        // action
+        boolean initial = admission.result();
+        maintenance.set(true);
+        override.set(true);
+        maintenance.set(false);
+        capacity.set(false);
+        override.set(false);
+
+        // assertion
+        assertTrue(initial);
+        assertEquals(List.of(false, true, false), subscriber.items);
+        assertFalse(admission.result());
+    }
+
+    @Test
+    void whenSignalIsRepeated_ThenRootDoesNotGlitch() {
+        // arrange
+        BooleanSignal a = BooleanSignal.of(false);
+        ReactiveExpression expression = expr(a).xor(a).reactive(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        expression.subscribe(subscriber);
+
+        // action
+        a.set(true);
+        a.set(false);
+
+        // assertion
+        assertFalse(expression.result());
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    void whenRandomSignalsChange_ThenResultIsSameAsFullEvaluation() {
+        // arrange
+        Random random = new Random(22);
+        List<BooleanSignal> signals = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            signals.add(BooleanSignal.of(random.nextBoolean()));
+        }
+        for (int expressionIndex = 0; expressionIndex < 100; expressionIndex++) {
+            LazyLogicalExpression expression = randomExpression(random, signals, 4);
+            try (ReactiveExpression reactive = expression.reactive(Runnable::run)) {
+                RecordingSubscriber subscriber = new RecordingSubscriber();
+                reactive.subscribe(subscriber);
+                boolean previous = reactive.result();
+                int flips = 0;
+                for (int change = 0; change < 30; change++) {
+
+                    // action
+                    signals.get(random.nextInt(signals.size())).set(random.nextBoolean());
+
+                    // assertion
+                    boolean expected = expression.result();
+                    assertEquals(expected, reactive.result());
+                    if (expected != previous) {
+                        flips++;
+                        previous = expected;
+                    }
+                }
+                assertEquals(flips, subscriber.items.size());
+            }
+        }
+    }
+
+    @Test
+    void whenClosed_ThenSignalsAreDetachedAndSubscribersCompleted() {
+        // arrange
+        BooleanSignal a = BooleanSignal.of(true);
+        ReactiveExpression expression = expr(a).reactive(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        expression.subscribe(subscriber);
+
+        // action
+        expression.close();
+        a.set(false);
+
+        // assertion
+        assertTrue(expression.result());
+        assertTrue(subscriber.completed);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    void whenPredicateIsNotSignal_ThenExceptionIsThrown() {
+        // arrange
+        LazyLogicalExpression expression = expr(BooleanSignal.of(true)).and(() -> true);
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, expression::reactive);
+    }
+
+    private static LazyLogicalExpression randomExpression(Random random, List<BooleanSignal> signals, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            BooleanSignal signal = signals.get(random.nextInt(signals.size()));
+            return random.nextBoolean() ? expr(signal) : not(signal);
+        }
+        LazyLogicalExpression expression = randomExpression(random, signals, depth - 1);
+        for (int i = random.nextInt(3); i >= 0; i--) {
+            LazyLogicalExpression operand = randomExpression(random, signals, depth - 1);
+            switch (random.nextInt(3)) {
+                case 0:
+                    expression = expression.and(operand);
+                    break;
+                case 1:
+                    expression = expression.or(operand);
+                    break;
+                default:
+                    expression = expression.xor(operand);
+            }
+        }
+        return expression;
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Boolean> {
+
+        private final List<Boolean> items = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Boolean item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}
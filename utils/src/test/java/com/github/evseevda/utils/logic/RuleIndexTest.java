@@ -0,0 +1,265 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleIndexTest {
+
+    private static final Attribute<int[], Integer> COUNTRY = Attribute.of("country", event -> event[0]);
+    private static final Attribute<int[], Integer> DEVICE = Attribute.of("device", event -> event[1]);
+    private static final Attribute<int[], Integer> AGE = Attribute.of("age", event -> event[2]);
+
+    @Test
+    void whenEventHasAttributeValues_ThenRulesWithMatchingConditionsAreFound() {
+        // arrange
+        RuleIndex<int[]> index = new RuleIndex<>();
+        index.add("country-1", LogicalExpression.expr(COUNTRY.eq(1)));
+        index.add("country-1-or-2-on-device-3", LogicalExpression.expr(COUNTRY.in(1, 2)).and(DEVICE.eq(3)));
+        index.add("age-18-to-30", LogicalExpression.expr(AGE.between(18, 30)));
+        index.add("country-2-or-young", LogicalExpression.expr(COUNTRY.eq(2)).or(AGE.between(0, 17)));
+
+        // action
+        Set<String> first = index.matches(new int[]{1, 3, 18});
+        Set<String> second = index.matches(new int[]{2, 4, 30});
+        Set<String> third = index.matches(new int[]{5, 3, 12});
+
+        // assertion
+        assertEquals(Set.of("country-1", "country-1-or-2-on-device-3", "age-18-to-30"), first);
+        assertEquals(Set.of("age-18-to-30", "country-2-or-young"), second);
+        assertEquals(Set.of("country-2-or-young"), third);
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void whenEventIsLookedUp_ThenOnlyRulesFiledUnderItsValuesAreEvaluated() {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<int[]> counted = event -> calls.incrementAndGet() > 0;
+        RuleIndex<int[]> index = new RuleIndex<>();
+        for (int country = 0; country < 100; country++) {
+            index.add("rule-" + country, LogicalExpression.expr(COUNTRY.eq(country)).and(counted));
+        }
+
+        // action
+        Set<String> matches = index.matches(new int[]{42, 0, 0});
+
+        // assertion
+        assertEquals(Set.of("rule-42"), matches);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void whenRuleIsRemoved_ThenItIsNotFoundAndItsIdCanBeReused() {
+        // arrange
+        RuleIndex<int[]> index = new RuleIndex<>();
+        index.add("a", LogicalExpression.expr(COUNTRY.eq(1)));
+        index.add("b", LogicalExpression.expr(COUNTRY.eq(1)).and(AGE.between(10, 20)));
+        index.add("c", LogicalExpression.expr(AGE.between(10, 20)));
+
+        // action
+        boolean removed = index.remove("b");
+        boolean removedAgain = index.remove("b");
+        Set<String> afterRemoval = index.matches(new int[]{1, 0, 15});
+        index.add("b", LogicalExpression.expr(DEVICE.eq(7)));
+        Set<String> afterReuse = index.matches(new int[]{1, 7, 15});
+
+        // assertion
+        assertTrue(removed);
+        assertFalse(removedAgain);
+        assertEquals(Set.of("a", "c"), afterRemoval);
+        assertEquals(Set.of("a", "b", "c"), afterReuse);
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void whenRuleIdIsDuplicate_ThenExceptionIsThrown() {
+        // arrange
+        RuleIndex<int[]> index = new RuleIndex<>();
+        index.add("rule", LogicalExpression.expr(COUNTRY.eq(1)));
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> index.add("rule", LogicalExpression.expr(COUNTRY.eq(2))));
+    }
+
+    @Test
+    void whenRangeIsEmptyOrNotComparable_ThenExceptionIsThrown() {
+        // arrange
+        Attribute<int[], Object> opaque = Attribute.of("opaque", event -> event);
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class, () -> AGE.between(30, 18));
+        assertThrows(IllegalArgumentException.class, () -> opaque.between(new Object(), new Object()));
+        assertThrows(IllegalArgumentException.class, () -> opaque.between(1, 10L));
+    }
+
+    @Test
+    void whenRulesHaveNegationsAndOtherPredicates_ThenMatchesAreExact() {
+        // arrange
+        Predicate<int[]> evenAge = event -> event[2] % 2 == 0;
+        RuleIndex<int[]> index = new RuleIndex<>();
+        index.add("not-country-1", LogicalExpression.not(COUNTRY.eq(1)));
+        index.add("even-age", LogicalExpression.expr(evenAge));
+        index.add("country-1-xor-device-1", LogicalExpression.expr(COUNTRY.eq(1)).xor(DEVICE.eq(1)));
+        index.add("country-1-with-even-age", LogicalExpression.expr(COUNTRY.eq(1)).and(evenAge));
+
+        // action
+        Set<String> first = index.matches(new int[]{1, 1, 20});
+        Set<String> second = index.matches(new int[]{2, 1, 21});
+
+        // assertion
+        assertEquals(Set.of("even-age", "country-1-with-even-age"), first);
+        assertEquals(Set.of("not-country-1", "country-1-xor-device-1"), second);
+    }
+
+    @Test
+    void whenRandomRulesAreAddedAndRemoved_ThenMatchesAreSameAsSeparateEvaluation() {
+        // arrange
+        Random random = new Random(24);
+        RuleIndex<int[]> index = new RuleIndex<>();
+        List<LogicalExpression<int[]>> rules = new ArrayList<>();
+        Set<Integer> present = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            rules.add(randomRule(random, 3));
+            index.add("rule-" + i, rules.get(i));
+            present.add(i);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            index.remove("rule-" + i);
+            present.remove(i);
+        }
+
+        for (int event = 0; event < 200; event++) {
+            int[] values = {random.nextInt(6), random.nextInt(4), random.nextInt(60)};
+
+            // action
+            Set<String> matches = index.matches(values);
+
+            // assertion
+            Set<String> expected = new HashSet<>();
+            for (int rule : present) {
+                if (rules.get(rule).result(values)) {
+                    expected.add("rule-" + rule);
+                }
+            }
+            assertEquals(expected, matches);
+        }
+    }
+
+    @Test
+    void whenRulesHaveOnlyRanges_ThenMatchesAreSameAsSeparateEvaluation() {
+        // arrange
+        Random random = new Random(25);
+        RuleIndex<int[]> index = new RuleIndex<>();
+        List<LogicalExpression<int[]>> rules = new ArrayList<>();
+        Set<Integer> present = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            int min = random.nextInt(1000);
+            rules.add(LogicalExpression.expr(AGE.between(min, min + random.nextInt(50))));
+            index.add("rule-" + i, rules.get(i));
+            present.add(i);
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            index.remove("rule-" + i);
+            present.remove(i);
+        }
+
+        for (int event = 0; event < 500; event++) {
+            int[] values = {0, 0, random.nextInt(1100)};
+
+            // action
+            Set<String> matches = index.matches(values);
+
+            // assertion
+            Set<String> expected = new HashSet<>();
+            for (int rule : present) {
+                if (rules.get(rule).result(values)) {
+                    expected.add("rule-" + rule);
+                }
+            }
+            assertEquals(expected, matches);
+        }
+    }
+
+    @Test
+    void whenValueIsOfOtherTypeThanRangeBounds_ThenRangeIsNotMatched() {
+        // arrange
+        Attribute<Object[], Object> value = Attribute.of("value", event -> event[0]);
+        RuleIndex<Object[]> index = new RuleIndex<>();
+        index.add("between-1-and-10", LogicalExpression.expr(value.between(1, 10)));
+        index.add("is-text", LogicalExpression.expr(value.eq("5")));
+
+        // action
+        Set<String> text = index.matches(new Object[]{"5"});
+        Set<String> number = index.matches(new Object[]{5L});
+        Set<String> integer = index.matches(new Object[]{5});
+
+        // assertion
+        assertEquals(Set.of("is-text"), text);
+        assertEquals(Set.of(), number);
+        assertEquals(Set.of("between-1-and-10"), integer);
+    }
+
+    @Test
+    void whenRangeBoundsAreOfOtherTypeThanIndexedOnes_ThenExceptionIsThrownAndIndexIsIntact() {
+        // arrange
+        Attribute<Object[], Object> value = Attribute.of("value", event -> event[0]);
+        RuleIndex<Object[]> index = new RuleIndex<>();
+        index.add("between-1-and-10", LogicalExpression.expr(value.between(1, 10)));
+
+        // action
+        assertThrows(IllegalArgumentException.class,
+                () -> index.add("between-1L-and-5L", LogicalExpression.expr(value.between(1L, 5L))));
+        assertThrows(IllegalArgumentException.class, () -> index.add("mixed",
+                LogicalExpression.expr(value.eq("5")).or(value.between(1L, 5L))));
+        Set<String> integer = index.matches(new Object[]{5});
+        int size = index.size();
+        boolean removed = index.remove("between-1-and-10");
+        index.add("between-1L-and-5L", LogicalExpression.expr(value.between(1L, 5L)));
+        Set<String> number = index.matches(new Object[]{5L});
+
+        // assertion
+        assertEquals(Set.of("between-1-and-10"), integer);
+        assertEquals(1, size);
+        assertTrue(removed);
+        assertEquals(Set.of("between-1L-and-5L"), number);
+    }
+
+    private static LogicalExpression<int[]> randomRule(Random random, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    return LogicalExpression.expr(COUNTRY.eq(random.nextInt(6)));
+                case 1:
+                    return LogicalExpression.expr(DEVICE.in(random.nextInt(4), random.nextInt(4)));
+                case 2:
+                    int min = random.nextInt(60);
+                    return LogicalExpression.expr(AGE.between(min, min + random.nextInt(20)));
+                case 3:
+                    return LogicalExpression.not(COUNTRY.eq(random.nextInt(6)));
+                default:
+                    int divisor = 2 + random.nextInt(3);
+                    return LogicalExpression.expr(event -> event[2] % divisor == 0);
+            }
+        }
+        LogicalExpression<int[]> left = randomRule(random, depth - 1);
+        LogicalExpression<int[]> right = randomRule(random, depth - 1);
+        switch (random.nextInt(3)) {
+            case 0:
+                return LogicalExpression.expr(left).and(right);
+            case 1:
+                return LogicalExpression.expr(left).or(right);
+            default:
+                return LogicalExpression.expr(left).xor(right);
+        }
+    }
+
+}
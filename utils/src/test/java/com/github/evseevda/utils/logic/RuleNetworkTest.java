@@ -0,0 +1,181 @@
+package com.github.evseevda.utils.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleNetworkTest {
+
+    @Test
+    void whenRulesSharePredicates_ThenEachPredicateIsTestedOncePerEvent() {
+        // arrange
+        List<String> calls = new ArrayList<>();
+        Predicate<Integer> isLarge = amount -> calls.add("isLarge") && amount > 100;
+        Predicate<Integer> isEven = amount -> calls.add("isEven") && amount % 2 == 0;
+        Predicate<Integer> isRound = amount -> calls.add("isRound") && amount % 10 == 0;
+        RuleNetwork<Integer> network = RuleNetwork.<Integer>builder()
+                .add("large-even", LogicalExpression.<Integer>expr(isLarge).and(isEven))
+                .add("large-round", LogicalExpression.<Integer>expr(isLarge).and(isRound))
+                .add("even-or-round", LogicalExpression.<Integer>expr(isEven).or(isRound))
+                .build();
+
+        // action
+        Set<String> matches = network.matches(120);
+        List<String> firstCalls = new ArrayList<>(calls);
+        calls.clear();
+        Set<String> noMatches = network.matches(7);
+
+        // assertion
+        assertEquals(List.of("large-even", "large-round", "even-or-round"), new ArrayList<>(matches));
+        assertEquals(List.of("isLarge", "isEven", "isRound"), firstCalls);
+        assertTrue(noMatches.isEmpty());
+        assertEquals(List.of("isLarge", "isEven", "isRound"), calls);
+        assertEquals(3, network.ruleCount());
+        assertEquals(6, network.nodeCount());
+    }
+
+    @Test
+    void whenRulesHaveSameExpression_ThenTheyShareRoot() {
+        // arrange
+        Predicate<Integer> positive = value -> value > 0;
+        LogicalExpression<Integer> rule = LogicalExpression.<Integer>expr(positive).and(value -> value < 10);
+        RuleNetwork<Integer> network = RuleNetwork.<Integer>builder()
+                .add("b", rule)
+                .add("a", rule)
+                .add("c", LogicalExpression.not(positive))
+                .build();
+
+        // action
+        Set<String> matches = network.matches(5);
+
+        // assertion
+        assertEquals(List.of("b", "a"), new ArrayList<>(matches));
+        assertEquals(4, network.nodeCount());
+    }
+
+    @Test
+    void whenRuleIdIsDuplicate_ThenExceptionIsThrown() {
+        // arrange
+        RuleNetwork.Builder<Object> builder = RuleNetwork.builder().add("rule", LazyLogicalExpression.expr(() -> true));
+
+        // action && assertion
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.add("rule", LazyLogicalExpression.expr(() -> false)));
+    }
+
+    @Test
+    void whenRandomRulesAreMatched_ThenMatchesAreSameAsSeparateEvaluation() {
+        // arrange
+        Random random = new Random(23);
+        List<Predicate<boolean[]>> leaves = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int index = i;
+            leaves.add(values -> values[index]);
+        }
+        Map<String, LogicalExpression<boolean[]>> rules = new HashMap<>();
+        RuleNetwork.Builder<boolean[]> builder = RuleNetwork.builder();
+        for (int i = 0; i < 200; i++) {
+            LogicalExpression<boolean[]> rule = randomRule(random, leaves, 3);
+            rules.put("rule" + i, rule);
+            builder.add("rule" + i, rule);
+        }
+        RuleNetwork<boolean[]> network = builder.build();
+
+        for (int eventIndex = 0; eventIndex < 100; eventIndex++) {
+            boolean[] event = new boolean[leaves.size()];
+            for (int i = 0; i < event.length; i++) {
+                event[i] = random.nextBoolean();
+            }
+            Set<String> expected = new LinkedHashSet<>();
+            for (int i = 0; i < 200; i++) {
+                if (rules.get("rule" + i).result(event)) {
+                    expected.add("rule" + i);
+                }
+            }
+
+            // action
+            Set<String> actual = network.matches(event);
+
+            // assertion
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+        }
+        assertTrue(network.nodeCount() < 200 * 3, "nodes " + network.nodeCount());
+    }
+
+    @Test
+    void whenNoPredicateHolds_ThenRulesTrueByDefaultMatch() {
+        // arrange
+        Predicate<Integer> positive = value -> value > 0;
+        Predicate<Integer> even = value -> value % 2 == 0;
+        RuleNetwork<Integer> network = RuleNetwork.<Integer>builder()
+                .add("not-positive", LogicalExpression.not(positive))
+                .add("always", LogicalExpression.<Integer>expr(positive).or(LogicalExpression.not(positive)))
+                .add("positive-xor-positive", LogicalExpression.<Integer>expr(positive).xor(positive))
+                .add("not-positive-and-not-even",
+                        LogicalExpression.<Integer>not(positive).and(LogicalExpression.not(even)))
+                .add("positive", LogicalExpression.expr(positive))
+                .build();
+
+        // action
+        Set<String> negative = network.matches(-3);
+        Set<String> positiveEven = network.matches(4);
+
+        // assertion
+        assertEquals(List.of("not-positive", "always", "not-positive-and-not-even"), new ArrayList<>(negative));
+        assertEquals(List.of("always", "positive"), new ArrayList<>(positiveEven));
+    }
+
+    @Test
+    void whenPredicatesMatchAnotherEventAgainstNetwork_ThenBothEventsAreMatched() {
+        // arrange
+        List<RuleNetwork<Integer>> self = new ArrayList<>();
+        List<Set<String>> nested = new ArrayList<>();
+        Predicate<Integer> large = value -> value > 100;
+        Predicate<Integer> nesting = value -> {
+            if (value > 100) {
+                nested.add(self.get(0).matches(value - 100));
+            }
+            return true;
+        };
+        RuleNetwork<Integer> network = RuleNetwork.<Integer>builder()
+                .add("large", LogicalExpression.<Integer>expr(nesting).and(large))
+                .add("small", LogicalExpression.<Integer>expr(nesting).and(LogicalExpression.not(large)))
+                .build();
+        self.add(network);
+
+        // action
+        Set<String> matches = network.matches(150);
+
+        // assertion
+        assertEquals(Set.of("large"), matches);
+        assertEquals(List.of(Set.of("small")), nested);
+    }
+
+    private static LogicalExpression<boolean[]> randomRule(Random random, List<Predicate<boolean[]>> leaves,
+                                                           int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            Predicate<boolean[]> leaf = leaves.get(random.nextInt(leaves.size()));
+            return random.nextBoolean() ? LogicalExpression.expr(leaf) : LogicalExpression.not(leaf);
+        }
+        LogicalExpression<boolean[]> left = randomRule(random, leaves, depth - 1);
+        LogicalExpression<boolean[]> right = randomRule(random, leaves, depth - 1);
+        switch (random.nextInt(3)) {
+            case 0:
+                return left.and(right);
+            case 1:
+                return left.or(right);
+            default:
+                return left.xor(right);
+        }
+    }
+
+}
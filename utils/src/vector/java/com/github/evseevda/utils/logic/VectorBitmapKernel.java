@@ -0,0 +1,95 @@
+package com.github.evseevda.utils.logic;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Processes as many words per iteration as the widest vector register of the CPU holds,
+ * the words which do not fill a whole register are processed one by one.
+ * <br> This class is compiled only by the {@code vector} profile of the build and is loaded reflectively
+ * by {@link BitmapKernel}, only if the {@code jdk.incubator.vector} module is in the boot layer.
+ *
+ * @author EvseevDA
+ * @since 0.10.0
+ */
+final class VectorBitmapKernel extends BitmapKernel {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    void and(long[] left, long[] right, long[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(out.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, left, i).and(LongVector.fromArray(SPECIES, right, i)).intoArray(out, i);
+        }
+        for (; i < out.length; i++) {
+            out[i] = left[i] & right[i];
+        }
+    }
+
+    @Override
+    void or(long[] left, long[] right, long[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(out.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, left, i).or(LongVector.fromArray(SPECIES, right, i)).intoArray(out, i);
+        }
+        for (; i < out.length; i++) {
+            out[i] = left[i] | right[i];
+        }
+    }
+
+    @Override
+    void xor(long[] left, long[] right, long[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(out.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, left, i)
+                    .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, right, i))
+                    .intoArray(out, i);
+        }
+        for (; i < out.length; i++) {
+            out[i] = left[i] ^ right[i];
+        }
+    }
+
+    @Override
+    void andNot(long[] left, long[] right, long[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(out.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, left, i)
+                    .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, right, i))
+                    .intoArray(out, i);
+        }
+        for (; i < out.length; i++) {
+            out[i] = left[i] & ~right[i];
+        }
+    }
+
+    @Override
+    void not(long[] words, long[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(out.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, words, i).not().intoArray(out, i);
+        }
+        for (; i < out.length; i++) {
+            out[i] = ~words[i];
+        }
+    }
+
+    @Override
+    int nextNonZeroWord(long[] words, int from) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(words.length - from); i < bound; i += SPECIES.length()) {
+            if (LongVector.fromArray(SPECIES, words, i).compare(VectorOperators.NE, 0).anyTrue()) {
+                break;
+            }
+        }
+        for (; i < words.length; i++) {
+            if (words[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}